@@ -0,0 +1,72 @@
+package pase.test.com.order.management.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pase.test.com.order.management.service.driver.location.DriverPosition;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.location.NearbyDriver;
+
+// k-nearest queries over a metro area of roughly 55 x 50 km with a third of the fleet out on deliveries
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverNearestBenchmark {
+
+    private static final double MIN_LAT = 52.25;
+    private static final double MIN_LON = 13.05;
+    private static final double SPAN = 0.6;
+    private static final int QUERIES = 1024;
+
+    @Param("50000")
+    private int drivers;
+
+    @Param("10")
+    private int k;
+
+    @Param("10")
+    private double radiusKm;
+
+    private DriverSpatialIndex index;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new DriverSpatialIndex(0.01);
+        for (int i = 0; i < drivers; i++) {
+            String driverId = "driver-" + i;
+            index.setEnabled(driverId, true);
+            index.updatePosition(new DriverPosition(driverId, MIN_LAT + random.nextDouble() * SPAN,
+                    MIN_LON + random.nextDouble() * SPAN, 1000));
+            if (i % 3 == 0) {
+                index.setBusy(driverId, true);
+            }
+        }
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new double[] {MIN_LAT + random.nextDouble() * SPAN, MIN_LON + random.nextDouble() * SPAN};
+        }
+    }
+
+    @Benchmark
+    public List<NearbyDriver> nearest() {
+        double[] query = queries[next++ & (QUERIES - 1)];
+        return index.nearest(query[0], query[1], k, radiusKm, 0);
+    }
+}
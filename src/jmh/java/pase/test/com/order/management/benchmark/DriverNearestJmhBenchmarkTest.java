@@ -0,0 +1,35 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Driver Nearest Query JMH Benchmark")
+class DriverNearestJmhBenchmarkTest {
+
+    @Test
+    @DisplayName("Should answer k-nearest queries over 50k drivers in well under a millisecond")
+    void shouldAnswerNearestQueriesQuickly() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DriverNearestBenchmark.class.getName())
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).hasSize(1);
+        double meanMicros = results.iterator().next().getPrimaryResult().getScore();
+        log.info("Nearest query mean over 50k drivers: {} us", Math.round(meanMicros));
+        assertThat(meanMicros).isLessThan(200);
+    }
+}
@@ -0,0 +1,27 @@
+package pase.test.com.order.management.boot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import pase.test.com.order.management.service.driver.DriverService;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Order(3)
+public class DriverSearchIndexInitializationService implements CommandLineRunner {
+
+    private final DriverService driverService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            driverService.rebuildSearchIndex();
+        } catch (Exception e) {
+            // Search keeps using the database until the index is ready
+            log.error("Failed to build driver search index: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package pase.test.com.order.management.boot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import pase.test.com.order.management.service.driver.DriverService;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Order(4)
+public class DriverUniquenessFilterInitializationService implements CommandLineRunner {
+
+    private final DriverService driverService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            driverService.rebuildUniquenessFilter();
+        } catch (Exception e) {
+            // Driver creation keeps querying the database until the filter is ready
+            log.error("Failed to load driver uniqueness filter: {}", e.getMessage(), e);
+        }
+    }
+}
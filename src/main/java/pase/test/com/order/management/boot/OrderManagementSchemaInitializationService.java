@@ -0,0 +1,117 @@
+package pase.test.com.order.management.boot;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+import pase.test.com.order.management.repository.order.AttachmentMetadataRepository;
+import pase.test.com.order.management.repository.order.OrderAttachmentRepository;
+import pase.test.com.order.management.repository.order.OrderOutboxRepository;
+import pase.test.com.order.management.service.driver.uniqueness.DriverUniquenessFilter;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Order(1)
+public class OrderManagementSchemaInitializationService implements CommandLineRunner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final DriverUniquenessFilter driverUniquenessFilter;
+
+    @Override
+    public void run(String... args) {
+        log.info("Starting Order Management schema initialization...");
+        createTable("order_outbox", OrderOutboxRepository.CREATE_TABLE_SQL);
+        createTable("attachment_blobs", AttachmentBlobRepository.CREATE_TABLE_SQL);
+        addColumn("attachment_blobs", "last_acquired_at", AttachmentBlobRepository.ADD_LAST_ACQUIRED_AT_SQL);
+        createTable("attachment_metadata", AttachmentMetadataRepository.CREATE_TABLE_SQL);
+        createTable("order_attachments", OrderAttachmentRepository.CREATE_TABLE_SQL);
+        createTable("driver_location_history", DriverLocationHistoryRepository.CREATE_TABLE_SQL);
+        createIndex("idx_orders_last_updated_id",
+                pase.test.com.database.entity.order.Order.class, "lastUpdated");
+        createIndex("idx_orders_status_created_on_id",
+                pase.test.com.database.entity.order.Order.class, "orderStatus", "createdOn");
+        boolean uniqueIndexed = true;
+        for (DriverUniqueField field : DriverUniqueField.values()) {
+            uniqueIndexed &= createUniqueIndex(field.indexName(), Driver.class, field.property());
+        }
+        if (uniqueIndexed) {
+            driverUniquenessFilter.markIndexed();
+        } else {
+            log.warn("Driver unique indexes are missing; every driver creation will query for duplicates");
+        }
+        log.info("Order Management schema initialization completed successfully");
+    }
+
+    private void createTable(String tableName, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+            log.info("Ensured table {}", tableName);
+        } catch (Exception e) {
+            log.error("Failed to create table {}: {}", tableName, e.getMessage(), e);
+        }
+    }
+
+    private void addColumn(String tableName, String columnName, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+            log.info("Ensured column {}.{}", tableName, columnName);
+        } catch (Exception e) {
+            log.error("Failed to add column {}.{}: {}", tableName, columnName, e.getMessage(), e);
+        }
+    }
+
+    // Entities live in the shared database library, so table and column names are read from the Hibernate
+    // mapping instead of being hard-coded here
+    private void createIndex(String indexName, Class<?> entityClass, String... properties) {
+        try {
+            AbstractEntityPersister persister = persister(entityClass);
+
+            StringBuilder columns = new StringBuilder();
+            for (String property : properties) {
+                columns.append(persister.getPropertyColumnNames(property)[0]).append(", ");
+            }
+            columns.append(persister.getIdentifierColumnNames()[0]);
+
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + indexName
+                    + " ON " + persister.getTableName() + " (" + columns + ")");
+            log.info("Ensured index {} on {} ({})", indexName, persister.getTableName(), columns);
+        } catch (Exception e) {
+            log.error("Failed to create index {}: {}", indexName, e.getMessage(), e);
+        }
+    }
+
+    // Closes the window between the driver uniqueness check and the insert; fails and is logged if the table
+    // already holds duplicates
+    private boolean createUniqueIndex(String indexName, Class<?> entityClass, String property) {
+        try {
+            AbstractEntityPersister persister = persister(entityClass);
+            String column = persister.getPropertyColumnNames(property)[0];
+
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + indexName
+                    + " ON " + persister.getTableName() + " (" + column + ")");
+            log.info("Ensured unique index {} on {} ({})", indexName, persister.getTableName(), column);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to create unique index {}: {}", indexName, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private AbstractEntityPersister persister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+}
@@ -69,6 +69,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> {
                     log.info("Configuring authorization rules for JWT-only access");
                     authz
+                            .requestMatchers("/actuator/uploadlimits").hasRole("ADMIN")
+
                             // ===== COMPLETELY PUBLIC =====
                             .requestMatchers(
                                     "/",
@@ -5,11 +5,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,14 +23,25 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
 import pase.test.com.database.dto.ApiResponse;
 import pase.test.com.database.dto.order.OrderResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentTypeResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentUploadRequest;
-import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
-import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.dto.BatchUploadResponse;
+import pase.test.com.order.management.exception.BatchUploadFailedException;
+import pase.test.com.order.management.exception.InvalidUploadException;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
 import pase.test.com.order.management.service.order.attachment.AttachmentService;
+import pase.test.com.order.management.service.order.attachment.BatchUploadPart;
+import pase.test.com.order.management.service.order.attachment.admission.UploadAdmissionService;
+import pase.test.com.order.management.service.order.attachment.admission.UploadPermit;
+import pase.test.com.order.management.service.order.attachment.processing.AttachmentMetadata;
+import pase.test.com.order.management.service.order.attachment.processing.AttachmentProcessingService;
+import pase.test.com.order.management.stream.AttachmentContentWriter;
 
 @Slf4j
 @RestController
@@ -37,7 +52,12 @@ import pase.test.com.order.management.service.order.attachment.AttachmentService
 public class AttachmentController {
 
     private final AttachmentService attachmentService;
-    private final OrderService orderService;
+    private final AttachmentContentWriter attachmentContentWriter;
+    private final AttachmentProcessingService attachmentProcessingService;
+    private final UploadAdmissionService uploadAdmissionService;
+
+    @Value("${app.upload.max-stream-size-bytes:10485760}")
+    private long maxStreamSizeBytes;
 
     @PostMapping(value = "/upload/order/{orderId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
@@ -50,14 +70,135 @@ public class AttachmentController {
 
         log.info("Uploading attachment for order: {}", orderId);
 
-        AssignmentAttachment attachment = attachmentService.uploadAttachment(request);
+        OrderResponse order = attachmentService.uploadAttachmentToOrder(orderId, request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Attachment uploaded and added to order successfully", order));
+    }
+
+    @PostMapping(value = "/upload/order/{orderId}/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.batch", description = "Time taken to upload a batch of attachments")
+    @Operation(summary = "Upload several attachments for order",
+            description = "Upload many files in one request and attach all of them to an order; "
+                    + "type labels are optional and resolved from each file extension when omitted")
+    public ResponseEntity<ApiResponse<BatchUploadResponse>> uploadAttachmentBatchForOrder(
+            @Parameter(description = "Order ID") @PathVariable String orderId,
+            @Parameter(description = "Files to attach") @RequestParam("files") List<MultipartFile> files,
+            @Parameter(description = "Attachment type label per file, or a single label for all files")
+            @RequestParam(value = "attachmentTypeLabels", required = false) List<String> attachmentTypeLabels) {
+
+        log.info("Uploading {} attachments for order: {}", files.size(), orderId);
+
+        if (attachmentTypeLabels != null && attachmentTypeLabels.size() > 1
+                && attachmentTypeLabels.size() != files.size()) {
+            throw new InvalidUploadException("Expected one attachment type label per file or a single label");
+        }
+        List<BatchUploadPart> parts = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            String label = attachmentTypeLabels == null || attachmentTypeLabels.isEmpty()
+                    ? null
+                    : attachmentTypeLabels.get(attachmentTypeLabels.size() == 1 ? 0 : i);
+            parts.add(new BatchUploadPart(files.get(i).getOriginalFilename(), label, files.get(i)));
+        }
+
+        BatchUploadResponse result = attachmentService.uploadAttachmentsToOrder(orderId, parts);
+
+        if (result.getUploaded() == 0) {
+            throw new BatchUploadFailedException("None of the " + files.size() + " attachments were uploaded", result);
+        }
+        String message = result.getRejected() == 0 && result.getFailed() == 0
+                ? "Attachments uploaded and added to order successfully"
+                : result.getUploaded() + " of " + files.size() + " attachments uploaded";
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(message, result));
+    }
+
+    @GetMapping("/order/{orderId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.list.order", description = "Time taken to list attachments of an order")
+    @Operation(summary = "List order attachments", description = "Get every active attachment linked to an order")
+    public ResponseEntity<ApiResponse<List<OrderResponse.AttachmentInfo>>> getOrderAttachments(
+            @Parameter(description = "Order ID") @PathVariable String orderId) {
+
+        log.info("Getting attachments for order: {}", orderId);
+        List<OrderResponse.AttachmentInfo> attachments = attachmentService.getOrderAttachments(orderId);
+
+        return ResponseEntity.ok(ApiResponse.success("Order attachments retrieved successfully", attachments));
+    }
+
+    @PostMapping(value = "/upload/order/{orderId}/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.stream", description = "Time taken to stream an attachment upload")
+    @Operation(summary = "Stream attachment for order",
+            description = "Upload a raw file body and attach it to an order without multipart buffering")
+    public ResponseEntity<ApiResponse<OrderResponse>> streamAttachmentForOrder(
+            @Parameter(description = "Order ID") @PathVariable String orderId,
+            @Parameter(description = "Original file name") @RequestParam String fileName,
+            @Parameter(description = "Attachment type label") @RequestParam String attachmentTypeLabel,
+            HttpServletRequest request) throws IOException {
+
+        log.info("Streaming attachment for order: {}", orderId);
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxStreamSizeBytes) {
+            throw new MaxUploadSizeExceededException(maxStreamSizeBytes);
+        }
 
-        OrderResponse order = orderService.addAttachmentToOrder(orderId, attachment);
+        // Wait for a slot before reading the body, so queued uploads do not compete for the disk
+        OrderResponse order;
+        try (UploadPermit permit = uploadAdmissionService.acquire(
+                contentLength >= 0 ? contentLength : maxStreamSizeBytes)) {
+            order = attachmentService.uploadAttachmentToOrder(orderId, attachmentTypeLabel, fileName,
+                    request.getInputStream());
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Attachment uploaded and added to order successfully", order));
     }
 
+    @GetMapping("/{id}/content")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.download", description = "Time taken to serve attachment content")
+    @Operation(summary = "Download attachment content",
+            description = "Serve the attachment file with Range and If-None-Match support")
+    public void downloadAttachment(
+            @Parameter(description = "Attachment ID") @PathVariable String id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Serving attachment content: {}", id);
+        AttachmentContent content = attachmentService.getAttachmentContent(id);
+        attachmentContentWriter.write(content, request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.thumbnail", description = "Time taken to serve an attachment thumbnail")
+    @Operation(summary = "Get attachment thumbnail", description = "Serve a downscaled JPEG preview of an image")
+    public void getAttachmentThumbnail(
+            @Parameter(description = "Attachment ID") @PathVariable String id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Serving attachment thumbnail: {}", id);
+        AttachmentContent thumbnail = attachmentProcessingService.getThumbnail(id);
+        attachmentContentWriter.write(thumbnail, request, response);
+    }
+
+    @GetMapping("/{id}/metadata")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.metadata", description = "Time taken to get attachment metadata")
+    @Operation(summary = "Get attachment metadata",
+            description = "Get dimensions or page count extracted after upload")
+    public ResponseEntity<ApiResponse<AttachmentMetadata>> getAttachmentMetadata(
+            @Parameter(description = "Attachment ID") @PathVariable String id) {
+
+        log.info("Getting attachment metadata: {}", id);
+        AttachmentMetadata metadata = attachmentProcessingService.getMetadata(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Attachment metadata retrieved successfully", metadata));
+    }
+
     @GetMapping("/types")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "attachment.types.list", description = "Time taken to list attachment types")
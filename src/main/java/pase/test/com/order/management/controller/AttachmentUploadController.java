@@ -0,0 +1,116 @@
+package pase.test.com.order.management.controller;
+
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pase.test.com.database.dto.ApiResponse;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.dto.UploadSessionCreateRequest;
+import pase.test.com.order.management.dto.UploadSessionResponse;
+import pase.test.com.order.management.service.order.attachment.admission.UploadAdmissionService;
+import pase.test.com.order.management.service.order.attachment.admission.UploadPermit;
+import pase.test.com.order.management.service.order.attachment.upload.ChunkedUploadService;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/attachments/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Chunked Attachment Uploads", description = "Resumable chunked uploads for large attachments")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AttachmentUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final UploadAdmissionService uploadAdmissionService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.session.create", description = "Time taken to create an upload session")
+    @Operation(summary = "Create upload session",
+            description = "Start a resumable upload; the response carries the chunk size to use")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+            @Valid @RequestBody UploadSessionCreateRequest request) throws IOException {
+
+        log.info("Creating upload session for order: {}", request.getOrderId());
+        UploadSessionResponse session = chunkedUploadService.createSession(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Upload session created successfully", session));
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.chunk", description = "Time taken to write an upload chunk")
+    @Operation(summary = "Upload chunk", description = "Write one numbered chunk; re-sending a chunk is safe")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId,
+            @Parameter(description = "Zero-based chunk index") @PathVariable int index,
+            HttpServletRequest request) throws IOException {
+
+        // A chunked transfer sends no Content-Length, so reserve a full chunk for it
+        long contentLength = request.getContentLengthLong();
+        long reservedBytes = contentLength >= 0 ? contentLength : chunkedUploadService.getChunkSize(uploadId);
+        UploadSessionResponse session;
+        try (UploadPermit permit = uploadAdmissionService.acquire(reservedBytes)) {
+            session = chunkedUploadService.writeChunk(uploadId, index, contentLength, request.getInputStream());
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Chunk received successfully", session));
+    }
+
+    @GetMapping("/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.session.get", description = "Time taken to get an upload session")
+    @Operation(summary = "Get upload session", description = "Get the byte ranges received so far")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId) {
+
+        UploadSessionResponse session = chunkedUploadService.getSession(uploadId);
+        return ResponseEntity.ok(ApiResponse.success("Upload session retrieved successfully", session));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "attachment.upload.session.complete", description = "Time taken to finalize an upload")
+    @Operation(summary = "Complete upload session",
+            description = "Store the assembled file and attach it to the session's order")
+    public ResponseEntity<ApiResponse<OrderResponse>> completeSession(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId) throws IOException {
+
+        log.info("Completing upload session: {}", uploadId);
+        OrderResponse order = chunkedUploadService.completeSession(uploadId);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Attachment uploaded and added to order successfully", order));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Operation(summary = "Cancel upload session", description = "Discard an upload session and its data")
+    public ResponseEntity<ApiResponse<Void>> cancelSession(
+            @Parameter(description = "Upload session ID") @PathVariable String uploadId) {
+
+        log.info("Cancelling upload session: {}", uploadId);
+        chunkedUploadService.cancelSession(uploadId);
+
+        return ResponseEntity.ok(ApiResponse.success("Upload session cancelled successfully", null));
+    }
+}
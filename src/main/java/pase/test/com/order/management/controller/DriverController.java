@@ -5,14 +5,22 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,10 +29,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pase.test.com.database.dto.ApiResponse;
 import pase.test.com.database.dto.driver.DriverCreateRequest;
 import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.order.management.dto.DriverLocationBatchRequest;
+import pase.test.com.order.management.dto.DriverLocationBatchResponse;
+import pase.test.com.order.management.dto.DriverLocationResponse;
+import pase.test.com.order.management.dto.DriverStatusBatchRequest;
+import pase.test.com.order.management.dto.DriverStatusBatchResponse;
+import pase.test.com.order.management.dto.DriverWorkloadResponse;
+import pase.test.com.order.management.dto.NearbyDriverResponse;
 import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.imports.DriverImportService;
+import pase.test.com.order.management.service.driver.location.DriverLocationService;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverRoster;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverSnapshot;
+import pase.test.com.order.management.service.driver.workload.DriverWorkloadService;
+import pase.test.com.order.management.stream.ApiResponseStreamWriter;
 
 @Slf4j
 @RestController
@@ -35,6 +58,10 @@ import pase.test.com.order.management.service.driver.DriverService;
 public class DriverController {
 
     private final DriverService driverService;
+    private final DriverImportService driverImportService;
+    private final DriverLocationService driverLocationService;
+    private final DriverWorkloadService driverWorkloadService;
+    private final ApiResponseStreamWriter apiResponseStreamWriter;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
@@ -50,18 +77,136 @@ public class DriverController {
                 .body(ApiResponse.success("Driver created successfully", driver));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.import", description = "Time taken to import drivers from CSV")
+    @Operation(summary = "Import drivers from CSV",
+            description = "Create drivers from a CSV body with driverName, licenseNumber, email and phoneNumber "
+                    + "columns; the per-row report is written as rows are processed")
+    public ResponseEntity<StreamingResponseBody> importDrivers(HttpServletRequest request) throws IOException {
+
+        log.info("Importing drivers from CSV");
+        InputStream csv = request.getInputStream();
+
+        StreamingResponseBody body = out -> driverImportService.importDrivers(csv,
+                rows -> apiResponseStreamWriter.writeList(out, "Driver import processed", rows));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // No per-request logging or timer: this is the highest-rate endpoint and the pipeline has its own metrics
+    @PostMapping("/locations")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR') or hasRole('DEVICE')")
+    @Operation(summary = "Report driver locations",
+            description = "Accept a batch of up to " + DriverLocationBatchRequest.MAX_PINGS
+                    + " GPS pings; positions are applied asynchronously and rejected pings are listed by index. "
+                    + "Admins and devices may report for any driver, everyone else only for their own driver ID")
+    public ResponseEntity<ApiResponse<DriverLocationBatchResponse>> reportLocations(
+            @Valid @RequestBody DriverLocationBatchRequest request, Authentication authentication) {
+
+        boolean anyDriver = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority -> authority.equals("ROLE_ADMIN") || authority.equals("ROLE_DEVICE"));
+        DriverLocationBatchResponse response = driverLocationService.ingest(request.getPings(),
+                anyDriver ? null : authentication.getName());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Driver locations accepted", response));
+    }
+
     @GetMapping("/active")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "driver.list.active", description = "Time taken to list active drivers")
-    @Operation(summary = "Get active drivers", description = "Get list of all active drivers")
-    public ResponseEntity<ApiResponse<List<DriverResponse>>> getAllActiveDrivers() {
+    @Operation(summary = "Get active drivers",
+            description = "Get list of all active drivers; send If-None-Match with the returned ETag to revalidate")
+    public ResponseEntity<byte[]> getAllActiveDrivers(WebRequest webRequest) {
 
         log.info("Getting all active drivers");
-        List<DriverResponse> drivers = driverService.getAllActiveDrivers();
+        ActiveDriverSnapshot snapshot = driverService.getActiveDriverSnapshot();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
 
-        return ResponseEntity.ok(ApiResponse.success("Active drivers retrieved successfully", drivers));
+        // The cached bytes are the whole response, so a hit skips mapping and serialization
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
+    @GetMapping(value = "/active", produces = {"application/cbor", "application/x-jackson-smile"})
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.list.active", description = "Time taken to list active drivers")
+    @Operation(summary = "Get active drivers", description = "Get list of all active drivers in CBOR or Smile")
+    public ResponseEntity<ApiResponse<List<DriverResponse>>> getAllActiveDriversNegotiated(WebRequest webRequest) {
+
+        log.info("Getting all active drivers");
+        ActiveDriverSnapshot snapshot = driverService.getActiveDriverSnapshot();
+        // Weak, since the binary encodings are serialized per request and are not byte-identical
+        String etag = "W/" + snapshot.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ApiResponse.success(ActiveDriverRoster.MESSAGE, snapshot.drivers()));
+    }
+
+    @GetMapping(value = "/active", params = "stream=true")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.list.active.stream", description = "Time taken to stream active drivers")
+    @Operation(summary = "Stream active drivers",
+            description = "Same response as active drivers, written row by row as they are read")
+    public ResponseEntity<StreamingResponseBody> streamAllActiveDrivers() {
+
+        log.info("Streaming all active drivers");
+
+        StreamingResponseBody body = out -> driverService.streamAllActiveDrivers(
+                rows -> apiResponseStreamWriter.writeList(out, "Active drivers retrieved successfully", rows));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/nearest")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.nearest", description = "Time taken to find the nearest available drivers")
+    @Operation(summary = "Find nearest available drivers",
+            description = "Enabled drivers with a recent position and spare order capacity, "
+                    + "closest first by great-circle distance")
+    public ResponseEntity<ApiResponse<List<NearbyDriverResponse>>> findNearestDrivers(
+            @Parameter(description = "Latitude of the pickup point") @RequestParam double lat,
+            @Parameter(description = "Longitude of the pickup point") @RequestParam double lon,
+            @Parameter(description = "Maximum number of drivers (1-50)") @RequestParam(defaultValue = "5") int k,
+            @Parameter(description = "Search radius in kilometres")
+            @RequestParam(defaultValue = "10") double radiusKm) {
+
+        log.info("Finding {} nearest drivers within {} km of {}, {}", k, radiusKm, lat, lon);
+        List<NearbyDriverResponse> drivers = driverLocationService.findNearestAvailable(lat, lon, k, radiusKm);
+
+        return ResponseEntity.ok(ApiResponse.success("Nearest drivers retrieved successfully", drivers));
+    }
+
+    @GetMapping("/workload")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.workload.list", description = "Time taken to list driver workloads")
+    @Operation(summary = "List driver workloads",
+            description = "Assigned, in-transit and delivered-today order counts for every driver with orders, "
+                    + "busiest first")
+    public ResponseEntity<ApiResponse<List<DriverWorkloadResponse>>> listDriverWorkloads() {
+
+        List<DriverWorkloadResponse> workloads = driverWorkloadService.listWorkloads();
+
+        return ResponseEntity.ok(ApiResponse.success("Driver workloads retrieved successfully", workloads));
+    }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
@@ -76,6 +221,31 @@ public class DriverController {
         return ResponseEntity.ok(ApiResponse.success("Driver retrieved successfully", driver));
     }
 
+    @GetMapping("/{id}/location")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.location.get", description = "Time taken to get a driver's location")
+    @Operation(summary = "Get driver location", description = "Get the latest reported position of a driver")
+    public ResponseEntity<ApiResponse<DriverLocationResponse>> getDriverLocation(
+            @Parameter(description = "Driver ID") @PathVariable String id) {
+
+        DriverLocationResponse location = driverLocationService.getLocation(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Driver location retrieved successfully", location));
+    }
+
+    @GetMapping("/{id}/workload")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.workload.get", description = "Time taken to get a driver's workload")
+    @Operation(summary = "Get driver workload",
+            description = "Assigned, in-transit and delivered-today order counts of a driver")
+    public ResponseEntity<ApiResponse<DriverWorkloadResponse>> getDriverWorkload(
+            @Parameter(description = "Driver ID") @PathVariable String id) {
+
+        DriverWorkloadResponse workload = driverWorkloadService.getWorkload(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Driver workload retrieved successfully", workload));
+    }
+
     @GetMapping("/name/{driverName}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "driver.get.name", description = "Time taken to get driver by name")
@@ -92,16 +262,35 @@ public class DriverController {
     @GetMapping("/search")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "driver.search", description = "Time taken to search drivers")
-    @Operation(summary = "Search drivers", description = "Search drivers by name, email, or license number")
+    @Operation(summary = "Search drivers",
+            description = "Search drivers by name, email, license or phone number, best matches first")
     public ResponseEntity<ApiResponse<List<DriverResponse>>> searchDrivers(
-            @Parameter(description = "Search query") @RequestParam String q) {
+            @Parameter(description = "Search query") @RequestParam String q,
+            @Parameter(description = "Maximum number of results (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
 
         log.info("Searching drivers with query: {}", q);
-        List<DriverResponse> drivers = driverService.searchDrivers(q);
+        List<DriverResponse> drivers = driverService.searchDrivers(q, limit);
 
         return ResponseEntity.ok(ApiResponse.success("Driver search completed", drivers));
     }
 
+    @PatchMapping("/status/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "driver.status.batch", description = "Time taken to set the status of a batch of drivers")
+    @Operation(summary = "Set status of multiple drivers",
+            description = "Enable or disable up to " + DriverStatusBatchRequest.MAX_DRIVER_IDS
+                    + " drivers in one update; the result is reported per driver ID")
+    public ResponseEntity<ApiResponse<DriverStatusBatchResponse>> setDriversStatus(
+            @Valid @RequestBody DriverStatusBatchRequest request) {
+
+        log.info("Setting status of {} drivers to enabled: {}", request.getDriverIds().size(), request.getEnabled());
+        DriverStatusBatchResponse response = driverService.setDriversStatus(request.getDriverIds(),
+                request.getEnabled());
+
+        return ResponseEntity.ok(ApiResponse.success("Driver statuses updated successfully", response));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "driver.toggle.status", description = "Time taken to toggle driver status")
@@ -7,12 +7,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,15 +22,23 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pase.test.com.database.dto.ApiResponse;
 import pase.test.com.database.dto.order.OrderAssignmentRequest;
 import pase.test.com.database.dto.order.OrderCreateRequest;
 import pase.test.com.database.dto.order.OrderFilterRequest;
 import pase.test.com.database.dto.order.OrderResponse;
 import pase.test.com.database.dto.order.OrderUpdateStatusRequest;
+import pase.test.com.order.management.dto.OrderChangesResponse;
 import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.event.OrderEventStreamService;
+import pase.test.com.order.management.service.order.feed.OrderChangeFeedService;
+import pase.test.com.order.management.stream.ApiResponseStreamWriter;
 
 
 @Slf4j
@@ -40,6 +50,9 @@ import pase.test.com.order.management.service.order.OrderService;
 public class OrderManagementController {
 
     private final OrderService orderService;
+    private final ApiResponseStreamWriter apiResponseStreamWriter;
+    private final OrderEventStreamService orderEventStreamService;
+    private final OrderChangeFeedService orderChangeFeedService;
 
     @PostMapping("/orders")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
@@ -68,6 +81,53 @@ public class OrderManagementController {
         return ResponseEntity.ok(ApiResponse.success("Order retrieved successfully", order));
     }
 
+    @GetMapping(value = "/orders/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Operation(summary = "Stream order events",
+            description = "Server-Sent Events for one order; send Last-Event-ID to resume after a reconnect")
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "Order ID") @PathVariable String id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        log.info("Subscribing to events for order: {}", id);
+        orderService.getOrderById(id);
+
+        return orderEventStreamService.subscribeToOrder(id, lastEventId);
+    }
+
+    @GetMapping(value = "/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Operation(summary = "Stream all order events",
+            description = "Server-Sent Events for every order, optionally filtered by driver and status")
+    public SseEmitter streamAllOrderEvents(
+            @Parameter(description = "Driver ID") @RequestParam(required = false) String driverId,
+            @Parameter(description = "Status label") @RequestParam(required = false) String status,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        log.info("Subscribing to order events with driverId: {} and status: {}", driverId, status);
+        return orderEventStreamService.subscribeToOrders(driverId, status, lastEventId);
+    }
+
+    @GetMapping("/orders/changes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "order.changes", description = "Time taken to fetch order changes")
+    @Operation(summary = "Get order changes",
+            description = "Orders modified after the cursor, oldest first; waits up to waitSeconds when empty")
+    public CompletableFuture<ResponseEntity<ApiResponse<OrderChangesResponse>>> getOrderChanges(
+            @Parameter(description = "Cursor returned by the previous call") @RequestParam(required = false)
+            String since,
+            @Parameter(description = "Maximum orders to return") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Long-poll wait when nothing changed") @RequestParam(defaultValue = "0")
+            int waitSeconds) {
+
+        log.info("Getting order changes since: {}", since);
+        int boundedLimit = Math.max(1, Math.min(limit, 1000));
+
+        return orderChangeFeedService.pollChanges(since, boundedLimit, waitSeconds * 1000L)
+                .thenApply(changes -> ResponseEntity.ok(
+                        ApiResponse.success("Order changes retrieved successfully", changes)));
+    }
+
     @GetMapping("/orders/number/{orderNumber}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "order.get.number", description = "Time taken to get order by number")
@@ -101,6 +161,27 @@ public class OrderManagementController {
         return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
     }
 
+    @PostMapping(value = "/orders/list", params = "stream=true")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "order.list.filtered.stream", description = "Time taken to stream orders with filters")
+    @Operation(summary = "Stream orders with filters",
+            description = "Same response as the filtered list, written row by row without buffering the page")
+    public ResponseEntity<StreamingResponseBody> streamOrdersWithFilters(
+            @RequestBody(required = false) OrderFilterRequest filterRequest,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        log.info("Streaming orders with filters: {}", filterRequest);
+
+        OrderFilterRequest filter = filterRequest != null ? filterRequest : new OrderFilterRequest();
+
+        StreamingResponseBody body = out -> orderService.streamOrdersWithFilters(filter, pageable,
+                (page, rows) -> apiResponseStreamWriter.writePage(out, "Orders retrieved successfully", page, rows));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @PatchMapping("/orders/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
     @Timed(value = "order.update.status", description = "Time taken to update order status")
@@ -143,4 +224,22 @@ public class OrderManagementController {
 
         return ResponseEntity.ok(ApiResponse.success("Driver orders retrieved successfully", orders));
     }
+
+    @GetMapping(value = "/drivers/{driverId}/orders", params = "stream=true")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN') or hasRole('MODERATOR')")
+    @Timed(value = "order.get.by.driver.stream", description = "Time taken to stream orders by driver")
+    @Operation(summary = "Stream orders by driver",
+            description = "Same response as orders by driver, written row by row as they are read")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByDriver(
+            @Parameter(description = "Driver ID") @PathVariable String driverId) {
+
+        log.info("Streaming orders for driver: {}", driverId);
+
+        StreamingResponseBody body = out -> orderService.streamOrdersByDriver(driverId,
+                rows -> apiResponseStreamWriter.writeList(out, "Driver orders retrieved successfully", rows));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package pase.test.com.order.management.dto;
+
+import lombok.Getter;
+import pase.test.com.database.dto.ErrorResponse;
+
+// The standard error envelope plus the per-file report, so a client can tell rejected files from failed ones
+@Getter
+public class BatchUploadErrorResponse extends ErrorResponse {
+
+    private final BatchUploadResponse result;
+
+    public BatchUploadErrorResponse(int status, String error, String message, String path,
+                                    BatchUploadResponse result) {
+        super(status, error, message, path);
+        this.result = result;
+    }
+}
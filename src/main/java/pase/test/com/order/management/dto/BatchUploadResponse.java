@@ -0,0 +1,44 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchUploadResponse {
+
+    private String orderId;
+    private int uploaded;
+    private int rejected;
+    private int failed;
+    private List<FileResult> files;
+
+    public enum Status {
+        UPLOADED,
+        REJECTED,
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class FileResult {
+        private int index;
+        private String fileName;
+        private Status status;
+        private String attachmentId;
+        private String attachmentTypeLabel;
+        private Long sizeBytes;
+        private Boolean deduplicated;
+        private String error;
+    }
+}
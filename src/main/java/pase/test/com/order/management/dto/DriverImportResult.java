@@ -0,0 +1,27 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DriverImportResult {
+
+    private long line;
+    private Status status;
+    private String driverId;
+    private String driverName;
+    private String error;
+
+    public enum Status {
+        IMPORTED,
+        REJECTED,
+        FAILED
+    }
+}
@@ -0,0 +1,50 @@
+package pase.test.com.order.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverLocationBatchRequest {
+
+    public static final int MAX_PINGS = 1000;
+
+    @NotEmpty(message = "Pings are required")
+    @Size(max = MAX_PINGS, message = "At most " + MAX_PINGS + " pings per batch")
+    private List<@Valid @NotNull(message = "Ping must not be null") Ping> pings;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Ping {
+
+        @NotBlank(message = "Driver ID is required")
+        private String driverId;
+
+        @NotNull(message = "Latitude is required")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        private Double latitude;
+
+        @NotNull(message = "Longitude is required")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        private Double longitude;
+
+        // Epoch milliseconds from the device; the receive time is used when absent
+        private Long recordedAt;
+    }
+}
@@ -0,0 +1,30 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DriverLocationBatchResponse {
+
+    private int accepted;
+    private int rejected;
+    private List<Rejection> rejections;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        private int index;
+        private String driverId;
+        private String error;
+    }
+}
@@ -0,0 +1,27 @@
+package pase.test.com.order.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverStatusBatchRequest {
+
+    public static final int MAX_DRIVER_IDS = 500;
+
+    @NotEmpty(message = "Driver IDs are required")
+    @Size(max = MAX_DRIVER_IDS, message = "At most " + MAX_DRIVER_IDS + " driver IDs per batch")
+    private List<@NotBlank(message = "Driver ID must not be blank") String> driverIds;
+
+    @NotNull(message = "Target status is required")
+    private Boolean enabled;
+}
@@ -0,0 +1,39 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DriverStatusBatchResponse {
+
+    private boolean enabled;
+    private int updated;
+    private int unchanged;
+    private int notFound;
+    private List<DriverResult> drivers;
+
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class DriverResult {
+        private String driverId;
+        private Status status;
+        private String driverName;
+    }
+}
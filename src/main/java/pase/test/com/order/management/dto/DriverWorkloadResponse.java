@@ -0,0 +1,20 @@
+package pase.test.com.order.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverWorkloadResponse {
+
+    private String driverId;
+    private long assigned;
+    private long inTransit;
+    private long active;
+    private long deliveredToday;
+    private boolean atCapacity;
+}
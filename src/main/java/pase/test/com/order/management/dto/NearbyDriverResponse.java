@@ -0,0 +1,20 @@
+package pase.test.com.order.management.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDriverResponse {
+
+    private String driverId;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+    private LocalDateTime recordedAt;
+}
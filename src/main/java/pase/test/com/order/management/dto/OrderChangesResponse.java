@@ -0,0 +1,21 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pase.test.com.database.dto.order.OrderResponse;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderChangesResponse {
+
+    private List<OrderResponse> orders;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,29 @@
+package pase.test.com.order.management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionCreateRequest {
+
+    @NotBlank(message = "Order ID is required")
+    private String orderId;
+
+    @NotBlank(message = "Attachment type label is required")
+    private String attachmentTypeLabel;
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSizeBytes;
+}
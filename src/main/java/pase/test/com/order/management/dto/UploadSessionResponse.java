@@ -0,0 +1,36 @@
+package pase.test.com.order.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadSessionResponse {
+
+    private String uploadId;
+    private String orderId;
+    private String fileName;
+    private long totalSizeBytes;
+    private int chunkSizeBytes;
+    private int totalChunks;
+    private long receivedBytes;
+    private List<ByteRange> receivedRanges;
+    private boolean complete;
+    private LocalDateTime expiresAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ByteRange {
+        private long start;
+        private long end;
+    }
+}
@@ -0,0 +1,8 @@
+package pase.test.com.order.management.exception;
+
+public class AttachmentNotFoundException extends RuntimeException {
+
+    public AttachmentNotFoundException(String message) {
+        super(message);
+    }
+}
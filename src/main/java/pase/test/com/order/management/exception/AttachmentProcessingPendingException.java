@@ -0,0 +1,14 @@
+package pase.test.com.order.management.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AttachmentProcessingPendingException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AttachmentProcessingPendingException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,15 @@
+package pase.test.com.order.management.exception;
+
+import lombok.Getter;
+import pase.test.com.order.management.dto.BatchUploadResponse;
+
+@Getter
+public class BatchUploadFailedException extends RuntimeException {
+
+    private final BatchUploadResponse result;
+
+    public BatchUploadFailedException(String message, BatchUploadResponse result) {
+        super(message);
+        this.result = result;
+    }
+}
@@ -0,0 +1,8 @@
+package pase.test.com.order.management.exception;
+
+public class InvalidUploadException extends RuntimeException {
+
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
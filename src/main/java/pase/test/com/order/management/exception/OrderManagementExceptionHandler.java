@@ -0,0 +1,92 @@
+package pase.test.com.order.management.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import pase.test.com.database.dto.ErrorResponse;
+import pase.test.com.order.management.dto.BatchUploadErrorResponse;
+
+// Handles exceptions owned by this service; the shared library handler covers its own exception types
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RestControllerAdvice
+public class OrderManagementExceptionHandler {
+
+    @ExceptionHandler(AttachmentNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAttachmentNotFound(AttachmentNotFoundException ex,
+                                                                  HttpServletRequest request) {
+        log.warn("Attachment not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUploadSessionNotFound(UploadSessionNotFoundException ex,
+                                                                     HttpServletRequest request) {
+        log.warn("Upload session not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidUpload(InvalidUploadException ex, HttpServletRequest request) {
+        log.warn("Invalid upload: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(UploadIncompleteException.class)
+    public ResponseEntity<ErrorResponse> handleUploadIncomplete(UploadIncompleteException ex,
+                                                                HttpServletRequest request) {
+        log.warn("Upload incomplete: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, ex.getMessage(), request);
+    }
+
+    // Storage failures outrank rejected files: a retry may succeed where a rejected file never will
+    @ExceptionHandler(BatchUploadFailedException.class)
+    public ResponseEntity<ErrorResponse> handleBatchUploadFailed(BatchUploadFailedException ex,
+                                                                 HttpServletRequest request) {
+        log.warn("Batch upload failed: {}", ex.getMessage());
+        HttpStatus status = ex.getResult().getFailed() > 0 ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status)
+                .body(new BatchUploadErrorResponse(status.value(), status.getReasonPhrase(), ex.getMessage(),
+                        request.getRequestURI(), ex.getResult()));
+    }
+
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleUploadRejected(UploadRejectedException ex, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(status.value(), status.getReasonPhrase(), ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    @ExceptionHandler(SubscriberLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSubscriberLimitExceeded(SubscriberLimitExceededException ex,
+                                                                       HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(status.value(), status.getReasonPhrase(), ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    @ExceptionHandler(AttachmentProcessingPendingException.class)
+    public ResponseEntity<ErrorResponse> handleProcessingPending(AttachmentProcessingPendingException ex,
+                                                                 HttpServletRequest request) {
+        HttpStatus status = HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(status.value(), status.getReasonPhrase(), ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String message, HttpServletRequest request) {
+        return ResponseEntity.status(status)
+                .body(ErrorResponse.of(status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+}
@@ -0,0 +1,8 @@
+package pase.test.com.order.management.exception;
+
+public class UploadIncompleteException extends RuntimeException {
+
+    public UploadIncompleteException(String message) {
+        super(message);
+    }
+}
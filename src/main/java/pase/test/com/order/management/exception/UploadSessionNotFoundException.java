@@ -0,0 +1,8 @@
+package pase.test.com.order.management.exception;
+
+public class UploadSessionNotFoundException extends RuntimeException {
+
+    public UploadSessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package pase.test.com.order.management.repository.driver;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pase.test.com.order.management.service.driver.location.DriverPosition;
+
+@Repository
+@RequiredArgsConstructor
+public class DriverLocationHistoryRepository {
+
+    public static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS driver_location_history (
+                id BIGSERIAL PRIMARY KEY,
+                driver_id VARCHAR(255) NOT NULL,
+                latitude DOUBLE PRECISION NOT NULL,
+                longitude DOUBLE PRECISION NOT NULL,
+                recorded_at TIMESTAMP NOT NULL,
+                created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+            );
+            CREATE INDEX IF NOT EXISTS idx_driver_location_history_driver_recorded
+                ON driver_location_history (driver_id, recorded_at);
+            CREATE INDEX IF NOT EXISTS idx_driver_location_history_recorded
+                ON driver_location_history (recorded_at)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<DriverPosition> positions, int batchSize) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO driver_location_history (driver_id, latitude, longitude, recorded_at)
+                        VALUES (?, ?, ?, ?)""",
+                positions, batchSize, (ps, position) -> {
+                    ps.setString(1, position.driverId());
+                    ps.setDouble(2, position.latitude());
+                    ps.setDouble(3, position.longitude());
+                    ps.setTimestamp(4, new Timestamp(position.recordedAtMillis()));
+                });
+    }
+
+    public int deleteRecordedBefore(Instant cutoff, int limit) {
+        return jdbcTemplate.update("""
+                        DELETE FROM driver_location_history
+                        WHERE id IN (
+                            SELECT id FROM driver_location_history WHERE recorded_at < ? LIMIT ?
+                        )""",
+                Timestamp.from(cutoff), limit);
+    }
+}
@@ -0,0 +1,141 @@
+package pase.test.com.order.management.repository.driver;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import pase.test.com.database.entity.driver.Driver;
+
+@Repository
+public class DriverQueryRepository {
+
+    private static final DriverUniqueField[] UNIQUE_FIELDS = DriverUniqueField.values();
+    // One round trip for all four unique fields; at most one existing row can collide on each of them
+    private static final String COLLISION_QUERY = "SELECT "
+            + Arrays.stream(UNIQUE_FIELDS).map(field -> "d." + field.property()).collect(Collectors.joining(", "))
+            + " FROM Driver d WHERE "
+            + Arrays.stream(UNIQUE_FIELDS).map(field -> "d." + field.property() + " = :" + field.property())
+                    .collect(Collectors.joining(" OR "));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.stream.fetch-size:100}")
+    private int fetchSize;
+
+    public Stream<Driver> streamActiveDrivers() {
+        return entityManager.createQuery(
+                        "SELECT d FROM Driver d WHERE d.enabled = true AND d.deleted = false", Driver.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Disabled drivers stay searchable so dispatchers can find and re-enable them
+    public Stream<Driver> streamSearchableDrivers() {
+        return entityManager.createQuery("SELECT d FROM Driver d WHERE d.deleted = false", Driver.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Deleted drivers are included: their names, licences, emails and phone numbers stay taken
+    public Stream<Driver> streamAllDrivers() {
+        return entityManager.createQuery("SELECT d FROM Driver d", Driver.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    public Set<DriverUniqueField> findCollisions(Driver candidate) {
+        TypedQuery<Object[]> query = entityManager.createQuery(COLLISION_QUERY, Object[].class)
+                .setMaxResults(UNIQUE_FIELDS.length)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        for (DriverUniqueField field : UNIQUE_FIELDS) {
+            query.setParameter(field.property(), field.valueOf(candidate));
+        }
+        List<Object[]> rows = query.getResultList();
+
+        Set<DriverUniqueField> collisions = EnumSet.noneOf(DriverUniqueField.class);
+        for (Object[] row : rows) {
+            for (int i = 0; i < UNIQUE_FIELDS.length; i++) {
+                if (row[i] != null && Objects.equals(row[i], UNIQUE_FIELDS[i].valueOf(candidate))) {
+                    collisions.add(UNIQUE_FIELDS[i]);
+                }
+            }
+        }
+        return collisions;
+    }
+
+    public Set<String> findExistingValues(DriverUniqueField field, Collection<String> values) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        String property = "d." + field.property();
+        return new HashSet<>(entityManager.createQuery(
+                        "SELECT " + property + " FROM Driver d WHERE " + property + " IN :values", String.class)
+                .setParameter("values", values)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultList());
+    }
+
+    // Locked in id order so overlapping batches queue behind each other instead of deadlocking
+    public List<Driver> findAllByIdsForUpdate(Collection<String> ids) {
+        return entityManager.createQuery("SELECT d FROM Driver d WHERE d.id IN :ids ORDER BY d.id", Driver.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    // A bulk statement skips the entity lifecycle, so the audit columns are set here rather than by JPA auditing
+    public int updateEnabled(Collection<String> ids, boolean enabled, LocalDateTime lastUpdated, String modifiedBy) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery("UPDATE Driver d SET d.enabled = :enabled, d.lastUpdated = :lastUpdated, "
+                        + "d.modifiedBy = :modifiedBy WHERE d.id IN :ids")
+                .setParameter("enabled", enabled)
+                .setParameter("lastUpdated", lastUpdated)
+                .setParameter("modifiedBy", modifiedBy)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    // The failed statement aborts the transaction, so the colliding field is read from the violated constraint,
+    // which the dialect reports by the name of our unique index (possibly schema-qualified)
+    public Set<DriverUniqueField> findViolatedFields(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException violation)
+                || violation.getConstraintName() == null) {
+            return Set.of();
+        }
+        String constraintName = violation.getConstraintName().toLowerCase(Locale.ROOT);
+
+        Set<DriverUniqueField> violated = EnumSet.noneOf(DriverUniqueField.class);
+        for (DriverUniqueField field : UNIQUE_FIELDS) {
+            if (constraintName.contains(field.indexName())) {
+                violated.add(field);
+            }
+        }
+        return violated;
+    }
+
+    public void detach(Driver driver) {
+        entityManager.detach(driver);
+    }
+}
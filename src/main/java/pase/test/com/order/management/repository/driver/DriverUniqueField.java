@@ -0,0 +1,39 @@
+package pase.test.com.order.management.repository.driver;
+
+import java.util.Locale;
+import java.util.function.Function;
+import pase.test.com.database.entity.driver.Driver;
+
+public enum DriverUniqueField {
+
+    DRIVER_NAME("driverName", "Driver name", Driver::getDriverName),
+    LICENSE_NUMBER("licenseNumber", "License number", Driver::getLicenseNumber),
+    EMAIL("email", "Email", Driver::getEmail),
+    PHONE_NUMBER("phoneNumber", "Phone number", Driver::getPhoneNumber);
+
+    private final String property;
+    private final String label;
+    private final Function<Driver, String> getter;
+
+    DriverUniqueField(String property, String label, Function<Driver, String> getter) {
+        this.property = property;
+        this.label = label;
+        this.getter = getter;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String valueOf(Driver driver) {
+        return getter.apply(driver);
+    }
+
+    public String indexName() {
+        return "uq_drivers_" + name().toLowerCase(Locale.ROOT);
+    }
+
+    public String alreadyExistsMessage(String value) {
+        return label + " already exists: " + value;
+    }
+}
@@ -0,0 +1,80 @@
+package pase.test.com.order.management.repository.order;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentBlobSummary;
+
+@Repository
+@RequiredArgsConstructor
+public class AttachmentBlobRepository {
+
+    public static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS attachment_blobs (
+                digest CHAR(64) PRIMARY KEY,
+                size_bytes BIGINT NOT NULL,
+                ref_count INTEGER NOT NULL,
+                created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                last_acquired_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )""";
+
+    public static final String ADD_LAST_ACQUIRED_AT_SQL = """
+            ALTER TABLE attachment_blobs
+                ADD COLUMN IF NOT EXISTS last_acquired_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // last_acquired_at holds off the reclaimer while the acquiring upload has not committed its attachment row
+    public int acquire(String digest, long sizeBytes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO attachment_blobs (digest, size_bytes, ref_count, created_on, last_acquired_at)
+                VALUES (?, ?, 1, ?, ?)
+                ON CONFLICT (digest) DO UPDATE SET ref_count = attachment_blobs.ref_count + 1,
+                                                   last_acquired_at = EXCLUDED.last_acquired_at
+                RETURNING ref_count""", Integer.class, digest, sizeBytes, now, now);
+    }
+
+    public boolean acquiredSince(String digest, Instant since) {
+        Integer matches = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attachment_blobs WHERE digest = ? AND last_acquired_at >= ?",
+                Integer.class, digest, Timestamp.from(since));
+        return matches != null && matches > 0;
+    }
+
+    // Returns the remaining references, or -1 when the digest is not tracked
+    public int release(String digest) {
+        List<Integer> remaining = jdbcTemplate.queryForList("""
+                UPDATE attachment_blobs SET ref_count = ref_count - 1
+                WHERE digest = ? AND ref_count > 0
+                RETURNING ref_count""", Integer.class, digest);
+        return remaining.isEmpty() ? -1 : remaining.get(0);
+    }
+
+    public boolean deleteIfUnreferenced(String digest) {
+        return jdbcTemplate.update("DELETE FROM attachment_blobs WHERE digest = ? AND ref_count <= 0", digest) > 0;
+    }
+
+    public void delete(String digest) {
+        jdbcTemplate.update("DELETE FROM attachment_blobs WHERE digest = ?", digest);
+    }
+
+    public AttachmentBlobSummary summarize() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) AS blobs,
+                       COALESCE(SUM(ref_count), 0) AS refs,
+                       COALESCE(SUM(size_bytes), 0) AS physical_bytes,
+                       COALESCE(SUM(size_bytes * ref_count), 0) AS logical_bytes
+                FROM attachment_blobs
+                WHERE ref_count > 0""", (rs, rowNum) -> new AttachmentBlobSummary(
+                rs.getLong("blobs"),
+                rs.getLong("refs"),
+                rs.getLong("physical_bytes"),
+                rs.getLong("logical_bytes")
+        ));
+    }
+}
@@ -0,0 +1,67 @@
+package pase.test.com.order.management.repository.order;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pase.test.com.order.management.service.order.attachment.processing.AttachmentMetadata;
+
+@Repository
+@RequiredArgsConstructor
+public class AttachmentMetadataRepository {
+
+    public static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS attachment_metadata (
+                attachment_id VARCHAR(255) PRIMARY KEY,
+                size_bytes BIGINT NOT NULL,
+                page_count INTEGER,
+                pdf_version VARCHAR(10),
+                width INTEGER,
+                height INTEGER,
+                thumbnail_available BOOLEAN NOT NULL,
+                processing_ms BIGINT NOT NULL,
+                processed_on TIMESTAMP NOT NULL
+            )""";
+
+    private static final RowMapper<AttachmentMetadata> ROW_MAPPER = (rs, rowNum) -> new AttachmentMetadata(
+            rs.getString("attachment_id"),
+            rs.getLong("size_bytes"),
+            rs.getObject("page_count", Integer.class),
+            rs.getString("pdf_version"),
+            rs.getObject("width", Integer.class),
+            rs.getObject("height", Integer.class),
+            rs.getBoolean("thumbnail_available"),
+            rs.getLong("processing_ms"),
+            rs.getTimestamp("processed_on").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void save(AttachmentMetadata metadata) {
+        jdbcTemplate.update("""
+                        INSERT INTO attachment_metadata (attachment_id, size_bytes, page_count, pdf_version, width,
+                            height, thumbnail_available, processing_ms, processed_on)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (attachment_id) DO UPDATE SET
+                            size_bytes = EXCLUDED.size_bytes,
+                            page_count = EXCLUDED.page_count,
+                            pdf_version = EXCLUDED.pdf_version,
+                            width = EXCLUDED.width,
+                            height = EXCLUDED.height,
+                            thumbnail_available = EXCLUDED.thumbnail_available,
+                            processing_ms = EXCLUDED.processing_ms,
+                            processed_on = EXCLUDED.processed_on""",
+                metadata.attachmentId(), metadata.sizeBytes(), metadata.pageCount(), metadata.pdfVersion(),
+                metadata.width(), metadata.height(), metadata.thumbnailAvailable(), metadata.processingMillis(),
+                Timestamp.valueOf(metadata.processedOn()));
+    }
+
+    public Optional<AttachmentMetadata> findByAttachmentId(String attachmentId) {
+        List<AttachmentMetadata> rows = jdbcTemplate.query(
+                "SELECT * FROM attachment_metadata WHERE attachment_id = ?", ROW_MAPPER, attachmentId);
+        return rows.stream().findFirst();
+    }
+}
@@ -0,0 +1,98 @@
+package pase.test.com.order.management.repository.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Repository;
+import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
+
+@Repository
+public class AttachmentQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A file is referenced when an order points at it as its primary attachment or links it in order_attachments
+    public Set<String> findReferencedFilePaths(Collection<String> filePaths) {
+        Set<String> referenced = new HashSet<>(entityManager.createQuery("""
+                        SELECT DISTINCT a.filePath FROM Order o JOIN o.assignmentAttachment a
+                        WHERE a.filePath IN :filePaths""", String.class)
+                .setParameter("filePaths", filePaths)
+                .getResultList());
+
+        Map<String, String> filePathById = findFilePathsById(filePaths);
+        for (String attachmentId : findLinkedAttachmentIds(filePathById.keySet())) {
+            referenced.add(filePathById.get(attachmentId));
+        }
+        return referenced;
+    }
+
+    // Attachments replaced on their order keep their row for auditing, but are no longer served
+    public int markUnreferencedDeleted(Collection<String> filePaths) {
+        Set<String> linked = findLinkedAttachmentIds(findFilePathsById(filePaths).keySet());
+        String linkedFilter = linked.isEmpty() ? "" : " AND a.id NOT IN :linked";
+        Query update = entityManager.createQuery("""
+                        UPDATE AssignmentAttachment a SET a.enabled = false, a.deleted = true
+                        WHERE a.filePath IN :filePaths
+                          AND a.deleted = false
+                          AND NOT EXISTS (SELECT o.id FROM Order o WHERE o.assignmentAttachment = a)"""
+                        + linkedFilter)
+                .setParameter("filePaths", filePaths);
+        if (!linked.isEmpty()) {
+            update.setParameter("linked", linked);
+        }
+        return update.executeUpdate();
+    }
+
+    // A primary attachment from before order_attachments existed is referenced by the order row alone
+    public Optional<AssignmentAttachment> findUnlinkedPrimary(String orderId) {
+        return entityManager.createQuery("""
+                        SELECT a FROM Order o JOIN o.assignmentAttachment a
+                        WHERE o.id = :orderId AND a.deleted = false""", AssignmentAttachment.class)
+                .setParameter("orderId", orderId)
+                .getResultStream()
+                .findFirst()
+                .filter(attachment -> findLinkedAttachmentIds(List.of(attachment.getId())).isEmpty());
+    }
+
+    public Set<String> findServedAttachmentIds(Collection<String> attachmentIds) {
+        return new HashSet<>(entityManager.createQuery("""
+                        SELECT a.id FROM AssignmentAttachment a
+                        WHERE a.id IN :ids
+                          AND (a.enabled IS NULL OR a.enabled = true)
+                          AND (a.deleted IS NULL OR a.deleted = false)""", String.class)
+                .setParameter("ids", attachmentIds)
+                .getResultList());
+    }
+
+    private Map<String, String> findFilePathsById(Collection<String> filePaths) {
+        Map<String, String> filePathById = new HashMap<>();
+        entityManager.createQuery("""
+                        SELECT a.id, a.filePath FROM AssignmentAttachment a
+                        WHERE a.filePath IN :filePaths""", Object[].class)
+                .setParameter("filePaths", filePaths)
+                .getResultList()
+                .forEach(row -> filePathById.put((String) row[0], (String) row[1]));
+        return filePathById;
+    }
+
+    // order_attachments is owned by this service rather than the entity model, so it is queried natively
+    @SuppressWarnings("unchecked")
+    private Set<String> findLinkedAttachmentIds(Collection<String> attachmentIds) {
+        if (attachmentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(entityManager.createNativeQuery(
+                        "SELECT DISTINCT attachment_id FROM order_attachments WHERE attachment_id IN (:ids)",
+                        String.class)
+                .setParameter("ids", attachmentIds)
+                .getResultList());
+    }
+}
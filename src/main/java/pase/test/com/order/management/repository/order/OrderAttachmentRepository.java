@@ -0,0 +1,43 @@
+package pase.test.com.order.management.repository.order;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderAttachmentRepository {
+
+    public static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS order_attachments (
+                order_id VARCHAR(255) NOT NULL,
+                attachment_id VARCHAR(255) NOT NULL,
+                created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                PRIMARY KEY (order_id, attachment_id)
+            );
+            CREATE INDEX IF NOT EXISTS idx_order_attachments_attachment_id ON order_attachments (attachment_id)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void linkAll(String orderId, List<String> attachmentIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO order_attachments (order_id, attachment_id, created_on) VALUES (?, ?, ?)
+                        ON CONFLICT DO NOTHING""",
+                attachmentIds, attachmentIds.size(), (ps, attachmentId) -> {
+                    ps.setString(1, orderId);
+                    ps.setString(2, attachmentId);
+                    ps.setTimestamp(3, now);
+                });
+    }
+
+    public List<String> findAttachmentIds(String orderId) {
+        return jdbcTemplate.queryForList("""
+                SELECT attachment_id FROM order_attachments
+                WHERE order_id = ?
+                ORDER BY created_on, attachment_id""", String.class, orderId);
+    }
+}
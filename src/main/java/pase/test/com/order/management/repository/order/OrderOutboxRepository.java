@@ -0,0 +1,61 @@
+package pase.test.com.order.management.repository.order;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pase.test.com.order.management.service.order.outbox.OrderOutboxEvent;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderOutboxRepository {
+
+    public static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS order_outbox (
+                id BIGSERIAL PRIMARY KEY,
+                event_type VARCHAR(50) NOT NULL,
+                aggregate_id VARCHAR(255) NOT NULL,
+                payload TEXT NOT NULL,
+                created_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )""";
+
+    private static final RowMapper<OrderOutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OrderOutboxEvent(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_on").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(String eventType, String aggregateId, String payload) {
+        jdbcTemplate.update(
+                "INSERT INTO order_outbox (event_type, aggregate_id, payload, created_on) VALUES (?, ?, ?, ?)",
+                eventType, aggregateId, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Rows locked by another dispatcher are skipped, so several instances can drain in parallel
+    public List<OrderOutboxEvent> lockNextBatch(int batchSize) {
+        return jdbcTemplate.query("""
+                SELECT id, event_type, aggregate_id, payload, created_on
+                FROM order_outbox
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED""", ROW_MAPPER, batchSize);
+    }
+
+    public void deleteAll(List<OrderOutboxEvent> events) {
+        jdbcTemplate.batchUpdate("DELETE FROM order_outbox WHERE id = ?", events, events.size(),
+                (ps, event) -> ps.setLong(1, event.id()));
+    }
+
+    public Optional<LocalDateTime> findOldestCreatedOn() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MIN(created_on) FROM order_outbox", LocalDateTime.class));
+    }
+}
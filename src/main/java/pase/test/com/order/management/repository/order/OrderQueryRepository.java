@@ -0,0 +1,143 @@
+package pase.test.com.order.management.repository.order;
+
+import static pase.test.com.database.enums.OrderStatusEnum.ASSIGNED;
+import static pase.test.com.database.enums.OrderStatusEnum.CANCELLED;
+import static pase.test.com.database.enums.OrderStatusEnum.CREATED;
+import static pase.test.com.database.enums.OrderStatusEnum.DELIVERED;
+import static pase.test.com.database.enums.OrderStatusEnum.IN_TRANSIT;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.database.entity.order.Order;
+import pase.test.com.database.entity.order.OrderStatus;
+import pase.test.com.order.management.service.driver.workload.WorkloadOrder;
+import pase.test.com.order.management.service.order.dispatch.PendingOrder;
+
+@Repository
+public class OrderQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.stream.fetch-size:100}")
+    private int fetchSize;
+
+    public Stream<Order> streamByDriverId(String driverId) {
+        return entityManager.createQuery("SELECT o FROM Order o WHERE o.driver.id = :driverId", Order.class)
+                .setParameter("driverId", driverId)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Keyset pagination over (lastUpdated, id), backed by idx_orders_last_updated_id
+    public List<Order> findChangedAfter(LocalDateTime lastUpdated, String id, LocalDateTime upTo, int limit) {
+        return entityManager.createQuery("""
+                        SELECT o FROM Order o
+                        WHERE (o.lastUpdated > :lastUpdated OR (o.lastUpdated = :lastUpdated AND o.id > :id))
+                          AND o.lastUpdated <= :upTo
+                        ORDER BY o.lastUpdated, o.id""", Order.class)
+                .setParameter("lastUpdated", lastUpdated)
+                .setParameter("id", id)
+                .setParameter("upTo", upTo)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Order> findChangedUpTo(LocalDateTime upTo, int limit) {
+        return entityManager.createQuery("""
+                        SELECT o FROM Order o
+                        WHERE o.lastUpdated <= :upTo
+                        ORDER BY o.lastUpdated, o.id""", Order.class)
+                .setParameter("upTo", upTo)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Every order a driver is still working on, plus those it finished since the given time
+    public List<WorkloadOrder> findWorkloadOrders(LocalDateTime finishedSince) {
+        return entityManager.createQuery("""
+                        SELECT new pase.test.com.order.management.service.driver.workload.WorkloadOrder(
+                            o.id, o.driver.id, o.orderStatus.statusLabel)
+                        FROM Order o
+                        WHERE o.driver IS NOT NULL
+                          AND (o.orderStatus.statusLabel IN :active
+                            OR (o.orderStatus.statusLabel IN :finished AND o.lastUpdated >= :finishedSince))""",
+                        WorkloadOrder.class)
+                .setParameter("active", List.of(ASSIGNED.name(), IN_TRANSIT.name()))
+                .setParameter("finished", List.of(DELIVERED.name(), CANCELLED.name()))
+                .setParameter("finishedSince", finishedSince)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    // Keyset pagination over (createdOn, id), backed by idx_orders_status_created_on_id
+    public List<PendingOrder> findPendingDispatch(int limit) {
+        return entityManager.createQuery("""
+                        SELECT new pase.test.com.order.management.service.order.dispatch.PendingOrder(
+                            o.id, o.origin, o.createdOn)
+                        FROM Order o
+                        WHERE o.orderStatus.statusLabel = :created AND o.driver IS NULL AND o.deleted = false
+                        ORDER BY o.createdOn, o.id""", PendingOrder.class)
+                .setParameter("created", CREATED.name())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<PendingOrder> findPendingDispatchAfter(LocalDateTime createdOn, String id, int limit) {
+        return entityManager.createQuery("""
+                        SELECT new pase.test.com.order.management.service.order.dispatch.PendingOrder(
+                            o.id, o.origin, o.createdOn)
+                        FROM Order o
+                        WHERE o.orderStatus.statusLabel = :created AND o.driver IS NULL AND o.deleted = false
+                          AND (o.createdOn > :createdOn OR (o.createdOn = :createdOn AND o.id > :id))
+                        ORDER BY o.createdOn, o.id""", PendingOrder.class)
+                .setParameter("created", CREATED.name())
+                .setParameter("createdOn", createdOn)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countPendingDispatch() {
+        return entityManager.createQuery("""
+                        SELECT COUNT(o) FROM Order o
+                        WHERE o.orderStatus.statusLabel = :created AND o.driver IS NULL AND o.deleted = false""",
+                        Long.class)
+                .setParameter("created", CREATED.name())
+                .getSingleResult();
+    }
+
+    // Matches no row once another transaction has assigned, cancelled or deleted the order,
+    // or once the driver's committed active orders have reached maxActive
+    public int assignIfUnassigned(String orderId, Driver driver, OrderStatus created, OrderStatus assigned,
+                                  long maxActive, LocalDateTime lastUpdated, String modifiedBy) {
+        return entityManager.createQuery("""
+                        UPDATE Order o SET o.driver = :driver, o.orderStatus = :assigned,
+                          o.lastUpdated = :lastUpdated, o.modifiedBy = :modifiedBy
+                        WHERE o.id = :id AND o.orderStatus = :created AND o.driver IS NULL AND o.deleted = false
+                          AND (SELECT COUNT(a) FROM Order a
+                               WHERE a.driver = :driver AND a.orderStatus.statusLabel IN :active
+                                 AND a.deleted = false) < :maxActive""")
+                .setParameter("driver", driver)
+                .setParameter("active", List.of(ASSIGNED.name(), IN_TRANSIT.name()))
+                .setParameter("maxActive", maxActive)
+                .setParameter("assigned", assigned)
+                .setParameter("lastUpdated", lastUpdated)
+                .setParameter("modifiedBy", modifiedBy)
+                .setParameter("id", orderId)
+                .setParameter("created", created)
+                .executeUpdate();
+    }
+
+    public void detach(Order order) {
+        entityManager.detach(order);
+    }
+}
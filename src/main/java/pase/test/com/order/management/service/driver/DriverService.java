@@ -1,23 +1,44 @@
 package pase.test.com.order.management.service.driver;
 
+import java.io.IOException;
 import java.util.List;
 import pase.test.com.database.dto.driver.DriverCreateRequest;
 import pase.test.com.database.dto.driver.DriverResponse;
 import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.order.management.dto.DriverStatusBatchResponse;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverSnapshot;
+import pase.test.com.order.management.service.driver.state.DriverState;
+import pase.test.com.order.management.stream.RowStreamHandler;
 
 public interface DriverService {
 
     DriverResponse createDriver(DriverCreateRequest request);
 
+    List<DriverResponse> createDrivers(List<DriverCreateRequest> requests);
+
     List<DriverResponse> getAllActiveDrivers();
 
+    ActiveDriverSnapshot getActiveDriverSnapshot();
+
+    void streamAllActiveDrivers(RowStreamHandler<DriverResponse> handler) throws IOException;
+
     DriverResponse getDriverById(String id);
 
     DriverResponse getDriverByDriverName(String driverName);
 
-    List<DriverResponse> searchDrivers(String query);
+    List<DriverResponse> searchDrivers(String query, int limit);
+
+    void rebuildSearchIndex();
+
+    void rebuildUniquenessFilter();
 
     DriverResponse toggleDriverStatus(String id, boolean enabled);
 
+    DriverStatusBatchResponse setDriversStatus(List<String> ids, boolean enabled);
+
     Driver getDriverEntityById(String id);
+
+    DriverState getDriverState(String id);
+
+    Driver getDriverReference(String id);
 }
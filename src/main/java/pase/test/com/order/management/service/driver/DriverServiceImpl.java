@@ -1,64 +1,137 @@
 package pase.test.com.order.management.service.driver;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import pase.test.com.database.dto.driver.DriverCreateRequest;
 import pase.test.com.database.dto.driver.DriverResponse;
 import pase.test.com.database.entity.driver.Driver;
 import pase.test.com.database.exception.auth.UserAlreadyExistsException;
 import pase.test.com.database.exception.auth.UserNotFoundException;
 import pase.test.com.database.repository.driver.DriverRepository;
+import pase.test.com.order.management.dto.DriverStatusBatchResponse;
+import pase.test.com.order.management.repository.driver.DriverQueryRepository;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverRoster;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverSnapshot;
+import pase.test.com.order.management.service.driver.search.DriverSearchIndex;
+import pase.test.com.order.management.service.driver.state.DriverState;
+import pase.test.com.order.management.service.driver.state.DriverStateCache;
+import pase.test.com.order.management.service.driver.uniqueness.DriverUniquenessFilter;
+import pase.test.com.order.management.stream.RowStreamHandler;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DriverServiceImpl implements DriverService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final DriverRepository driverRepository;
+    private final DriverQueryRepository driverQueryRepository;
+    private final DriverSearchIndex driverSearchIndex;
+    private final DriverUniquenessFilter driverUniquenessFilter;
+    private final ActiveDriverRoster activeDriverRoster;
+    private final DriverStateCache driverStateCache;
+    private final DriverSpatialIndex driverSpatialIndex;
+    private final AuditorAware<String> auditorAware;
 
     @Transactional
     @Override
     public DriverResponse createDriver(DriverCreateRequest request) {
         log.info("Creating new driver: {}", request.getDriverName());
 
-        if (driverRepository.existsByDriverName(request.getDriverName())) {
-            throw new UserAlreadyExistsException("Driver name already exists: " + request.getDriverName());
-        }
-        if (driverRepository.existsByLicenseNumber(request.getLicenseNumber())) {
-            throw new UserAlreadyExistsException("License number already exists: " + request.getLicenseNumber());
-        }
-        if (driverRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email already exists: " + request.getEmail());
-        }
-        if (driverRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new UserAlreadyExistsException("Phone number already exists: " + request.getPhoneNumber());
-        }
+        Driver candidate = newDriver(request);
 
-        Driver driver = Driver.builder()
-                .driverName(request.getDriverName())
-                .licenseNumber(request.getLicenseNumber())
-                .phoneNumber(request.getPhoneNumber())
-                .email(request.getEmail())
-                .enabled(true)
-                .deleted(false)
-                .build();
+        if (driverUniquenessFilter.mightCollide(candidate)) {
+            Set<DriverUniqueField> collisions = driverQueryRepository.findCollisions(candidate);
+            if (!collisions.isEmpty()) {
+                throw alreadyExists(candidate, collisions);
+            }
+        }
 
-        driver = driverRepository.save(driver);
+        Driver driver = saveUnique(candidate);
         log.info("Driver created successfully: {}", driver.getDriverName());
 
-        return convertToDriverResponse(driver);
+        // Added before commit: a rolled-back insert only leaves a false positive behind
+        driverUniquenessFilter.add(driver);
+        DriverResponse response = convertToDriverResponse(driver);
+        afterCommit(() -> {
+            driverSearchIndex.put(response);
+            driverStateCache.put(response);
+            activeDriverRoster.invalidate();
+        });
+        return response;
     }
 
+    // Callers check collisions up front; the inserts go out as JDBC batches and a unique constraint violation
+    // rolls back the whole list
+    @Transactional
     @Override
-    public List<DriverResponse> getAllActiveDrivers() {
-        log.info("Fetching all active drivers");
-        List<Driver> drivers = driverRepository.findAllActiveDrivers();
-        return drivers.stream()
+    public List<DriverResponse> createDrivers(List<DriverCreateRequest> requests) {
+        log.info("Creating {} drivers", requests.size());
+
+        List<Driver> drivers = driverRepository.saveAll(requests.stream()
+                .map(this::newDriver)
+                .toList());
+        driverRepository.flush();
+
+        drivers.forEach(driverUniquenessFilter::add);
+        List<DriverResponse> responses = drivers.stream()
                 .map(this::convertToDriverResponse)
                 .toList();
+        afterCommit(() -> {
+            responses.forEach(driverSearchIndex::put);
+            responses.forEach(driverStateCache::put);
+            activeDriverRoster.invalidate();
+        });
+        return responses;
+    }
+
+    @Override
+    public List<DriverResponse> getAllActiveDrivers() {
+        return getActiveDriverSnapshot().drivers();
+    }
+
+    @Override
+    public ActiveDriverSnapshot getActiveDriverSnapshot() {
+        return activeDriverRoster.get(() -> {
+            log.info("Loading active driver roster");
+            return driverRepository.findAllActiveDrivers().stream()
+                    .map(this::convertToDriverResponse)
+                    .toList();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllActiveDrivers(RowStreamHandler<DriverResponse> handler) throws IOException {
+        log.info("Streaming all active drivers");
+        try (Stream<Driver> drivers = driverQueryRepository.streamActiveDrivers()) {
+            handler.handle(drivers.map(driver -> {
+                DriverResponse response = convertToDriverResponse(driver);
+                driverQueryRepository.detach(driver);
+                return response;
+            }));
+        }
     }
 
     @Override
@@ -78,14 +151,50 @@ public class DriverServiceImpl implements DriverService {
     }
 
     @Override
-    public List<DriverResponse> searchDrivers(String query) {
+    public List<DriverResponse> searchDrivers(String query, int limit) {
         log.info("Searching drivers with query: {}", query);
+        int boundedLimit = Math.clamp(limit, 1, MAX_SEARCH_RESULTS);
+        if (driverSearchIndex.isReady()) {
+            return driverSearchIndex.search(query, boundedLimit);
+        }
+
+        // Until the startup build completes the database search still answers
         List<Driver> drivers = driverRepository.searchDrivers(query);
         return drivers.stream()
+                .limit(boundedLimit)
                 .map(this::convertToDriverResponse)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void rebuildSearchIndex() {
+        log.info("Building driver search index");
+        try (Stream<Driver> drivers = driverQueryRepository.streamSearchableDrivers()) {
+            drivers.forEach(driver -> {
+                driverSearchIndex.put(convertToDriverResponse(driver));
+                driverQueryRepository.detach(driver);
+            });
+        }
+        driverSearchIndex.markReady();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void rebuildUniquenessFilter() {
+        if (!driverUniquenessFilter.isEnabled()) {
+            return;
+        }
+        log.info("Loading driver uniqueness filter");
+        try (Stream<Driver> drivers = driverQueryRepository.streamAllDrivers()) {
+            drivers.forEach(driver -> {
+                driverUniquenessFilter.add(driver);
+                driverQueryRepository.detach(driver);
+            });
+        }
+        driverUniquenessFilter.markReady();
+    }
+
     @Transactional
     @Override
     public DriverResponse toggleDriverStatus(String id, boolean enabled) {
@@ -98,7 +207,78 @@ public class DriverServiceImpl implements DriverService {
         driver = driverRepository.save(driver);
 
         log.info("Driver status updated successfully: {} - enabled: {}", driver.getDriverName(), enabled);
-        return convertToDriverResponse(driver);
+        DriverResponse response = convertToDriverResponse(driver);
+        afterCommit(() -> {
+            driverSearchIndex.put(response);
+            driverStateCache.put(response);
+            driverSpatialIndex.setEnabled(response.getId(), enabled);
+            activeDriverRoster.invalidate();
+        });
+        return response;
+    }
+
+    @Transactional
+    @Override
+    public DriverStatusBatchResponse setDriversStatus(List<String> ids, boolean enabled) {
+        Set<String> requested = new LinkedHashSet<>(ids);
+        log.info("Setting status of {} drivers to enabled: {}", requested.size(), enabled);
+
+        Map<String, Driver> found = driverQueryRepository.findAllByIdsForUpdate(requested).stream()
+                .collect(Collectors.toMap(Driver::getId, Function.identity()));
+        List<String> changedIds = found.values().stream()
+                .filter(driver -> !Objects.equals(driver.getEnabled(), enabled))
+                .map(Driver::getId)
+                .toList();
+
+        // Database timestamps keep microseconds; the cached copies must compare equal to what a reload returns
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String modifiedBy = auditorAware.getCurrentAuditor().orElse(null);
+        int updated = driverQueryRepository.updateEnabled(changedIds, enabled, now, modifiedBy);
+
+        List<DriverResponse> changed = new ArrayList<>(updated);
+        List<DriverStatusBatchResponse.DriverResult> results = new ArrayList<>(requested.size());
+        for (String id : requested) {
+            Driver driver = found.get(id);
+            DriverStatusBatchResponse.Status status;
+            if (driver == null) {
+                status = DriverStatusBatchResponse.Status.NOT_FOUND;
+            } else if (Objects.equals(driver.getEnabled(), enabled)) {
+                status = DriverStatusBatchResponse.Status.UNCHANGED;
+            } else {
+                status = DriverStatusBatchResponse.Status.UPDATED;
+                // The managed entity is left untouched so the flush does not write each row a second time
+                DriverResponse response = convertToDriverResponse(driver);
+                response.setEnabled(enabled);
+                response.setLastUpdated(now);
+                response.setModifiedBy(modifiedBy);
+                changed.add(response);
+            }
+            results.add(DriverStatusBatchResponse.DriverResult.builder()
+                    .driverId(id)
+                    .status(status)
+                    .driverName(driver == null ? null : driver.getDriverName())
+                    .build());
+        }
+
+        int unchanged = found.size() - changed.size();
+        int notFound = requested.size() - found.size();
+        log.info("Driver statuses updated: {} changed, {} unchanged, {} not found", changed.size(), unchanged,
+                notFound);
+        if (!changed.isEmpty()) {
+            afterCommit(() -> {
+                driverSearchIndex.putAll(changed);
+                driverStateCache.putAll(changed);
+                changed.forEach(driver -> driverSpatialIndex.setEnabled(driver.getId(), enabled));
+                activeDriverRoster.invalidate();
+            });
+        }
+        return DriverStatusBatchResponse.builder()
+                .enabled(enabled)
+                .updated(changed.size())
+                .unchanged(unchanged)
+                .notFound(notFound)
+                .drivers(results)
+                .build();
     }
 
     @Override
@@ -107,6 +287,63 @@ public class DriverServiceImpl implements DriverService {
                 .orElseThrow(() -> new UserNotFoundException("Driver not found with ID: " + id));
     }
 
+    @Override
+    public DriverState getDriverState(String id) {
+        return driverStateCache.get(id, driverId -> driverRepository.findById(driverId)
+                        .map(this::convertToDriverResponse))
+                .orElseThrow(() -> new UserNotFoundException("Driver not found with ID: " + id));
+    }
+
+    // No SELECT: the proxy only carries the id, which is all an order's foreign key or a query parameter needs
+    @Override
+    public Driver getDriverReference(String id) {
+        return driverRepository.getReferenceById(id);
+    }
+
+    // Flushed here so a concurrent insert of the same values surfaces as the same field-level error
+    private Driver saveUnique(Driver candidate) {
+        try {
+            return driverRepository.saveAndFlush(candidate);
+        } catch (DataIntegrityViolationException e) {
+            Set<DriverUniqueField> violated = driverQueryRepository.findViolatedFields(e);
+            if (violated.isEmpty()) {
+                throw e;
+            }
+            throw alreadyExists(candidate, violated);
+        }
+    }
+
+    private UserAlreadyExistsException alreadyExists(Driver candidate, Set<DriverUniqueField> fields) {
+        return new UserAlreadyExistsException(fields.stream()
+                .map(field -> field.alreadyExistsMessage(field.valueOf(candidate)))
+                .collect(Collectors.joining("; ")));
+    }
+
+    // The index, roster and state cache must never show a driver whose transaction rolled back
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Driver newDriver(DriverCreateRequest request) {
+        return Driver.builder()
+                .driverName(request.getDriverName())
+                .licenseNumber(request.getLicenseNumber())
+                .phoneNumber(request.getPhoneNumber())
+                .email(request.getEmail())
+                .enabled(true)
+                .deleted(false)
+                .build();
+    }
+
     private DriverResponse convertToDriverResponse(Driver driver) {
         return DriverResponse.builder()
                 .id(driver.getId())
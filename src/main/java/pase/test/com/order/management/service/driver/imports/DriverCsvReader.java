@@ -0,0 +1,129 @@
+package pase.test.com.order.management.service.driver.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 records read one at a time, so only the current record is ever held in memory. Oversized fields are
+// cut off and reported rather than buffered.
+final class DriverCsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private boolean started;
+
+    DriverCsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    record CsvRecord(long line, List<String> fields, String error) {
+
+        boolean isBlank() {
+            return fields.size() == 1 && fields.get(0).isBlank();
+        }
+    }
+
+    CsvRecord next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        long recordLine = line;
+        List<String> fields = new ArrayList<>();
+        String error = null;
+        field.setLength(0);
+        boolean quoted = false;
+        boolean oversized = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    error = "Unterminated quoted field";
+                    fields.add(field.toString());
+                    return new CsvRecord(recordLine, fields, error);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        oversized |= append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    oversized |= append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread();
+                    }
+                }
+                if (c != EOF) {
+                    line++;
+                }
+                fields.add(field.toString());
+                if (oversized) {
+                    error = "Field exceeds " + maxFieldLength + " characters";
+                }
+                return new CsvRecord(recordLine, fields, error);
+            } else {
+                oversized |= append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private boolean append(char c) {
+        if (field.length() >= maxFieldLength) {
+            return true;
+        }
+        field.append(c);
+        return false;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    // Only called right after a successful read, so the character is still in the buffer
+    private void unread() {
+        if (limit > 0) {
+            position--;
+        }
+    }
+}
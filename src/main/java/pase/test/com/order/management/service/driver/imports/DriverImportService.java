@@ -0,0 +1,11 @@
+package pase.test.com.order.management.service.driver.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+import pase.test.com.order.management.dto.DriverImportResult;
+import pase.test.com.order.management.stream.RowStreamHandler;
+
+public interface DriverImportService {
+
+    void importDrivers(InputStream csv, RowStreamHandler<DriverImportResult> handler) throws IOException;
+}
@@ -0,0 +1,355 @@
+package pase.test.com.order.management.service.driver.imports;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import pase.test.com.database.dto.driver.DriverCreateRequest;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.database.exception.auth.UserAlreadyExistsException;
+import pase.test.com.order.management.dto.DriverImportResult;
+import pase.test.com.order.management.repository.driver.DriverQueryRepository;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.stream.RowStreamHandler;
+
+@Slf4j
+@Service
+public class DriverImportServiceImpl implements DriverImportService {
+
+    private static final DriverUniqueField[] FIELDS = DriverUniqueField.values();
+
+    private final DriverService driverService;
+    private final DriverQueryRepository driverQueryRepository;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxRows;
+    private final int maxFieldLength;
+
+    public DriverImportServiceImpl(
+            DriverService driverService,
+            DriverQueryRepository driverQueryRepository,
+            Validator validator,
+            @Value("${app.driver.import.chunk-size:500}") int chunkSize,
+            @Value("${app.driver.import.max-rows:100000}") int maxRows,
+            @Value("${app.driver.import.max-field-length:256}") int maxFieldLength
+    ) {
+        this.driverService = driverService;
+        this.driverQueryRepository = driverQueryRepository;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    // Rows are read, checked and inserted one chunk at a time as the report is written, so neither the file nor
+    // the report is ever held in full; only the per-field sets used to find duplicates within the file grow
+    @Override
+    public void importDrivers(InputStream csv, RowStreamHandler<DriverImportResult> handler) throws IOException {
+        ImportRun run = new ImportRun(new DriverCsvReader(
+                new InputStreamReader(csv, StandardCharsets.UTF_8), maxFieldLength));
+        try {
+            handler.handle(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(run, Spliterator.ORDERED | Spliterator.NONNULL), false));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Driver import finished: {} imported, {} rejected, {} failed",
+                run.imported, run.rejected, run.failed);
+    }
+
+    private final class ImportRun implements Iterator<DriverImportResult> {
+
+        private final DriverCsvReader reader;
+        private final Map<DriverUniqueField, Map<String, Long>> seen = new EnumMap<>(DriverUniqueField.class);
+        private final ArrayDeque<DriverImportResult> pending = new ArrayDeque<>();
+        private int[] columns;
+        private int columnCount;
+        private long rows;
+        private boolean finished;
+        private long imported;
+        private long rejected;
+        private long failed;
+
+        private ImportRun(DriverCsvReader reader) {
+            this.reader = reader;
+            for (DriverUniqueField field : FIELDS) {
+                seen.put(field, new HashMap<>());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (pending.isEmpty() && !finished) {
+                    if (columns == null) {
+                        readHeader();
+                    } else {
+                        importChunk();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public DriverImportResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll();
+        }
+
+        private void readHeader() throws IOException {
+            DriverCsvReader.CsvRecord header = reader.next();
+            if (header == null) {
+                finished = true;
+                return;
+            }
+
+            columns = new int[FIELDS.length];
+            columnCount = header.fields().size();
+            Set<String> missing = new LinkedHashSet<>();
+            for (DriverUniqueField field : FIELDS) {
+                columns[field.ordinal()] = indexOf(header.fields(), field.property());
+                if (columns[field.ordinal()] < 0) {
+                    missing.add(field.property());
+                }
+            }
+            if (!missing.isEmpty()) {
+                finished = true;
+                emit(reject(header.line(), null, "Missing columns: " + String.join(", ", missing)));
+            }
+        }
+
+        private void importChunk() throws IOException {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize) {
+                DriverCsvReader.CsvRecord record = reader.next();
+                if (record == null) {
+                    finished = true;
+                    break;
+                }
+                if (record.isBlank()) {
+                    continue;
+                }
+                if (rows++ == maxRows) {
+                    finished = true;
+                    chunk.add(new Row(record.line(), null, "Import is limited to " + maxRows
+                            + " rows; this and the following lines were not read"));
+                    break;
+                }
+                chunk.add(parse(record));
+            }
+
+            rejectExisting(chunk);
+            insert(chunk);
+            chunk.forEach(row -> emit(row.result));
+        }
+
+        private Row parse(DriverCsvReader.CsvRecord record) {
+            if (record.error() != null) {
+                return new Row(record.line(), null, record.error());
+            }
+            if (record.fields().size() != columnCount) {
+                return new Row(record.line(), null,
+                        "Expected " + columnCount + " columns but found " + record.fields().size());
+            }
+
+            String[] values = new String[FIELDS.length];
+            for (DriverUniqueField field : FIELDS) {
+                String value = record.fields().get(columns[field.ordinal()]).strip();
+                if (value.isEmpty()) {
+                    return new Row(record.line(), null, field.property() + " is required");
+                }
+                values[field.ordinal()] = value;
+            }
+            Row row = new Row(record.line(), values, null);
+
+            Set<ConstraintViolation<DriverCreateRequest>> violations = validator.validate(row.request());
+            if (!violations.isEmpty()) {
+                row.result = reject(row.line, values, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return row;
+            }
+
+            for (DriverUniqueField field : FIELDS) {
+                Long firstLine = seen.get(field).get(values[field.ordinal()]);
+                if (firstLine != null) {
+                    row.result = reject(row.line, values, field.property() + " duplicates line " + firstLine + ": "
+                            + values[field.ordinal()]);
+                    return row;
+                }
+            }
+            for (DriverUniqueField field : FIELDS) {
+                seen.get(field).put(values[field.ordinal()], row.line);
+            }
+            return row;
+        }
+
+        // One IN query per field for the whole chunk instead of four lookups per row
+        private void rejectExisting(List<Row> chunk) {
+            List<Row> candidates = chunk.stream().filter(Row::isPending).toList();
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            Map<DriverUniqueField, Set<String>> existing = new EnumMap<>(DriverUniqueField.class);
+            for (DriverUniqueField field : FIELDS) {
+                Set<String> values = candidates.stream()
+                        .map(row -> row.values[field.ordinal()])
+                        .collect(Collectors.toSet());
+                existing.put(field, driverQueryRepository.findExistingValues(field, values));
+            }
+
+            for (Row row : candidates) {
+                String collisions = existing.entrySet().stream()
+                        .filter(entry -> entry.getValue().contains(row.values[entry.getKey().ordinal()]))
+                        .map(entry -> entry.getKey().alreadyExistsMessage(row.values[entry.getKey().ordinal()]))
+                        .collect(Collectors.joining("; "));
+                if (!collisions.isEmpty()) {
+                    row.result = reject(row.line, row.values, collisions);
+                }
+            }
+        }
+
+        private void insert(List<Row> chunk) {
+            List<Row> candidates = chunk.stream().filter(Row::isPending).toList();
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<DriverResponse> created = driverService.createDrivers(candidates.stream()
+                        .map(Row::request)
+                        .toList());
+                for (int i = 0; i < candidates.size(); i++) {
+                    candidates.get(i).result = imported(candidates.get(i).line, created.get(i));
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Another writer took one of the values since the check; retry row by row to find which
+                log.warn("Driver import chunk collided with a concurrent insert, retrying {} rows individually",
+                        candidates.size());
+                candidates.forEach(this::insertOne);
+            } catch (RuntimeException e) {
+                log.error("Driver import chunk failed: {}", e.getMessage(), e);
+                candidates.forEach(row -> row.result = fail(row.line, row.values, e));
+            }
+        }
+
+        private void insertOne(Row row) {
+            try {
+                row.result = imported(row.line, driverService.createDriver(row.request()));
+            } catch (UserAlreadyExistsException e) {
+                row.result = reject(row.line, row.values, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Driver import failed for line {}: {}", row.line, e.getMessage(), e);
+                row.result = fail(row.line, row.values, e);
+            }
+        }
+
+        private void emit(DriverImportResult result) {
+            switch (result.getStatus()) {
+                case IMPORTED -> imported++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+                default -> throw new IllegalStateException("Unexpected status " + result.getStatus());
+            }
+            pending.add(result);
+        }
+
+        private int indexOf(List<String> header, String property) {
+            String wanted = normalize(property);
+            for (int i = 0; i < header.size(); i++) {
+                if (normalize(header.get(i)).equals(wanted)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Accepts driverName, driver_name, "Driver Name" and so on
+        private String normalize(String column) {
+            return column.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private final String[] values;
+        private DriverImportResult result;
+
+        private Row(long line, String[] values, String error) {
+            this.line = line;
+            this.values = values;
+            this.result = error != null ? reject(line, values, error) : null;
+        }
+
+        private boolean isPending() {
+            return result == null;
+        }
+
+        private DriverCreateRequest request() {
+            return DriverCreateRequest.builder()
+                    .driverName(values[DriverUniqueField.DRIVER_NAME.ordinal()])
+                    .licenseNumber(values[DriverUniqueField.LICENSE_NUMBER.ordinal()])
+                    .email(values[DriverUniqueField.EMAIL.ordinal()])
+                    .phoneNumber(values[DriverUniqueField.PHONE_NUMBER.ordinal()])
+                    .build();
+        }
+    }
+
+    private static DriverImportResult imported(long line, DriverResponse driver) {
+        return DriverImportResult.builder()
+                .line(line)
+                .status(DriverImportResult.Status.IMPORTED)
+                .driverId(driver.getId())
+                .driverName(driver.getDriverName())
+                .build();
+    }
+
+    private static DriverImportResult reject(long line, String[] values, String error) {
+        return DriverImportResult.builder()
+                .line(line)
+                .status(DriverImportResult.Status.REJECTED)
+                .driverName(values != null ? values[DriverUniqueField.DRIVER_NAME.ordinal()] : null)
+                .error(error)
+                .build();
+    }
+
+    private static DriverImportResult fail(long line, String[] values, RuntimeException e) {
+        return DriverImportResult.builder()
+                .line(line)
+                .status(DriverImportResult.Status.FAILED)
+                .driverName(values[DriverUniqueField.DRIVER_NAME.ordinal()])
+                .error(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package pase.test.com.order.management.service.driver.location;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+
+@Slf4j
+@Component
+public class DriverLocationHistoryPurger {
+
+    private final DriverLocationHistoryRepository historyRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter purgedCounter;
+
+    public DriverLocationHistoryPurger(
+            DriverLocationHistoryRepository historyRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.driver.location.history.retention-days:30}") long retentionDays,
+            @Value("${app.driver.location.history.purge-batch-size:10000}") int batchSize
+    ) {
+        this.historyRepository = historyRepository;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.purgedCounter = Counter.builder("driver.location.history.purged")
+                .description("Driver location samples deleted after the retention period")
+                .register(meterRegistry);
+    }
+
+    // Small batches keep each delete short, so it does not hold up the history flush
+    @Scheduled(initialDelayString = "${app.driver.location.history.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.driver.location.history.purge-interval-ms:3600000}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = historyRepository.deleteRecordedBefore(cutoff, batchSize);
+                purgedCounter.increment(deleted);
+                total += deleted;
+            } while (deleted == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Driver location history purge failed after {} rows: {}", total, e.getMessage(), e);
+            return;
+        }
+        if (total > 0) {
+            log.info("Purged {} driver location samples recorded before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package pase.test.com.order.management.service.driver.location;
+
+import java.util.List;
+import pase.test.com.order.management.dto.DriverLocationBatchRequest;
+import pase.test.com.order.management.dto.DriverLocationBatchResponse;
+import pase.test.com.order.management.dto.DriverLocationResponse;
+import pase.test.com.order.management.dto.NearbyDriverResponse;
+
+public interface DriverLocationService {
+
+    // With a reporting driver id, pings for any other driver are rejected; null accepts pings for every driver
+    DriverLocationBatchResponse ingest(List<DriverLocationBatchRequest.Ping> pings, String reportingDriverId);
+
+    DriverLocationResponse getLocation(String driverId);
+
+    List<NearbyDriverResponse> findNearestAvailable(double latitude, double longitude, int limit, double radiusKm);
+}
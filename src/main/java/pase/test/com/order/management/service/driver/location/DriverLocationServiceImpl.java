@@ -0,0 +1,305 @@
+package pase.test.com.order.management.service.driver.location;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pase.test.com.database.exception.auth.UserNotFoundException;
+import pase.test.com.order.management.dto.DriverLocationBatchRequest;
+import pase.test.com.order.management.dto.DriverLocationBatchResponse;
+import pase.test.com.order.management.dto.DriverLocationResponse;
+import pase.test.com.order.management.dto.NearbyDriverResponse;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.state.DriverState;
+
+// Request threads only validate and enqueue; a single drain thread coalesces pings into the latest position per
+// driver, and the history flush writes at most one sample per driver per interval in JDBC batches
+@Slf4j
+@Service
+public class DriverLocationServiceImpl implements DriverLocationService {
+
+    private final DriverService driverService;
+    private final DriverLocationStore driverLocationStore;
+    private final DriverLocationHistoryRepository historyRepository;
+    private final DriverSpatialIndex driverSpatialIndex;
+    private final LocationRingBuffer ringBuffer;
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("driver-location-drain").daemon(true).factory());
+    private final long drainIntervalMillis;
+    private final boolean historyEnabled;
+    private final int historyBatchSize;
+    private final int maxNearestResults;
+    private final double maxNearestRadiusKm;
+    private final long maxPositionAgeMillis;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+    private final Counter historyRowsCounter;
+    private final Timer lagTimer;
+    private final Timer historyFlushTimer;
+    private final Timer nearestTimer;
+    // Drain thread only
+    private final List<DriverPosition> drainedPositions = new ArrayList<>();
+    private boolean lagSampled;
+
+    public DriverLocationServiceImpl(
+            DriverService driverService,
+            DriverLocationStore driverLocationStore,
+            DriverLocationHistoryRepository historyRepository,
+            DriverSpatialIndex driverSpatialIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.driver.location.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${app.driver.location.drain-interval-ms:10}") long drainIntervalMillis,
+            @Value("${app.driver.location.history.enabled:true}") boolean historyEnabled,
+            @Value("${app.driver.location.history.batch-size:500}") int historyBatchSize,
+            @Value("${app.driver.nearest.max-results:50}") int maxNearestResults,
+            @Value("${app.driver.nearest.max-radius-km:100}") double maxNearestRadiusKm,
+            @Value("${app.driver.nearest.max-position-age-seconds:300}") long maxPositionAgeSeconds
+    ) {
+        this.driverService = driverService;
+        this.driverLocationStore = driverLocationStore;
+        this.historyRepository = historyRepository;
+        this.driverSpatialIndex = driverSpatialIndex;
+        this.ringBuffer = new LocationRingBuffer(bufferCapacity);
+        this.drainIntervalMillis = drainIntervalMillis;
+        this.historyEnabled = historyEnabled;
+        this.historyBatchSize = historyBatchSize;
+        this.maxNearestResults = maxNearestResults;
+        this.maxNearestRadiusKm = maxNearestRadiusKm;
+        this.maxPositionAgeMillis = TimeUnit.SECONDS.toMillis(maxPositionAgeSeconds);
+        this.acceptedCounter = pingCounter(meterRegistry, "accepted");
+        this.rejectedCounter = pingCounter(meterRegistry, "rejected");
+        this.droppedCounter = pingCounter(meterRegistry, "dropped");
+        this.historyRowsCounter = Counter.builder("driver.location.history.rows")
+                .description("Sampled driver positions written to the location history")
+                .register(meterRegistry);
+        // Sampled once per drain pass from its first, and so oldest, ping
+        this.lagTimer = Timer.builder("driver.location.ingest.lag")
+                .description("Delay between accepting the oldest pending location ping and applying it")
+                .register(meterRegistry);
+        this.historyFlushTimer = Timer.builder("driver.location.history.flush")
+                .description("Time taken to write one round of sampled positions")
+                .register(meterRegistry);
+        this.nearestTimer = Timer.builder("driver.nearest.query")
+                .description("Time taken to find the nearest available drivers")
+                .register(meterRegistry);
+        Gauge.builder("driver.nearest.available", driverSpatialIndex, DriverSpatialIndex::availableCount)
+                .description("Enabled drivers with a position and no active order")
+                .register(meterRegistry);
+        Gauge.builder("driver.location.buffer.size", ringBuffer, LocationRingBuffer::size)
+                .description("Location pings accepted but not yet applied")
+                .register(meterRegistry);
+        Gauge.builder("driver.location.drivers", driverLocationStore, DriverLocationStore::size)
+                .description("Drivers with a reported location")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        drainer.scheduleWithFixedDelay(this::drainSafely, drainIntervalMillis, drainIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        log.info("Driver location ingestion started with a buffer of {} pings", ringBuffer.capacity());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // The final drain runs on the drain thread too; shutdown() cancels the periodic drain but still runs it
+        drainer.execute(this::drainSafely);
+        drainer.shutdown();
+        try {
+            if (!drainer.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.warn("Driver location drain did not finish within 1s, pings still buffered are dropped");
+                drainer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            drainer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flushHistory();
+    }
+
+    @Override
+    public DriverLocationBatchResponse ingest(List<DriverLocationBatchRequest.Ping> pings,
+                                              String reportingDriverId) {
+        long receivedAtNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        List<DriverLocationBatchResponse.Rejection> rejections = new ArrayList<>();
+
+        for (int i = 0; i < pings.size(); i++) {
+            DriverLocationBatchRequest.Ping ping = pings.get(i);
+            String error = reportingDriverId == null || reportingDriverId.equals(ping.getDriverId())
+                    ? offer(ping, nowMillis, receivedAtNanos)
+                    : reject("Not permitted to report for this driver");
+            if (error != null) {
+                rejections.add(DriverLocationBatchResponse.Rejection.builder()
+                        .index(i)
+                        .driverId(ping.getDriverId())
+                        .error(error)
+                        .build());
+            }
+        }
+
+        int accepted = pings.size() - rejections.size();
+        acceptedCounter.increment(accepted);
+        if (!rejections.isEmpty()) {
+            log.debug("Rejected {} of {} location pings", rejections.size(), pings.size());
+        }
+        return DriverLocationBatchResponse.builder()
+                .accepted(accepted)
+                .rejected(rejections.size())
+                .rejections(rejections.isEmpty() ? null : rejections)
+                .build();
+    }
+
+    @Override
+    public DriverLocationResponse getLocation(String driverId) {
+        DriverPosition position = driverLocationStore.get(driverId)
+                .orElseThrow(() -> new UserNotFoundException("No location reported for driver ID: " + driverId));
+        return DriverLocationResponse.builder()
+                .driverId(position.driverId())
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .recordedAt(toLocalDateTime(position.recordedAtMillis()))
+                .build();
+    }
+
+    @Override
+    public List<NearbyDriverResponse> findNearestAvailable(double latitude, double longitude, int limit,
+                                                           double radiusKm) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException(
+                    "Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        int boundedLimit = Math.clamp(limit, 1, maxNearestResults);
+        double boundedRadius = Math.min(radiusKm, maxNearestRadiusKm);
+        // Drivers whose app stopped reporting are skipped rather than sent to a place they may have left
+        long freshAfter = System.currentTimeMillis() - maxPositionAgeMillis;
+
+        List<NearbyDriver> nearest = nearestTimer.record(() ->
+                driverSpatialIndex.nearest(latitude, longitude, boundedLimit, boundedRadius, freshAfter));
+        return nearest.stream()
+                .map(driver -> NearbyDriverResponse.builder()
+                        .driverId(driver.driverId())
+                        .latitude(driver.latitude())
+                        .longitude(driver.longitude())
+                        .distanceKm(driver.distanceKm())
+                        .recordedAt(toLocalDateTime(driver.recordedAtMillis()))
+                        .build())
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.driver.location.history.flush-interval-ms:5000}",
+            initialDelayString = "${app.driver.location.history.flush-interval-ms:5000}")
+    public void flushHistory() {
+        if (!historyEnabled) {
+            return;
+        }
+        List<DriverPosition> samples = driverLocationStore.unflushed();
+        if (samples.isEmpty()) {
+            return;
+        }
+        try {
+            historyFlushTimer.record(() -> historyRepository.insertAll(samples, historyBatchSize));
+            driverLocationStore.markFlushed(samples);
+            historyRowsCounter.increment(samples.size());
+            log.debug("Wrote {} driver location samples", samples.size());
+        } catch (RuntimeException e) {
+            // Left unflushed, so the next round writes the then-latest position instead
+            log.error("Failed to write {} driver location samples: {}", samples.size(), e.getMessage(), e);
+        }
+    }
+
+    int drain() {
+        int total = 0;
+        int drained;
+        do {
+            lagSampled = false;
+            drained = ringBuffer.drain(this::apply, ringBuffer.capacity());
+            // One index write lock per pass rather than per ping
+            driverSpatialIndex.updatePositions(drainedPositions);
+            drainedPositions.clear();
+            total += drained;
+        } while (drained > 0);
+        return total;
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Driver location drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void apply(int key, double latitude, double longitude, long recordedAtMillis, long receivedAtNanos) {
+        DriverPosition position = driverLocationStore.update(key, latitude, longitude, recordedAtMillis);
+        if (position != null) {
+            drainedPositions.add(position);
+        }
+        if (!lagSampled) {
+            lagSampled = true;
+            lagTimer.record(System.nanoTime() - receivedAtNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String offer(DriverLocationBatchRequest.Ping ping, long nowMillis, long receivedAtNanos) {
+        int key = driverLocationStore.keyOf(ping.getDriverId());
+        if (key == DriverLocationStore.NO_KEY) {
+            // Only a driver's first ping pays for the lookup, and that is usually a state cache hit
+            DriverState state;
+            try {
+                state = driverService.getDriverState(ping.getDriverId());
+            } catch (UserNotFoundException e) {
+                return reject("Driver not found");
+            }
+            key = driverLocationStore.register(ping.getDriverId());
+            if (key == DriverLocationStore.NO_KEY) {
+                return reject("Location tracking capacity reached");
+            }
+            // Later status changes reach the spatial index from the driver service
+            driverSpatialIndex.setEnabled(state.id(), state.enabled());
+        }
+
+        // Device clocks run ahead; a future timestamp would otherwise hide every later ping
+        long recordedAt = ping.getRecordedAt() != null ? Math.min(ping.getRecordedAt(), nowMillis) : nowMillis;
+        if (!ringBuffer.offer(key, ping.getLatitude(), ping.getLongitude(), recordedAt, receivedAtNanos)) {
+            droppedCounter.increment();
+            return "Location buffer full, retry later";
+        }
+        return null;
+    }
+
+    private String reject(String error) {
+        rejectedCounter.increment();
+        return error;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static Counter pingCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("driver.location.pings")
+                .description("Driver location pings received")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
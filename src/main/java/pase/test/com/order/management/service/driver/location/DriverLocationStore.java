@@ -0,0 +1,94 @@
+package pase.test.com.order.management.service.driver.location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Latest known position per driver. Drivers get a dense int key on their first ping, so the ring buffer carries
+// primitives and positions live in a flat array indexed by that key. Only the drain thread writes positions.
+@Component
+public class DriverLocationStore {
+
+    public static final int NO_KEY = -1;
+
+    private final Map<String, Integer> keyByDriverId = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> driverIds;
+    private final AtomicReferenceArray<DriverPosition> positions;
+    // Last position written to history per key; touched by the history flush only
+    private final DriverPosition[] flushed;
+    private final AtomicInteger nextKey = new AtomicInteger();
+
+    public DriverLocationStore(@Value("${app.driver.location.max-drivers:100000}") int maxDrivers) {
+        this.driverIds = new AtomicReferenceArray<>(maxDrivers);
+        this.positions = new AtomicReferenceArray<>(maxDrivers);
+        this.flushed = new DriverPosition[maxDrivers];
+    }
+
+    public int keyOf(String driverId) {
+        Integer key = keyByDriverId.get(driverId);
+        return key != null ? key : NO_KEY;
+    }
+
+    // Returns NO_KEY once every key is taken
+    public int register(String driverId) {
+        Integer key = keyByDriverId.computeIfAbsent(driverId, id -> {
+            int next = nextKey.getAndIncrement();
+            if (next >= driverIds.length()) {
+                nextKey.decrementAndGet();
+                return null;
+            }
+            driverIds.set(next, id);
+            return next;
+        });
+        return key != null ? key : NO_KEY;
+    }
+
+    public int size() {
+        return Math.min(nextKey.get(), driverIds.length());
+    }
+
+    public Optional<DriverPosition> get(String driverId) {
+        int key = keyOf(driverId);
+        return key == NO_KEY ? Optional.empty() : Optional.ofNullable(positions.get(key));
+    }
+
+    DriverPosition get(int key) {
+        return positions.get(key);
+    }
+
+    // Coalesces to the newest reading; pings that arrive out of order never move a driver back
+    DriverPosition update(int key, double latitude, double longitude, long recordedAtMillis) {
+        DriverPosition current = positions.get(key);
+        if (current != null && current.recordedAtMillis() > recordedAtMillis) {
+            return null;
+        }
+        DriverPosition position = new DriverPosition(driverIds.get(key), latitude, longitude, recordedAtMillis);
+        positions.set(key, position);
+        return position;
+    }
+
+    // Each driver contributes its latest position once, however many pings arrived since the last flush
+    List<DriverPosition> unflushed() {
+        List<DriverPosition> samples = new ArrayList<>();
+        int count = size();
+        for (int key = 0; key < count; key++) {
+            DriverPosition position = positions.get(key);
+            if (position != null && position != flushed[key]) {
+                samples.add(position);
+            }
+        }
+        return samples;
+    }
+
+    void markFlushed(List<DriverPosition> samples) {
+        for (DriverPosition position : samples) {
+            flushed[keyOf(position.driverId())] = position;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package pase.test.com.order.management.service.driver.location;
+
+public record DriverPosition(String driverId, double latitude, double longitude, long recordedAtMillis) {
+}
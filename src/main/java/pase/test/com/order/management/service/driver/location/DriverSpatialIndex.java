@@ -0,0 +1,279 @@
+package pase.test.com.order.management.service.driver.location;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Uniform lat/lon grid over the drivers that can take an order right now: enabled, below their order capacity
+// and with a known position. Drivers move between cells as positions arrive and leave the grid when they become
+// unavailable, so a query only ever scans candidates.
+@Component
+public class DriverSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+    private static final Comparator<NearbyDriver> FARTHEST_FIRST =
+            Comparator.comparingDouble(NearbyDriver::distanceKm).reversed();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private int available;
+
+    public DriverSpatialIndex(@Value("${app.driver.nearest.cell-size-degrees:0.01}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees) + 1;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public int availableCount() {
+        lock.readLock().lock();
+        try {
+            return available;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void updatePosition(DriverPosition position) {
+        updatePositions(List.of(position));
+    }
+
+    public void updatePositions(List<DriverPosition> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (DriverPosition position : positions) {
+                Entry entry = entries.computeIfAbsent(position.driverId(), Entry::new);
+                entry.latitude = position.latitude();
+                entry.longitude = position.longitude();
+                entry.recordedAtMillis = position.recordedAtMillis();
+                entry.located = true;
+                place(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setEnabled(String driverId, boolean enabled) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(driverId, Entry::new);
+            entry.enabled = enabled;
+            place(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setBusy(String driverId, boolean busy) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(driverId, Entry::new);
+            entry.busy = busy;
+            place(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceBusy(Set<String> busyDriverIds) {
+        lock.writeLock().lock();
+        try {
+            busyDriverIds.forEach(driverId -> entries.computeIfAbsent(driverId, Entry::new));
+            for (Entry entry : entries.values()) {
+                entry.busy = busyDriverIds.contains(entry.driverId);
+                place(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Scans the cells around the point, doubling the searched radius until k drivers lie inside it. Every
+    // driver within the searched radius sits in one of the scanned cells, so the k closest found are exact.
+    public List<NearbyDriver> nearest(double latitude, double longitude, int k, double radiusKm,
+                                      long minRecordedAtMillis) {
+        lock.readLock().lock();
+        try {
+            if (available == 0 || k <= 0 || radiusKm <= 0) {
+                return List.of();
+            }
+            double searchKm = Math.min(radiusKm, cellDegrees * KM_PER_DEGREE);
+            while (true) {
+                PriorityQueue<NearbyDriver> best = new PriorityQueue<>(k, FARTHEST_FIRST);
+                collect(latitude, longitude, searchKm, k, minRecordedAtMillis, best);
+                if (best.size() == k || searchKm >= radiusKm) {
+                    NearbyDriver[] ranked = best.toArray(new NearbyDriver[0]);
+                    Arrays.sort(ranked, Comparator.comparingDouble(NearbyDriver::distanceKm));
+                    return List.of(ranked);
+                }
+                searchKm = Math.min(radiusKm, searchKm * 2);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(double latitude, double longitude, double searchKm, int k, long minRecordedAtMillis,
+                         PriorityQueue<NearbyDriver> best) {
+        double latitudeSpan = searchKm / KM_PER_DEGREE;
+        int firstRow = row(latitude - latitudeSpan);
+        int lastRow = row(latitude + latitudeSpan);
+        // Longitude degrees shrink towards the poles; the span is sized for the most poleward row scanned
+        double poleward = Math.min(90, Math.abs(latitude) + latitudeSpan);
+        double longitudeSpan = searchKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(poleward)), 1e-9));
+        long firstColumn = (long) Math.floor((longitude - longitudeSpan + 180) / cellDegrees);
+        long lastColumn = (long) Math.floor((longitude + longitudeSpan + 180) / cellDegrees);
+        if (lastColumn - firstColumn + 1 >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+
+        // A sparse grid or a polar query window can hold more cells than are occupied; walk the occupied ones then
+        if ((double) (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                long row = cell.key / columns;
+                long column = cell.key % columns;
+                if (row >= firstRow && row <= lastRow && inColumnRange(column, firstColumn, lastColumn)) {
+                    scan(cell, latitude, longitude, searchKm, k, minRecordedAtMillis, best);
+                }
+            }
+            return;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                Cell cell = cells.get(cellKey(row, (int) Math.floorMod(column, columns)));
+                if (cell != null) {
+                    scan(cell, latitude, longitude, searchKm, k, minRecordedAtMillis, best);
+                }
+            }
+        }
+    }
+
+    private boolean inColumnRange(long column, long firstColumn, long lastColumn) {
+        long offset = Math.floorMod(column - firstColumn, (long) columns);
+        return offset <= lastColumn - firstColumn;
+    }
+
+    private static void scan(Cell cell, double latitude, double longitude, double searchKm, int k,
+                             long minRecordedAtMillis, PriorityQueue<NearbyDriver> best) {
+        for (int i = 0; i < cell.size; i++) {
+            Entry entry = cell.entries[i];
+            if (entry.recordedAtMillis < minRecordedAtMillis) {
+                continue;
+            }
+            double distance = haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance > searchKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(entry.toNearby(distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(entry.toNearby(distance));
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        Cell target = entry.enabled && !entry.busy && entry.located
+                ? cells.computeIfAbsent(cellKey(row(entry.latitude), column(entry.longitude)), Cell::new)
+                : null;
+        if (target == entry.cell) {
+            return;
+        }
+        if (entry.cell != null) {
+            entry.cell.remove(entry);
+            if (entry.cell.size == 0) {
+                cells.remove(entry.cell.key);
+            }
+            available--;
+        }
+        if (target != null) {
+            target.add(entry);
+            available++;
+        }
+        entry.cell = target;
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((Math.clamp(latitude, -90, 90) + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floorMod((long) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) Math.clamp(row, 0, rows - 1) * columns + column;
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double latitudeDelta = Math.toRadians(lat2 - lat1);
+        double longitudeDelta = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static final class Entry {
+        private final String driverId;
+        private double latitude;
+        private double longitude;
+        private long recordedAtMillis;
+        private boolean located;
+        private boolean enabled;
+        private boolean busy;
+        private Cell cell;
+        private int slot;
+
+        private Entry(String driverId) {
+            this.driverId = driverId;
+        }
+
+        private NearbyDriver toNearby(double distanceKm) {
+            return new NearbyDriver(driverId, latitude, longitude, distanceKm, recordedAtMillis);
+        }
+    }
+
+    // Unordered bag with O(1) removal: the last entry moves into the freed slot
+    private static final class Cell {
+        private final long key;
+        private Entry[] entries = new Entry[4];
+        private int size;
+
+        private Cell(long key) {
+            this.key = key;
+        }
+
+        private void add(Entry entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entry.slot = size;
+            entries[size++] = entry;
+        }
+
+        private void remove(Entry entry) {
+            Entry last = entries[--size];
+            entries[entry.slot] = last;
+            last.slot = entry.slot;
+            entries[size] = null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package pase.test.com.order.management.service.driver.location;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer, single-consumer queue of pings held in primitive arrays. Producers claim a sequence
+// with one CAS, fill the slot and publish it by writing the sequence into the slot's marker; the consumer only
+// reads slots whose marker says they are complete. A full buffer rejects instead of blocking request threads.
+class LocationRingBuffer {
+
+    private final int mask;
+    private final int[] keys;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAtMillis;
+    private final long[] receivedAtNanos;
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    LocationRingBuffer(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.keys = new int[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAtMillis = new long[capacity];
+        this.receivedAtNanos = new long[capacity];
+        this.published = new AtomicLongArray(capacity);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    boolean offer(int key, double latitude, double longitude, long recordedAt, long receivedAt) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        keys[slot] = key;
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        recordedAtMillis[slot] = recordedAt;
+        receivedAtNanos[slot] = receivedAt;
+        // Release store: the slot fields above are visible to the consumer once it sees this marker
+        published.lazySet(slot, sequence + 1);
+        return true;
+    }
+
+    // Single consumer only; stops at the first slot a producer has claimed but not yet published
+    int drain(PingConsumer consumer, int limit) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) sequence & mask;
+            if (published.get(slot) != sequence + 1) {
+                break;
+            }
+            consumer.accept(keys[slot], latitudes[slot], longitudes[slot], recordedAtMillis[slot],
+                    receivedAtNanos[slot]);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.lazySet(sequence);
+        }
+        return drained;
+    }
+
+    @FunctionalInterface
+    interface PingConsumer {
+        void accept(int key, double latitude, double longitude, long recordedAtMillis, long receivedAtNanos);
+    }
+}
@@ -0,0 +1,5 @@
+package pase.test.com.order.management.service.driver.location;
+
+public record NearbyDriver(String driverId, double latitude, double longitude, double distanceKm,
+                           long recordedAtMillis) {
+}
@@ -0,0 +1,84 @@
+package pase.test.com.order.management.service.driver.roster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pase.test.com.database.dto.ApiResponse;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+// Writers bump the version after commit; the next read rebuilds once and every other read returns the same
+// immutable snapshot. A rebuild racing an invalidation is tagged with the older version, so the read after it
+// rebuilds again instead of serving stale drivers.
+@Slf4j
+@Component
+public class ActiveDriverRoster {
+
+    public static final String MESSAGE = "Active drivers retrieved successfully";
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Versions restart with the process, so ETags carry an epoch to never repeat across restarts
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Timer rebuildTimer;
+    private final Counter hitCounter;
+    private volatile ActiveDriverSnapshot snapshot;
+
+    public ActiveDriverRoster(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.rebuildTimer = Timer.builder("driver.roster.rebuild")
+                .description("Time taken to load and serialize the active driver roster")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("driver.roster.hits")
+                .description("Active driver reads served from the cached roster")
+                .register(meterRegistry);
+    }
+
+    public ActiveDriverSnapshot get(Supplier<List<DriverResponse>> loader) {
+        ActiveDriverSnapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            hitCounter.increment();
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            long wanted = version.get();
+            if (current != null && current.version() == wanted) {
+                hitCounter.increment();
+                return current;
+            }
+            current = rebuildTimer.record(() -> build(wanted, loader));
+            snapshot = current;
+            log.debug("Rebuilt active driver roster version {} with {} drivers", wanted, current.drivers().size());
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private ActiveDriverSnapshot build(long snapshotVersion, Supplier<List<DriverResponse>> loader) {
+        List<DriverResponse> drivers = List.copyOf(loader.get());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(MESSAGE, drivers));
+            return new ActiveDriverSnapshot(snapshotVersion, "\"drivers-" + epoch + "-" + snapshotVersion + "\"",
+                    drivers, json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize active driver roster", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package pase.test.com.order.management.service.driver.roster;
+
+import java.util.List;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+// The JSON body is the full response envelope, serialized once when the snapshot is built
+public record ActiveDriverSnapshot(long version, String etag, List<DriverResponse> drivers, byte[] json) {
+}
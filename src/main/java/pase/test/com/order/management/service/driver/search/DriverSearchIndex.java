@@ -0,0 +1,389 @@
+package pase.test.com.order.management.service.driver.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+// Substring search over driver name, license, email and phone. Queries of three or more characters are answered
+// from a trigram index, shorter ones from the 1-2 character prefixes of each word. Edits retire the old document,
+// and the index is rebuilt without them once retired documents outnumber live ones.
+@Slf4j
+@Component
+public class DriverSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] FIELD_WEIGHTS = {4, 3, 2, 2};
+    // Fields of a document are stored as one string so scoring a candidate touches a single array
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> trigrams = new HashMap<>();
+    private final Map<String, PostingList> prefixes = new HashMap<>();
+    private final Map<String, Integer> docIdByDriverId = new HashMap<>();
+    private String[] texts = new String[1024];
+    private DriverResponse[] drivers = new DriverResponse[1024];
+    private final int compactionMinRetired;
+    private int documentCount;
+    private int retiredCount;
+    private volatile boolean ready;
+
+    public DriverSearchIndex(@Value("${app.driver.search.compaction-min-retired:1024}") int compactionMinRetired) {
+        this.compactionMinRetired = compactionMinRetired;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+        log.info("Driver search index ready with {} drivers", size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByDriverId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds or refreshes a driver; an older snapshot never replaces a newer one
+    public void put(DriverResponse driver) {
+        putAll(List.of(driver));
+    }
+
+    // One write lock for the whole batch, so searches wait once rather than once per driver
+    public void putAll(Collection<DriverResponse> batch) {
+        List<String> batchTexts = batch.stream()
+                .map(DriverSearchIndex::searchableText)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            Iterator<String> text = batchTexts.iterator();
+            for (DriverResponse driver : batch) {
+                index(driver, text.next());
+            }
+            if (retiredCount >= compactionMinRetired && retiredCount >= docIdByDriverId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(DriverResponse driver, String text) {
+        Integer existingId = docIdByDriverId.get(driver.getId());
+        if (existingId != null) {
+            if (isNewer(drivers[existingId], driver)) {
+                return;
+            }
+            if (text.equals(texts[existingId])) {
+                drivers[existingId] = driver;
+                return;
+            }
+            // Searchable text changed: retire the old document so its postings stop matching
+            texts[existingId] = null;
+            drivers[existingId] = null;
+            retiredCount++;
+        }
+
+        int docId = documentCount++;
+        if (docId == texts.length) {
+            texts = Arrays.copyOf(texts, docId * 2);
+            drivers = Arrays.copyOf(drivers, docId * 2);
+        }
+        texts[docId] = text;
+        drivers[docId] = driver;
+        docIdByDriverId.put(driver.getId(), docId);
+        indexText(docId, text);
+    }
+
+    // Live documents keep their relative order, so every rebuilt posting list is still sorted
+    private void compact() {
+        String[] liveTexts = new String[Math.max(1024, docIdByDriverId.size() * 2)];
+        DriverResponse[] liveDrivers = new DriverResponse[liveTexts.length];
+        trigrams.clear();
+        prefixes.clear();
+        int live = 0;
+        for (int docId = 0; docId < documentCount; docId++) {
+            if (texts[docId] != null) {
+                liveTexts[live] = texts[docId];
+                liveDrivers[live] = drivers[docId];
+                docIdByDriverId.put(drivers[docId].getId(), live);
+                indexText(live, texts[docId]);
+                live++;
+            }
+        }
+        log.info("Compacted driver search index: dropped {} retired documents, {} remain", retiredCount, live);
+        texts = liveTexts;
+        drivers = liveDrivers;
+        documentCount = live;
+        retiredCount = 0;
+    }
+
+    int retiredCount() {
+        lock.readLock().lock();
+        try {
+            return retiredCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<DriverResponse> search(String query, int limit) {
+        String normalized = normalize(query).trim();
+        if (normalized.isEmpty() || limit <= 0 || normalized.indexOf(FIELD_SEPARATOR) >= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            PostingList[] postings = postingsFor(normalized);
+            if (postings == null) {
+                return List.of();
+            }
+            TopMatches top = new TopMatches(limit);
+            intersect(postings, docId -> {
+                String text = texts[docId];
+                if (text != null) {
+                    int score = score(text, normalized);
+                    if (score > 0) {
+                        top.offer(docId, score);
+                    }
+                }
+            });
+            return top.ranked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PostingList[] postingsFor(String query) {
+        if (query.length() < GRAM) {
+            PostingList posting = prefixes.get(query);
+            return posting == null ? null : new PostingList[] {posting};
+        }
+
+        Set<Long> keys = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            keys.add(trigram(query, i));
+        }
+        PostingList[] postings = new PostingList[keys.size()];
+        int index = 0;
+        for (Long key : keys) {
+            PostingList posting = trigrams.get(key);
+            if (posting == null) {
+                return null;
+            }
+            postings[index++] = posting;
+        }
+        Arrays.sort(postings, Comparator.comparingInt(PostingList::size));
+        return postings;
+    }
+
+    // Walks the shortest list and advances a cursor through each longer one, so every list is read at most once
+    private static void intersect(PostingList[] postings, IntConsumer consumer) {
+        int[] cursors = new int[postings.length];
+        PostingList smallest = postings[0];
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            int docId = smallest.get(i);
+            for (int j = 1; j < postings.length; j++) {
+                cursors[j] = postings[j].seek(docId, cursors[j]);
+                if (cursors[j] == postings[j].size()) {
+                    return;
+                }
+                if (postings[j].get(cursors[j]) != docId) {
+                    continue candidates;
+                }
+            }
+            consumer.accept(docId);
+        }
+    }
+
+    private void indexText(int docId, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            if (text.charAt(i + 1) != FIELD_SEPARATOR && text.charAt(i + 2) != FIELD_SEPARATOR
+                    && text.charAt(i) != FIELD_SEPARATOR) {
+                trigrams.computeIfAbsent(trigram(text, i), key -> new PostingList()).add(docId);
+            }
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i)) {
+                for (int length = 1; length < GRAM && i + length <= text.length()
+                        && text.charAt(i + length - 1) != FIELD_SEPARATOR; length++) {
+                    prefixes.computeIfAbsent(text.substring(i, i + length), key -> new PostingList()).add(docId);
+                }
+            }
+        }
+    }
+
+    // Exact field match ranks above a field prefix, then a word prefix, then any substring; short queries only
+    // count as word prefixes so a single letter does not match every email address
+    private static int score(String text, String query) {
+        int best = 0;
+        int field = 0;
+        int fieldStart = 0;
+        int fieldEnd = fieldEnd(text, 0);
+        for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + 1)) {
+            while (i > fieldEnd) {
+                field++;
+                fieldStart = fieldEnd + 1;
+                fieldEnd = fieldEnd(text, fieldStart);
+            }
+            int tier;
+            if (i == fieldStart) {
+                tier = i + query.length() == fieldEnd ? 100 : 60;
+            } else if (isWordStart(text, i)) {
+                tier = 40;
+            } else if (query.length() >= GRAM) {
+                tier = 20;
+            } else {
+                continue;
+            }
+            best = Math.max(best, tier * FIELD_WEIGHTS[field]);
+        }
+        return best;
+    }
+
+    private static int fieldEnd(String text, int from) {
+        int end = text.indexOf(FIELD_SEPARATOR, from);
+        return end < 0 ? text.length() : end;
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return Character.isLetterOrDigit(text.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static boolean isNewer(DriverResponse existing, DriverResponse incoming) {
+        return existing.getLastUpdated() != null && incoming.getLastUpdated() != null
+                && existing.getLastUpdated().isAfter(incoming.getLastUpdated());
+    }
+
+    private static String searchableText(DriverResponse driver) {
+        return normalize(driver.getDriverName()) + FIELD_SEPARATOR
+                + normalize(driver.getLicenseNumber()) + FIELD_SEPARATOR
+                + normalize(driver.getEmail()) + FIELD_SEPARATOR
+                + normalize(driver.getPhoneNumber());
+    }
+
+    private static String normalize(String value) {
+        return Objects.requireNonNullElse(value, "").toLowerCase(Locale.ROOT);
+    }
+
+    // Compares the name field of two documents without copying it out of the stored text
+    private int compareNames(int left, int right) {
+        String leftText = texts[left];
+        String rightText = texts[right];
+        int length = Math.min(leftText.length(), rightText.length());
+        for (int i = 0; i < length; i++) {
+            char a = leftText.charAt(i);
+            char b = rightText.charAt(i);
+            if (a != b) {
+                return a == FIELD_SEPARATOR ? -1 : b == FIELD_SEPARATOR ? 1 : Character.compare(a, b);
+            }
+            if (a == FIELD_SEPARATOR) {
+                return 0;
+            }
+        }
+        return Integer.compare(leftText.length(), rightText.length());
+    }
+
+    // Bounded min-heap of the best matches seen so far; higher score wins, then the alphabetically first name
+    private final class TopMatches {
+
+        private final int limit;
+        private final PriorityQueue<long[]> heap;
+
+        private TopMatches(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(limit + 1, this::compare);
+        }
+
+        void offer(int docId, int score) {
+            if (heap.size() == limit) {
+                long[] worst = heap.peek();
+                if (score < worst[1] || (score == worst[1] && compareNames(docId, (int) worst[0]) >= 0)) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.offer(new long[] {docId, score});
+        }
+
+        List<DriverResponse> ranked() {
+            List<long[]> matches = new ArrayList<>(heap);
+            matches.sort(((Comparator<long[]>) this::compare).reversed());
+            List<DriverResponse> results = new ArrayList<>(matches.size());
+            for (long[] match : matches) {
+                results.add(drivers[(int) match[0]]);
+            }
+            return results;
+        }
+
+        private int compare(long[] left, long[] right) {
+            int byScore = Long.compare(left[1], right[1]);
+            return byScore != 0 ? byScore : compareNames((int) right[0], (int) left[0]);
+        }
+    }
+
+    // Document ids are handed out in increasing order, so appending keeps every list sorted
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Index of the first id at or after target, searching forward from a previous position
+        int seek(int target, int from) {
+            int step = 1;
+            int low = from;
+            while (low + step < size && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(ids, low, Math.min(size, low + step + 1), target);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package pase.test.com.order.management.service.driver.state;
+
+import pase.test.com.database.dto.driver.DriverResponse;
+
+// What order paths need to know about a driver without loading the entity: whether it may take work, and
+// the fields shown on an order
+public record DriverState(String id, boolean enabled, long version, long loadedAtNanos, DriverResponse summary) {
+}
@@ -0,0 +1,95 @@
+package pase.test.com.order.management.service.driver.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+// Writes in this service refresh entries after commit. Entries loaded on a miss carry the version current when
+// the load started, so a load that read the row before a concurrent toggle committed never overwrites it.
+// The TTL bounds staleness for changes made by other services sharing the drivers table.
+@Component
+public class DriverStateCache {
+
+    private final Map<String, DriverState> states = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public DriverStateCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.driver.state-cache.max-entries:100000}") int maxEntries,
+            @Value("${app.driver.state-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        // Every hit is a driver SELECT the order paths did not run
+        this.hitCounter = Counter.builder("driver.state.cache.requests")
+                .description("Driver state lookups by order paths")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("driver.state.cache.requests")
+                .description("Driver state lookups by order paths")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("driver.state.cache.size", states, Map::size)
+                .description("Drivers held in the state cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<DriverState> get(String id, Function<String, Optional<DriverResponse>> loader) {
+        DriverState state = states.get(id);
+        if (state != null && System.nanoTime() - state.loadedAtNanos() < ttlNanos) {
+            hitCounter.increment();
+            return Optional.of(state);
+        }
+
+        missCounter.increment();
+        long version = versions.get();
+        Optional<DriverResponse> loaded = loader.apply(id);
+        if (loaded.isEmpty()) {
+            states.remove(id);
+            return Optional.empty();
+        }
+
+        DriverState fresh = state(loaded.get(), version);
+        if (states.size() >= maxEntries && !states.containsKey(id)) {
+            return Optional.of(fresh);
+        }
+        return Optional.of(states.merge(id, fresh,
+                (existing, candidate) -> existing.version() > candidate.version() ? existing : candidate));
+    }
+
+    public void put(DriverResponse driver) {
+        store(driver, versions.incrementAndGet());
+    }
+
+    // A batch committed as one transaction, so its drivers share one version
+    public void putAll(Collection<DriverResponse> drivers) {
+        long version = versions.incrementAndGet();
+        drivers.forEach(driver -> store(driver, version));
+    }
+
+    private void store(DriverResponse driver, long version) {
+        DriverState fresh = state(driver, version);
+        if (states.size() < maxEntries || states.containsKey(driver.getId())) {
+            states.put(driver.getId(), fresh);
+        }
+    }
+
+    private DriverState state(DriverResponse driver, long version) {
+        return new DriverState(driver.getId(), Boolean.TRUE.equals(driver.getEnabled()), version, System.nanoTime(),
+                driver);
+    }
+}
@@ -0,0 +1,100 @@
+package pase.test.com.order.management.service.driver.uniqueness;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+
+// A miss in every field's filter proves this instance has not seen the driver, so creation can skip the collision
+// query and leave drivers created elsewhere to the unique indexes. A hit may be a false positive and only means the
+// database has to be asked.
+@Slf4j
+@Component
+public class DriverUniquenessFilter {
+
+    private final boolean enabled;
+    private final Map<DriverUniqueField, BloomFilter> filters = new EnumMap<>(DriverUniqueField.class);
+    private final Counter skippedCounter;
+    private final Counter checkedCounter;
+    private volatile boolean ready;
+    private volatile boolean indexed;
+
+    public DriverUniquenessFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.driver.uniqueness-filter.enabled:true}") boolean enabled,
+            @Value("${app.driver.uniqueness-filter.expected-drivers:200000}") int expectedDrivers,
+            @Value("${app.driver.uniqueness-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.enabled = enabled;
+        if (enabled) {
+            for (DriverUniqueField field : DriverUniqueField.values()) {
+                filters.put(field, BloomFilter.create(expectedDrivers, falsePositiveRate));
+            }
+        }
+        this.skippedCounter = Counter.builder("driver.uniqueness.lookups")
+                .description("Driver creations checked for duplicate names, licences, emails and phone numbers")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.checkedCounter = Counter.builder("driver.uniqueness.lookups")
+                .description("Driver creations checked for duplicate names, licences, emails and phone numbers")
+                .tag("result", "queried")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Until the startup load completes, or if the unique indexes could not be created, every creation is checked
+    // against the database
+    public boolean mightCollide(Driver driver) {
+        if (ready && indexed && !anyMightContain(driver)) {
+            skippedCounter.increment();
+            return false;
+        }
+        checkedCounter.increment();
+        return true;
+    }
+
+    public void add(Driver driver) {
+        if (!enabled) {
+            return;
+        }
+        filters.forEach((field, filter) -> {
+            String value = field.valueOf(driver);
+            if (value != null) {
+                filter.add(value);
+            }
+        });
+    }
+
+    public void markReady() {
+        if (enabled) {
+            ready = true;
+            log.info("Driver uniqueness filter ready");
+        }
+    }
+
+    public void markIndexed() {
+        indexed = true;
+    }
+
+    private boolean anyMightContain(Driver driver) {
+        for (Map.Entry<DriverUniqueField, BloomFilter> entry : filters.entrySet()) {
+            String value = entry.getKey().valueOf(driver);
+            if (value != null && entry.getValue().mightContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
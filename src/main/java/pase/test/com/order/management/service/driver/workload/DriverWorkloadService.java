@@ -0,0 +1,15 @@
+package pase.test.com.order.management.service.driver.workload;
+
+import java.util.List;
+import pase.test.com.order.management.dto.DriverWorkloadResponse;
+
+public interface DriverWorkloadService {
+
+    DriverWorkloadResponse getWorkload(String driverId);
+
+    List<DriverWorkloadResponse> listWorkloads();
+
+    int activeOrders(String driverId);
+
+    boolean hasCapacity(String driverId);
+}
@@ -0,0 +1,259 @@
+package pase.test.com.order.management.service.driver.workload;
+
+import static pase.test.com.database.enums.OrderStatusEnum.ASSIGNED;
+import static pase.test.com.database.enums.OrderStatusEnum.DELIVERED;
+import static pase.test.com.database.enums.OrderStatusEnum.IN_TRANSIT;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pase.test.com.database.enums.OrderStatusEnum;
+import pase.test.com.order.management.dto.DriverWorkloadResponse;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+import pase.test.com.order.management.service.order.event.OrderEventType;
+
+// Per-driver order counts kept from committed order transitions, so workload and capacity lookups are a map read
+// instead of an aggregate over orders. Each order's last status is remembered and statuses only move forward,
+// which makes repeated, late or replayed events no-ops. Drivers at capacity are marked busy in the spatial index.
+// The reconcile rebuilds the table from the database, picks up changes committed by other instances and rolls
+// delivered-today over; events committed while it reads are replayed onto the rebuilt table.
+@Slf4j
+@Service
+public class DriverWorkloadServiceImpl implements DriverWorkloadService {
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final DriverSpatialIndex driverSpatialIndex;
+    private final int maxActiveOrders;
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile WorkloadTable table;
+    private List<WorkloadOrder> replay;
+
+    public DriverWorkloadServiceImpl(
+            OrderQueryRepository orderQueryRepository,
+            DriverSpatialIndex driverSpatialIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.driver.workload.max-active-orders:1}") int maxActiveOrders
+    ) {
+        this.orderQueryRepository = orderQueryRepository;
+        this.driverSpatialIndex = driverSpatialIndex;
+        this.maxActiveOrders = maxActiveOrders;
+        this.table = new WorkloadTable(true);
+        registerOrdersGauge(meterRegistry, "assigned", current -> current.totals.assigned.sum());
+        registerOrdersGauge(meterRegistry, "in_transit", current -> current.totals.inTransit.sum());
+        registerOrdersGauge(meterRegistry, "delivered_today", current -> current.totals.deliveredToday.sum());
+        Gauge.builder("driver.workload.drivers.at.capacity", this, service -> service.table.atCapacity.get())
+                .description("Drivers holding the maximum number of active orders")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DriverWorkloadResponse getWorkload(String driverId) {
+        Counts counts = table.drivers.get(driverId);
+        return counts != null
+                ? counts.toResponse(driverId, maxActiveOrders)
+                : DriverWorkloadResponse.builder().driverId(driverId).build();
+    }
+
+    @Override
+    public List<DriverWorkloadResponse> listWorkloads() {
+        return table.drivers.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey(), maxActiveOrders))
+                .sorted(Comparator.comparingLong(DriverWorkloadResponse::getActive).reversed()
+                        .thenComparing(DriverWorkloadResponse::getDriverId))
+                .toList();
+    }
+
+    @Override
+    public int activeOrders(String driverId) {
+        Counts counts = table.drivers.get(driverId);
+        return counts != null ? (int) counts.active() : 0;
+    }
+
+    @Override
+    public boolean hasCapacity(String driverId) {
+        return activeOrders(driverId) < maxActiveOrders;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        boolean transition = event.type() == OrderEventType.DRIVER_ASSIGNED
+                || event.type() == OrderEventType.STATUS_CHANGED;
+        if (!transition || event.driverId() == null || event.statusLabel() == null) {
+            return;
+        }
+        apply(new WorkloadOrder(event.orderId(), event.driverId(), event.statusLabel()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.driver.workload.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<WorkloadOrder> committedMeanwhile = new ArrayList<>();
+        swapLock.writeLock().lock();
+        try {
+            replay = committedMeanwhile;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        WorkloadTable rebuilt = new WorkloadTable(false);
+        try {
+            orderQueryRepository.findWorkloadOrders(LocalDate.now().atStartOfDay()).forEach(rebuilt::apply);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile driver workloads: {}", e.getMessage());
+            swapLock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            return;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            replay = null;
+            table = rebuilt;
+            driverSpatialIndex.replaceBusy(rebuilt.driversAtCapacity());
+            rebuilt.live = true;
+            committedMeanwhile.forEach(rebuilt::apply);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.debug("Reconciled driver workloads: {} drivers, {} orders replayed", rebuilt.drivers.size(),
+                committedMeanwhile.size());
+    }
+
+    void apply(WorkloadOrder order) {
+        swapLock.readLock().lock();
+        try {
+            table.apply(order);
+            if (replay != null) {
+                synchronized (replay) {
+                    replay.add(order);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void registerOrdersGauge(MeterRegistry meterRegistry, String state,
+                                     ToDoubleFunction<WorkloadTable> value) {
+        Gauge.builder("driver.workload.orders", this, service -> value.applyAsDouble(service.table))
+                .description("Orders counted in the driver workload table")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private record OrderSlot(String driverId, OrderStatusEnum status) {
+    }
+
+    private final class WorkloadTable {
+
+        private final Map<String, OrderSlot> orders = new ConcurrentHashMap<>();
+        private final Map<String, Counts> drivers = new ConcurrentHashMap<>();
+        private final Counts totals = new Counts();
+        private final AtomicLong atCapacity = new AtomicLong();
+        // A table being rebuilt reports busy drivers in one replaceBusy once it is swapped in
+        private volatile boolean live;
+
+        private WorkloadTable(boolean live) {
+            this.live = live;
+        }
+
+        private void apply(WorkloadOrder order) {
+            OrderStatusEnum status = OrderStatusEnum.valueOf(order.statusLabel());
+            orders.compute(order.orderId(), (orderId, previous) -> {
+                if (previous != null && status.ordinal() <= previous.status().ordinal()) {
+                    return previous;
+                }
+                String driverId = previous != null ? previous.driverId() : order.driverId();
+                if (previous != null) {
+                    adjust(driverId, previous.status(), -1);
+                }
+                adjust(driverId, status, 1);
+                return new OrderSlot(driverId, status);
+            });
+        }
+
+        // Serialized per driver by the map entry, so crossing the capacity line is seen exactly once
+        private void adjust(String driverId, OrderStatusEnum status, int delta) {
+            drivers.compute(driverId, (id, existing) -> {
+                Counts counts = existing != null ? existing : new Counts();
+                boolean wasFull = counts.active() >= maxActiveOrders;
+                counts.add(status, delta);
+                totals.add(status, delta);
+                boolean full = counts.active() >= maxActiveOrders;
+                if (full != wasFull) {
+                    atCapacity.addAndGet(full ? 1 : -1);
+                    if (live) {
+                        driverSpatialIndex.setBusy(id, full);
+                    }
+                }
+                return counts.isEmpty() ? null : counts;
+            });
+        }
+
+        private Set<String> driversAtCapacity() {
+            return drivers.entrySet().stream()
+                    .filter(entry -> entry.getValue().active() >= maxActiveOrders)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static final class Counts {
+
+        private final LongAdder assigned = new LongAdder();
+        private final LongAdder inTransit = new LongAdder();
+        private final LongAdder deliveredToday = new LongAdder();
+
+        private void add(OrderStatusEnum status, int delta) {
+            if (status == ASSIGNED) {
+                assigned.add(delta);
+            } else if (status == IN_TRANSIT) {
+                inTransit.add(delta);
+            } else if (status == DELIVERED) {
+                deliveredToday.add(delta);
+            }
+        }
+
+        private long active() {
+            return assigned.sum() + inTransit.sum();
+        }
+
+        private boolean isEmpty() {
+            return active() == 0 && deliveredToday.sum() == 0;
+        }
+
+        private DriverWorkloadResponse toResponse(String driverId, int maxActiveOrders) {
+            long active = active();
+            return DriverWorkloadResponse.builder()
+                    .driverId(driverId)
+                    .assigned(assigned.sum())
+                    .inTransit(inTransit.sum())
+                    .active(active)
+                    .deliveredToday(deliveredToday.sum())
+                    .atCapacity(active >= maxActiveOrders)
+                    .build();
+        }
+    }
+}
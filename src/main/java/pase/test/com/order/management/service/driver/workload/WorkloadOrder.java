@@ -0,0 +1,4 @@
+package pase.test.com.order.management.service.driver.workload;
+
+public record WorkloadOrder(String orderId, String driverId, String statusLabel) {
+}
@@ -1,6 +1,8 @@
 package pase.test.com.order.management.service.order;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import pase.test.com.database.dto.order.OrderAssignmentRequest;
@@ -9,6 +11,9 @@ import pase.test.com.database.dto.order.OrderFilterRequest;
 import pase.test.com.database.dto.order.OrderResponse;
 import pase.test.com.database.dto.order.OrderUpdateStatusRequest;
 import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
+import pase.test.com.order.management.dto.OrderChangesResponse;
+import pase.test.com.order.management.stream.PageStreamHandler;
+import pase.test.com.order.management.stream.RowStreamHandler;
 
 public interface OrderService {
 
@@ -24,8 +29,17 @@ public interface OrderService {
 
     OrderResponse assignDriverToOrder(String orderId, OrderAssignmentRequest request);
 
+    Optional<OrderResponse> assignDriverIfUnassigned(String orderId, String driverId);
+
     OrderResponse addAttachmentToOrder(String orderId, AssignmentAttachment attachment);
 
     List<OrderResponse> getOrdersByDriver(String driverId);
 
+    void streamOrdersWithFilters(OrderFilterRequest filterRequest, Pageable pageable,
+                                 PageStreamHandler<OrderResponse> handler) throws IOException;
+
+    void streamOrdersByDriver(String driverId, RowStreamHandler<OrderResponse> handler) throws IOException;
+
+    OrderChangesResponse getOrderChanges(String since, int limit);
+
 }
@@ -6,10 +6,18 @@ import static pase.test.com.database.enums.OrderStatusEnum.CREATED;
 import static pase.test.com.database.enums.OrderStatusEnum.DELIVERED;
 import static pase.test.com.database.enums.OrderStatusEnum.IN_TRANSIT;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,7 +40,15 @@ import pase.test.com.database.exception.order.OrderNotFoundException;
 import pase.test.com.database.repository.order.OrderRepository;
 import pase.test.com.database.repository.order.OrderStatusRepository;
 import pase.test.com.database.repository.user.UserRepository;
+import pase.test.com.order.management.dto.OrderChangesResponse;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
 import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.state.DriverState;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+import pase.test.com.order.management.service.order.event.OrderEventType;
+import pase.test.com.order.management.service.order.feed.OrderChangeCursor;
+import pase.test.com.order.management.stream.PageStreamHandler;
+import pase.test.com.order.management.stream.RowStreamHandler;
 
 @Slf4j
 @Service
@@ -44,6 +60,17 @@ public class OrderServiceImpl implements OrderService {
     private final UserRepository userRepository;
     private final DriverService driverService;
     private final OrderStatusService orderStatusService;
+    private final OrderQueryRepository orderQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Rows younger than this may still have concurrent transactions committing earlier timestamps
+    @Value("${app.order-changes.settle-ms:2000}")
+    private long changeFeedSettleMillis;
+
+    @Value("${app.driver.workload.max-active-orders:1}")
+    private int maxActiveOrders;
+
+    private static final String AUTO_DISPATCH_USER = "auto-dispatch";
 
     private static final List<String> VALID_STATUS_FLOW = List.of(
             CREATED.toString(),
@@ -81,7 +108,9 @@ public class OrderServiceImpl implements OrderService {
         order = orderRepository.save(order);
         log.info("Order created successfully: {}", order.getOrderNumber());
 
-        return convertToOrderResponse(order);
+        OrderResponse response = convertToOrderResponse(order);
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.ORDER_CREATED, response));
+        return response;
     }
 
     @Override
@@ -137,7 +166,10 @@ public class OrderServiceImpl implements OrderService {
         order = orderRepository.save(order);
 
         log.info("Order status updated successfully: {} -> {}", id, request.getStatusLabel());
-        return convertToOrderResponse(order);
+
+        OrderResponse response = convertToOrderResponse(order);
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.STATUS_CHANGED, response));
+        return response;
     }
 
     @Transactional
@@ -155,22 +187,51 @@ public class OrderServiceImpl implements OrderService {
                             + order.getOrderStatus().getStatusLabel());
         }
 
-        // Get and validate driver
-        Driver driver = driverService.getDriverEntityById(request.getDriverId());
+        // Validate the driver from the state cache and attach it by reference, so a cache hit runs no driver SELECT
+        DriverState driverState = driverService.getDriverState(request.getDriverId());
 
-        if (Boolean.FALSE.equals(driver.getEnabled())) {
+        if (!driverState.enabled()) {
             throw new IllegalArgumentException("Cannot assign inactive driver to order");
         }
 
         // Assign driver and update status to ASSIGNED
-        order.setDriver(driver);
+        order.setDriver(driverService.getDriverReference(driverState.id()));
         OrderStatus assignedStatus = orderStatusService.getOrderStatusEntityByLabel("ASSIGNED");
         order.setOrderStatus(assignedStatus);
 
         order = orderRepository.save(order);
         log.info("Driver assigned successfully to order: {}", orderId);
 
-        return convertToOrderResponse(order);
+        OrderResponse response = convertToOrderResponse(order);
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.DRIVER_ASSIGNED, response));
+        return response;
+    }
+
+    // Auto-dispatch matched from a snapshot, so a lost race is reported instead of thrown
+    @Transactional
+    @Override
+    public Optional<OrderResponse> assignDriverIfUnassigned(String orderId, String driverId) {
+        DriverState driverState = driverService.getDriverState(driverId);
+        if (!driverState.enabled()) {
+            return Optional.empty();
+        }
+
+        OrderStatus createdStatus = orderStatusService.getOrderStatusEntityByLabel(CREATED.name());
+        OrderStatus assignedStatus = orderStatusService.getOrderStatusEntityByLabel(ASSIGNED.name());
+        int updated = orderQueryRepository.assignIfUnassigned(orderId,
+                driverService.getDriverReference(driverState.id()), createdStatus, assignedStatus, maxActiveOrders,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), AUTO_DISPATCH_USER);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + orderId));
+        log.info("Driver {} auto-assigned to order: {}", driverId, orderId);
+
+        OrderResponse response = convertToOrderResponse(order);
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.DRIVER_ASSIGNED, response));
+        return Optional.of(response);
     }
 
     @Transactional
@@ -185,21 +246,88 @@ public class OrderServiceImpl implements OrderService {
         order = orderRepository.save(order);
 
         log.info("Attachment added successfully to order: {}", orderId);
-        return convertToOrderResponse(order);
+
+        OrderResponse response = convertToOrderResponse(order);
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.ATTACHMENT_ADDED, response));
+        return response;
     }
 
     @Override
     public List<OrderResponse> getOrdersByDriver(String driverId) {
         log.info("Fetching orders for driver: {}", driverId);
 
-        Driver driver = driverService.getDriverEntityById(driverId);
-        List<Order> orders = orderRepository.findByDriver(driver);
+        driverService.getDriverState(driverId);
+        List<Order> orders = orderRepository.findByDriver(driverService.getDriverReference(driverId));
 
         return orders.stream()
                 .map(this::convertToOrderResponse)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void streamOrdersWithFilters(OrderFilterRequest filterRequest, Pageable pageable,
+                                        PageStreamHandler<OrderResponse> handler) throws IOException {
+        log.info("Streaming orders with filters: {}", filterRequest);
+
+        OrderStatus status = null;
+        if (filterRequest.getStatusLabel() != null) {
+            status = orderStatusService.getOrderStatusEntityByLabel(filterRequest.getStatusLabel());
+        }
+
+        Page<Order> orders = orderRepository.findWithFilters(
+                status,
+                filterRequest.getStartDate(),
+                filterRequest.getEndDate(),
+                filterRequest.getLocation(),
+                pageable
+        );
+
+        handler.handle(orders, orders.getContent().stream().map(this::convertToOrderResponse));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamOrdersByDriver(String driverId, RowStreamHandler<OrderResponse> handler) throws IOException {
+        log.info("Streaming orders for driver: {}", driverId);
+
+        driverService.getDriverState(driverId);
+
+        try (Stream<Order> orders = orderQueryRepository.streamByDriverId(driverId)) {
+            handler.handle(orders.map(order -> {
+                OrderResponse response = convertToOrderResponse(order);
+                orderQueryRepository.detach(order);
+                return response;
+            }));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public OrderChangesResponse getOrderChanges(String since, int limit) {
+        log.info("Fetching order changes since cursor: {} (limit {})", since, limit);
+
+        OrderChangeCursor cursor = OrderChangeCursor.decode(since);
+        LocalDateTime upTo = LocalDateTime.now().minusNanos(changeFeedSettleMillis * 1_000_000);
+
+        List<Order> changed = cursor == null
+                ? orderQueryRepository.findChangedUpTo(upTo, limit + 1)
+                : orderQueryRepository.findChangedAfter(cursor.lastUpdated(), cursor.id(), upTo, limit + 1);
+
+        boolean hasMore = changed.size() > limit;
+        List<Order> page = hasMore ? changed.subList(0, limit) : changed;
+
+        String nextCursor = page.isEmpty()
+                ? since
+                : new OrderChangeCursor(page.getLast().getLastUpdated(), page.getLast().getId()).encode();
+
+        return OrderChangesResponse.builder()
+                .orders(page.stream().map(this::convertToOrderResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     private String generateOrderNumber() {
         String prefix = "ORD";
         String timestamp = String.valueOf(System.currentTimeMillis()).substring(8);
@@ -228,6 +356,30 @@ public class OrderServiceImpl implements OrderService {
                 "Invalid status transition from " + currentStatus + " to " + newStatus);
     }
 
+    // A driver attached by reference is still an uninitialized proxy; its fields come from the state cache
+    // instead of a lazy SELECT
+    private DriverResponse convertToDriverInfo(Driver driver) {
+        if (!Hibernate.isInitialized(driver)) {
+            DriverResponse summary = driverService.getDriverState(driver.getId()).summary();
+            return DriverResponse.builder()
+                    .id(summary.getId())
+                    .driverName(summary.getDriverName())
+                    .licenseNumber(summary.getLicenseNumber())
+                    .phoneNumber(summary.getPhoneNumber())
+                    .email(summary.getEmail())
+                    .enabled(summary.getEnabled())
+                    .build();
+        }
+        return DriverResponse.builder()
+                .id(driver.getId())
+                .driverName(driver.getDriverName())
+                .licenseNumber(driver.getLicenseNumber())
+                .phoneNumber(driver.getPhoneNumber())
+                .email(driver.getEmail())
+                .enabled(driver.getEnabled())
+                .build();
+    }
+
     private OrderResponse convertToOrderResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
@@ -241,15 +393,7 @@ public class OrderServiceImpl implements OrderService {
                         .id(order.getOrderStatus().getId())
                         .statusLabel(order.getOrderStatus().getStatusLabel())
                         .build() : null)
-                .driver(order.getDriver() != null
-                        ? DriverResponse.builder()
-                        .id(order.getDriver().getId())
-                        .driverName(order.getDriver().getDriverName())
-                        .licenseNumber(order.getDriver().getLicenseNumber())
-                        .phoneNumber(order.getDriver().getPhoneNumber())
-                        .email(order.getDriver().getEmail())
-                        .enabled(order.getDriver().getEnabled())
-                        .build() : null)
+                .driver(order.getDriver() != null ? convertToDriverInfo(order.getDriver()) : null)
                 .assignmentAttachment(order.getAssignmentAttachment() != null
                         ? OrderResponse.AttachmentInfo.builder()
                         .id(order.getAssignmentAttachment().getId())
@@ -0,0 +1,14 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import java.nio.file.Path;
+import org.springframework.http.MediaType;
+
+public record AttachmentContent(
+        String attachmentId,
+        String fileName,
+        Path path,
+        MediaType contentType,
+        long sizeBytes,
+        String etag
+) {
+}
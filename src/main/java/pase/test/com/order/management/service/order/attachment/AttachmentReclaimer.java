@@ -0,0 +1,251 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pase.test.com.order.management.repository.order.AttachmentQueryRepository;
+import pase.test.com.order.management.service.order.attachment.processing.AttachmentProcessingService;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+
+@Slf4j
+@Component
+public class AttachmentReclaimer {
+
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentQueryRepository attachmentQueryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Counter scannedCounter;
+    private final Counter reclaimedFilesCounter;
+    private final Counter reclaimedBytesCounter;
+    private final Timer runTimer;
+
+    public AttachmentReclaimer(
+            AttachmentStorage attachmentStorage,
+            AttachmentQueryRepository attachmentQueryRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.reclaimer.enabled:true}") boolean enabled,
+            @Value("${app.upload.reclaimer.dry-run:false}") boolean dryRun,
+            @Value("${app.upload.reclaimer.grace-period-minutes:60}") long gracePeriodMinutes,
+            @Value("${app.upload.reclaimer.batch-size:500}") int batchSize
+    ) {
+        this.attachmentStorage = attachmentStorage;
+        this.attachmentQueryRepository = attachmentQueryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.gracePeriod = Duration.ofMinutes(gracePeriodMinutes);
+        this.batchSize = batchSize;
+
+        String mode = dryRun ? "dry-run" : "delete";
+        this.scannedCounter = Counter.builder("attachment.reclaimer.scanned")
+                .description("Stored files inspected by the reclaimer")
+                .register(meterRegistry);
+        this.reclaimedFilesCounter = Counter.builder("attachment.reclaimer.reclaimed.files")
+                .description("Orphaned attachment files reclaimed (or found, in dry-run mode)")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.reclaimedBytesCounter = Counter.builder("attachment.reclaimer.reclaimed.bytes")
+                .description("Disk bytes reclaimed from orphaned attachment files (or reclaimable, in dry-run mode)")
+                .baseUnit("bytes")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("attachment.reclaimer.run")
+                .description("Time taken by one reclaimer pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.upload.reclaimer.interval-ms:3600000}",
+            fixedDelayString = "${app.upload.reclaimer.interval-ms:3600000}")
+    public void reclaim() {
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(this::reclaimOnce);
+    }
+
+    void reclaimOnce() {
+        // Anything touched after the cutoff may belong to an upload whose transaction has not committed yet
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        long files = 0;
+        long bytes = 0;
+
+        try (Stream<Path> stored = attachmentStorage.streamStoredFiles()) {
+            Iterator<Path> iterator = stored.iterator();
+            List<Path> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                scannedCounter.increment();
+                if (isOlderThan(path, cutoff)) {
+                    batch.add(path);
+                }
+                if (batch.size() == batchSize || !iterator.hasNext() && !batch.isEmpty()) {
+                    Reclaimed reclaimed = reclaimBatch(batch, cutoff);
+                    files += reclaimed.files();
+                    bytes += reclaimed.bytes();
+                    batch.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Attachment reclaimer pass failed: {}", e.getMessage(), e);
+        }
+
+        Reclaimed thumbnails = reclaimThumbnails(cutoff);
+        files += thumbnails.files();
+        bytes += thumbnails.bytes();
+
+        if (files > 0) {
+            log.info("Attachment reclaimer {} {} orphaned files ({} bytes)",
+                    dryRun ? "found" : "reclaimed", files, bytes);
+        }
+    }
+
+    private Reclaimed reclaimBatch(List<Path> batch, Instant cutoff) {
+        Map<String, Path> byFilePath = batch.stream()
+                .collect(Collectors.toMap(Path::toString, path -> path, (first, second) -> first));
+        Set<String> referenced = attachmentQueryRepository.findReferencedFilePaths(byFilePath.keySet());
+        byFilePath.keySet().removeAll(referenced);
+        if (byFilePath.isEmpty()) {
+            return new Reclaimed(0, 0);
+        }
+
+        long files = 0;
+        long bytes = 0;
+        if (dryRun) {
+            for (Path path : byFilePath.values()) {
+                log.info("Dry run: would reclaim orphaned attachment file {}", path);
+                files++;
+                bytes += sizeOf(path);
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(
+                    status -> attachmentQueryRepository.markUnreferencedDeleted(byFilePath.keySet()));
+            for (Path path : byFilePath.values()) {
+                long reclaimed = attachmentStorage.reclaim(path, cutoff);
+                if (reclaimed > 0) {
+                    files++;
+                    bytes += reclaimed;
+                }
+            }
+        }
+
+        reclaimedFilesCounter.increment(files);
+        reclaimedBytesCounter.increment(bytes);
+        return new Reclaimed(files, bytes);
+    }
+
+    // Thumbnails sit in scratch space, which streamStoredFiles skips; one whose attachment is no longer served is
+    // removed, as is any other file left there by an interrupted render
+    private Reclaimed reclaimThumbnails(Instant cutoff) {
+        Map<String, Path> byAttachmentId = new HashMap<>();
+        long files = 0;
+        long bytes = 0;
+        try (DirectoryStream<Path> thumbnails = Files.newDirectoryStream(
+                attachmentStorage.scratchDirectory(AttachmentProcessingService.THUMBNAIL_DIRECTORY))) {
+            for (Path path : thumbnails) {
+                if (!isOlderThan(path, cutoff)) {
+                    continue;
+                }
+                String name = path.getFileName().toString();
+                if (name.endsWith(AttachmentProcessingService.THUMBNAIL_SUFFIX)) {
+                    byAttachmentId.put(name.substring(0,
+                            name.length() - AttachmentProcessingService.THUMBNAIL_SUFFIX.length()), path);
+                } else {
+                    long reclaimed = deleteScratchFile(path);
+                    files += reclaimed > 0 ? 1 : 0;
+                    bytes += reclaimed;
+                }
+                if (byAttachmentId.size() == batchSize) {
+                    Reclaimed reclaimed = reclaimThumbnailBatch(byAttachmentId);
+                    files += reclaimed.files();
+                    bytes += reclaimed.bytes();
+                    byAttachmentId.clear();
+                }
+            }
+            Reclaimed reclaimed = reclaimThumbnailBatch(byAttachmentId);
+            files += reclaimed.files();
+            bytes += reclaimed.bytes();
+        } catch (IOException | RuntimeException e) {
+            log.error("Attachment thumbnail reclaim failed: {}", e.getMessage(), e);
+        }
+
+        reclaimedFilesCounter.increment(files);
+        reclaimedBytesCounter.increment(bytes);
+        return new Reclaimed(files, bytes);
+    }
+
+    private Reclaimed reclaimThumbnailBatch(Map<String, Path> byAttachmentId) {
+        if (byAttachmentId.isEmpty()) {
+            return new Reclaimed(0, 0);
+        }
+        Set<String> served = attachmentQueryRepository.findServedAttachmentIds(byAttachmentId.keySet());
+        long files = 0;
+        long bytes = 0;
+        for (Map.Entry<String, Path> thumbnail : byAttachmentId.entrySet()) {
+            if (!served.contains(thumbnail.getKey())) {
+                long reclaimed = deleteScratchFile(thumbnail.getValue());
+                files += reclaimed > 0 ? 1 : 0;
+                bytes += reclaimed;
+            }
+        }
+        return new Reclaimed(files, bytes);
+    }
+
+    private long deleteScratchFile(Path path) {
+        long sizeBytes = sizeOf(path);
+        if (dryRun) {
+            log.info("Dry run: would reclaim orphaned thumbnail file {}", path);
+            return sizeBytes;
+        }
+        try {
+            return Files.deleteIfExists(path) ? sizeBytes : 0;
+        } catch (IOException e) {
+            log.error("Failed to reclaim thumbnail file {}: {}", path, e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            // Removed since the directory was listed
+            return false;
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Reclaimed(long files, long bytes) {
+    }
+}
@@ -1,14 +1,32 @@
 package pase.test.com.order.management.service.order.attachment;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import pase.test.com.database.dto.order.OrderResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentTypeResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentUploadRequest;
-import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
+import pase.test.com.order.management.dto.BatchUploadResponse;
 
 public interface AttachmentService {
 
-    AssignmentAttachment uploadAttachment(AttachmentUploadRequest request) throws IOException;
+    OrderResponse uploadAttachmentToOrder(String orderId, AttachmentUploadRequest request) throws IOException;
+
+    OrderResponse uploadAttachmentToOrder(String orderId, String attachmentTypeLabel, String originalFilename,
+                                          InputStream content) throws IOException;
+
+    OrderResponse uploadAttachmentToOrder(String orderId, String attachmentTypeLabel, String originalFilename,
+                                          Path file) throws IOException;
+
+    BatchUploadResponse uploadAttachmentsToOrder(String orderId, List<BatchUploadPart> parts);
+
+    List<OrderResponse.AttachmentInfo> getOrderAttachments(String orderId);
+
+    // Checks the type exists and accepts the file name's extension; returns the normalized extension
+    String validateAttachment(String attachmentTypeLabel, String originalFilename);
+
+    AttachmentContent getAttachmentContent(String attachmentId);
 
     List<AttachmentTypeResponse> getAllActiveAttachmentTypes();
 
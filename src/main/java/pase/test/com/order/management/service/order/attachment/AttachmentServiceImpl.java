@@ -1,17 +1,34 @@
 package pase.test.com.order.management.service.order.attachment;
 
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pase.test.com.database.dto.order.OrderResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentTypeResponse;
 import pase.test.com.database.dto.order.attachment.AttachmentUploadRequest;
 import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
@@ -20,58 +37,371 @@ import pase.test.com.database.exception.order.AttachmentTypeNotFoundException;
 import pase.test.com.database.exception.order.InvalidFileTypeException;
 import pase.test.com.database.repository.order.attachment.AssignmentAttachmentRepository;
 import pase.test.com.database.repository.order.attachment.AttachmentTypeRepository;
+import pase.test.com.order.management.dto.BatchUploadResponse;
+import pase.test.com.order.management.exception.AttachmentNotFoundException;
+import pase.test.com.order.management.exception.InvalidUploadException;
+import pase.test.com.order.management.repository.order.AttachmentQueryRepository;
+import pase.test.com.order.management.repository.order.OrderAttachmentRepository;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+import pase.test.com.order.management.service.order.attachment.storage.StoredFile;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AttachmentServiceImpl implements AttachmentService {
 
     private final AttachmentTypeRepository attachmentTypeRepository;
     private final AssignmentAttachmentRepository assignmentAttachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final OrderService orderService;
+    private final OrderAttachmentRepository orderAttachmentRepository;
+    private final AttachmentQueryRepository attachmentQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService batchExecutor;
+    private final int maxBatchFiles;
+    private final Map<String, AttachmentTypePolicy> policies = new ConcurrentHashMap<>();
 
-    @Value("${app.upload.directory:${java.io.tmpdir}/pase-uploads}")
-    private String uploadDirectory;
+    public AttachmentServiceImpl(
+            AttachmentTypeRepository attachmentTypeRepository,
+            AssignmentAttachmentRepository assignmentAttachmentRepository,
+            AttachmentStorage attachmentStorage,
+            OrderService orderService,
+            OrderAttachmentRepository orderAttachmentRepository,
+            AttachmentQueryRepository attachmentQueryRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.upload.batch.workers:4}") int batchWorkers,
+            @Value("${app.upload.batch.max-files:20}") int maxBatchFiles
+    ) {
+        this.attachmentTypeRepository = attachmentTypeRepository;
+        this.assignmentAttachmentRepository = assignmentAttachmentRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.orderService = orderService;
+        this.orderAttachmentRepository = orderAttachmentRepository;
+        this.attachmentQueryRepository = attachmentQueryRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Shared by all batch requests, so concurrent batches cannot multiply the number of parallel writers
+        this.batchExecutor = Executors.newFixedThreadPool(batchWorkers,
+                Thread.ofPlatform().name("attachment-batch-", 0).daemon(true).factory());
+        this.maxBatchFiles = maxBatchFiles;
+    }
 
-    @Transactional
     @Override
-    public AssignmentAttachment uploadAttachment(AttachmentUploadRequest request) throws IOException {
-        log.info("Uploading attachment: {}", request.getFile().getOriginalFilename());
+    public OrderResponse uploadAttachmentToOrder(String orderId, AttachmentUploadRequest request) throws IOException {
+        try (InputStream content = request.getFile().getInputStream()) {
+            return uploadAttachmentToOrder(orderId, request.getAttachmentTypeLabel(),
+                    request.getFile().getOriginalFilename(), content);
+        }
+    }
 
-        AttachmentType attachmentType = attachmentTypeRepository.findByTypeLabel(request.getAttachmentTypeLabel())
-                .orElseThrow(() -> new AttachmentTypeNotFoundException(
-                        "Attachment type not found: " + request.getAttachmentTypeLabel()));
+    // Deliberately not @Transactional: the file is written with no connection held, and only the
+    // type lookup, attachment insert and order link run inside one short transaction afterwards.
+    @Override
+    public OrderResponse uploadAttachmentToOrder(String orderId, String attachmentTypeLabel, String originalFilename,
+                                                 InputStream content) throws IOException {
+        log.info("Uploading attachment {} for order: {}", originalFilename, orderId);
+
+        // Fail fast before writing anything; the lookup borrows a connection only for the query itself
+        String fileExtension = getFileExtension(originalFilename);
+        AttachmentTypePolicy policy = policyFor(findAttachmentType(attachmentTypeLabel));
+        policy.verifyExtension(fileExtension);
+
+        // Storage hands over the first bytes before it opens any file, so a mismatch never reaches the disk
+        StoredFile storedFile = attachmentStorage.store(content, originalFilename,
+                (head, length) -> policy.verifyContent(fileExtension, head, length));
+
+        return linkToOrder(orderId, attachmentTypeLabel, fileExtension, storedFile);
+    }
+
+    @Override
+    public OrderResponse uploadAttachmentToOrder(String orderId, String attachmentTypeLabel, String originalFilename,
+                                                 Path file) throws IOException {
+        log.info("Attaching assembled file {} to order: {}", originalFilename, orderId);
+
+        String fileExtension = getFileExtension(originalFilename);
+        AttachmentTypePolicy policy = policyFor(findAttachmentType(attachmentTypeLabel));
+        policy.verifyExtension(fileExtension);
+
+        StoredFile storedFile = attachmentStorage.adopt(file, originalFilename,
+                (head, length) -> policy.verifyContent(fileExtension, head, length));
+
+        return linkToOrder(orderId, attachmentTypeLabel, fileExtension, storedFile);
+    }
+
+    // Files are validated and written in parallel with no transaction open; every file that stored cleanly is then
+    // inserted and linked in one transaction, and the rest are reported individually instead of failing the batch
+    @Override
+    public BatchUploadResponse uploadAttachmentsToOrder(String orderId, List<BatchUploadPart> parts) {
+        if (parts.isEmpty() || parts.size() > maxBatchFiles) {
+            throw new InvalidUploadException("A batch upload must contain between 1 and " + maxBatchFiles + " files");
+        }
+        log.info("Uploading batch of {} attachments for order: {}", parts.size(), orderId);
+        orderService.getOrderById(orderId);
+
+        Map<String, AttachmentType> activeTypes = new LinkedHashMap<>();
+        for (AttachmentType type : attachmentTypeRepository.findAllActiveTypes()) {
+            activeTypes.putIfAbsent(type.getTypeLabel(), type);
+        }
+
+        BatchUploadResponse.FileResult[] results = new BatchUploadResponse.FileResult[parts.size()];
+        List<Future<PendingAttachment>> futures = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            int index = i;
+            BatchUploadPart part = parts.get(i);
+            try {
+                String fileExtension = getFileExtension(part.fileName());
+                AttachmentType type = resolveBatchType(part.attachmentTypeLabel(), fileExtension, activeTypes);
+                AttachmentTypePolicy policy = policyFor(type);
+                policy.verifyExtension(fileExtension);
+                futures.add(batchExecutor.submit(() -> storePart(index, part, type, policy, fileExtension)));
+            } catch (RuntimeException e) {
+                futures.add(null);
+                results[i] = failedResult(i, part, BatchUploadResponse.Status.REJECTED, e.getMessage());
+            }
+        }
+
+        List<PendingAttachment> pending = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i) == null) {
+                continue;
+            }
+            try {
+                pending.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                BatchUploadResponse.Status status = e.getCause() instanceof RuntimeException
+                        ? BatchUploadResponse.Status.REJECTED
+                        : BatchUploadResponse.Status.FAILED;
+                log.warn("Batch upload of {} for order {} failed: {}", parts.get(i).fileName(), orderId,
+                        e.getCause().getMessage());
+                results[i] = failedResult(i, parts.get(i), status, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                // Files still being written by the workers are left to the orphan reclaimer
+                Thread.currentThread().interrupt();
+                pending.forEach(stored -> attachmentStorage.release(stored.storedFile().path()));
+                throw new IllegalStateException("Batch upload for order " + orderId + " was interrupted", e);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            List<AssignmentAttachment> saved = linkAllToOrder(orderId, pending);
+            for (int i = 0; i < pending.size(); i++) {
+                PendingAttachment stored = pending.get(i);
+                results[stored.index()] = BatchUploadResponse.FileResult.builder()
+                        .index(stored.index())
+                        .fileName(stored.storedFile().originalFilename())
+                        .status(BatchUploadResponse.Status.UPLOADED)
+                        .attachmentId(saved.get(i).getId())
+                        .attachmentTypeLabel(stored.type().getTypeLabel())
+                        .sizeBytes(stored.storedFile().sizeBytes())
+                        .deduplicated(stored.storedFile().deduplicated())
+                        .build();
+            }
+        }
+
+        log.info("Batch upload for order {} stored {} of {} files", orderId, pending.size(), parts.size());
+        List<BatchUploadResponse.FileResult> files = Arrays.asList(results);
+        return BatchUploadResponse.builder()
+                .orderId(orderId)
+                .uploaded(pending.size())
+                .rejected(countStatus(files, BatchUploadResponse.Status.REJECTED))
+                .failed(countStatus(files, BatchUploadResponse.Status.FAILED))
+                .files(files)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<OrderResponse.AttachmentInfo> getOrderAttachments(String orderId) {
+        log.info("Fetching attachments for order: {}", orderId);
+        OrderResponse order = orderService.getOrderById(orderId);
+
+        List<String> attachmentIds = new ArrayList<>(orderAttachmentRepository.findAttachmentIds(orderId));
+        // Orders that only ever had single uploads have their attachment on the order row alone
+        OrderResponse.AttachmentInfo primary = order.getAssignmentAttachment();
+        if (primary != null && !attachmentIds.contains(primary.getId())) {
+            attachmentIds.addFirst(primary.getId());
+        }
+
+        return assignmentAttachmentRepository.findAllById(attachmentIds).stream()
+                .filter(found -> !Boolean.FALSE.equals(found.getEnabled()) && !Boolean.TRUE.equals(found.getDeleted()))
+                .sorted(Comparator.comparingInt(found -> attachmentIds.indexOf(found.getId())))
+                .map(this::convertToAttachmentInfo)
+                .toList();
+    }
 
-        String originalFilename = request.getFile().getOriginalFilename();
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    @Override
+    public String validateAttachment(String attachmentTypeLabel, String originalFilename) {
         String fileExtension = getFileExtension(originalFilename);
+        policyFor(findAttachmentType(attachmentTypeLabel)).verifyExtension(fileExtension);
+        return fileExtension;
+    }
+
+    private OrderResponse linkToOrder(String orderId, String attachmentTypeLabel, String fileExtension,
+                                      StoredFile storedFile) {
+        List<Path> replaced = new ArrayList<>();
+        try {
+            OrderResponse order = transactionTemplate.execute(status -> {
+                AttachmentType type = findAttachmentType(attachmentTypeLabel);
+                policyFor(type).verifyExtension(fileExtension);
 
-        if (!isValidExtension(fileExtension, attachmentType.getAllowedExtensions())) {
-            throw new InvalidFileTypeException(
-                    "Invalid file type. Allowed extensions: " + attachmentType.getAllowedExtensions());
+                AssignmentAttachment attachment = assignmentAttachmentRepository.save(newAttachment(type, storedFile));
+                log.info("Attachment saved: {}", attachment.getId());
+
+                orderAttachmentRepository.linkAll(orderId, List.of(attachment.getId()));
+                publishStored(orderId, attachment);
+                retireReplacedPrimary(orderId).ifPresent(replaced::add);
+                return orderService.addAttachmentToOrder(orderId, attachment);
+            });
+            replaced.forEach(attachmentStorage::release);
+            log.info("Attachment uploaded successfully for order: {}", orderId);
+            return order;
+        } catch (RuntimeException e) {
+            log.warn("Attachment upload for order {} failed after storing the file, removing it: {}",
+                    orderId, e.getMessage());
+            attachmentStorage.release(storedFile.path());
+            throw e;
         }
+    }
 
-        Path uploadPath = Paths.get(uploadDirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    private List<AssignmentAttachment> linkAllToOrder(String orderId, List<PendingAttachment> pending) {
+        List<Path> replaced = new ArrayList<>();
+        try {
+            List<AssignmentAttachment> linked = transactionTemplate.execute(status -> {
+                List<AssignmentAttachment> saved = assignmentAttachmentRepository.saveAll(pending.stream()
+                        .map(stored -> newAttachment(stored.type(), stored.storedFile()))
+                        .toList());
+                orderAttachmentRepository.linkAll(orderId, saved.stream().map(AssignmentAttachment::getId).toList());
+                saved.forEach(attachment -> publishStored(orderId, attachment));
+                // The last file becomes the order's primary attachment, as if the files had been uploaded one by one
+                retireReplacedPrimary(orderId).ifPresent(replaced::add);
+                orderService.addAttachmentToOrder(orderId, saved.getLast());
+                return saved;
+            });
+            replaced.forEach(attachmentStorage::release);
+            return linked;
+        } catch (RuntimeException e) {
+            log.warn("Batch upload for order {} failed after storing {} files, removing them: {}",
+                    orderId, pending.size(), e.getMessage());
+            pending.forEach(stored -> attachmentStorage.release(stored.storedFile().path()));
+            throw e;
         }
+    }
+
+    // The replaced row is kept for auditing; its file reference is dropped once the new primary has committed
+    private Optional<Path> retireReplacedPrimary(String orderId) {
+        return attachmentQueryRepository.findUnlinkedPrimary(orderId).map(previous -> {
+            previous.setEnabled(false);
+            previous.setDeleted(true);
+            assignmentAttachmentRepository.save(previous);
+            log.info("Attachment {} replaced on order {}", previous.getId(), orderId);
+            return Paths.get(previous.getFilePath());
+        });
+    }
 
-        String uniqueFilename = UUID.randomUUID().toString() + "_" + originalFilename;
-        Path filePath = uploadPath.resolve(uniqueFilename);
+    private PendingAttachment storePart(int index, BatchUploadPart part, AttachmentType type,
+                                        AttachmentTypePolicy policy, String fileExtension) throws IOException {
+        try (InputStream content = part.content().getInputStream()) {
+            StoredFile storedFile = attachmentStorage.store(content, part.fileName(),
+                    (head, length) -> policy.verifyContent(fileExtension, head, length));
+            return new PendingAttachment(index, type, storedFile);
+        }
+    }
 
-        Files.copy(request.getFile().getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    private AttachmentType resolveBatchType(String attachmentTypeLabel, String fileExtension,
+                                            Map<String, AttachmentType> activeTypes) {
+        if (attachmentTypeLabel != null && !attachmentTypeLabel.isBlank()) {
+            AttachmentType type = activeTypes.get(attachmentTypeLabel);
+            if (type == null) {
+                throw new AttachmentTypeNotFoundException("Attachment type not found: " + attachmentTypeLabel);
+            }
+            return type;
+        }
+        return activeTypes.values().stream()
+                .filter(type -> policyFor(type).allows(fileExtension))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFileTypeException("No attachment type accepts files of type: "
+                        + fileExtension));
+    }
 
-        AssignmentAttachment attachment = AssignmentAttachment.builder()
-                .attachmentType(attachmentType)
-                .fileName(originalFilename)
-                .filePath(filePath.toString())
-                .fileSizeBytes(request.getFile().getSize())
+    private AssignmentAttachment newAttachment(AttachmentType type, StoredFile storedFile) {
+        return AssignmentAttachment.builder()
+                .attachmentType(type)
+                .fileName(storedFile.originalFilename())
+                .filePath(storedFile.path().toString())
+                .fileSizeBytes(storedFile.sizeBytes())
                 .enabled(true)
                 .deleted(false)
                 .build();
+    }
 
-        attachment = assignmentAttachmentRepository.save(attachment);
-        log.info("Attachment uploaded successfully: {}", attachment.getId());
+    private void publishStored(String orderId, AssignmentAttachment attachment) {
+        eventPublisher.publishEvent(new AttachmentStoredEvent(attachment.getId(), orderId,
+                attachment.getAttachmentType() != null ? attachment.getAttachmentType().getTypeLabel() : null,
+                Paths.get(attachment.getFilePath())));
+    }
 
-        return attachment;
+    private BatchUploadResponse.FileResult failedResult(int index, BatchUploadPart part,
+                                                        BatchUploadResponse.Status status, String error) {
+        return BatchUploadResponse.FileResult.builder()
+                .index(index)
+                .fileName(part.fileName())
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private static int countStatus(List<BatchUploadResponse.FileResult> files, BatchUploadResponse.Status status) {
+        return (int) files.stream().filter(file -> file.getStatus() == status).count();
+    }
+
+    private AttachmentType findAttachmentType(String attachmentTypeLabel) {
+        return attachmentTypeRepository.findByTypeLabel(attachmentTypeLabel)
+                .orElseThrow(() -> new AttachmentTypeNotFoundException(
+                        "Attachment type not found: " + attachmentTypeLabel));
+    }
+
+    // Keyed by the raw extension list, so an edited type compiles a fresh policy on its next use
+    private AttachmentTypePolicy policyFor(AttachmentType attachmentType) {
+        String allowedExtensions = attachmentType.getAllowedExtensions() != null
+                ? attachmentType.getAllowedExtensions()
+                : "";
+        return policies.computeIfAbsent(allowedExtensions, AttachmentTypePolicy::compile);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public AttachmentContent getAttachmentContent(String attachmentId) {
+        log.info("Fetching attachment content: {}", attachmentId);
+
+        AssignmentAttachment attachment = assignmentAttachmentRepository.findById(attachmentId)
+                .filter(found -> !Boolean.FALSE.equals(found.getEnabled()) && !Boolean.TRUE.equals(found.getDeleted()))
+                .orElseThrow(() -> new AttachmentNotFoundException("Attachment not found with ID: " + attachmentId));
+
+        Path path = Paths.get(attachment.getFilePath());
+        long sizeBytes;
+        long lastModified;
+        try {
+            sizeBytes = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            log.error("Attachment {} file is missing: {}", attachmentId, e.getMessage());
+            throw new AttachmentNotFoundException("Attachment content not found with ID: " + attachmentId);
+        }
+
+        String fileName = attachment.getFileName();
+        MediaType contentType = resolveContentType(fileName, attachment.getAttachmentType());
+        // Stored files are never rewritten in place, so id, size and mtime identify the exact bytes
+        String etag = "\"" + attachmentId + "-" + Long.toHexString(sizeBytes) + "-" + Long.toHexString(lastModified)
+                + "\"";
+
+        return new AttachmentContent(attachmentId, fileName, path, contentType, sizeBytes, etag);
     }
 
     @Override
@@ -111,18 +441,33 @@ public class AttachmentServiceImpl implements AttachmentService {
         }
     }
 
+    private MediaType resolveContentType(String fileName, AttachmentType attachmentType) {
+        if (attachmentType == null || !policyFor(attachmentType).allows(getFileExtension(fileName))) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        return MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
     private String getFileExtension(String filename) {
         if (filename == null || !filename.contains(".")) {
             return "";
         }
-        return filename.substring(filename.lastIndexOf(".")).toLowerCase();
+        return filename.substring(filename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
     }
 
-    private boolean isValidExtension(String fileExtension, String allowedExtensions) {
-        if (allowedExtensions == null || fileExtension == null) {
-            return false;
-        }
-        return allowedExtensions.toLowerCase().contains(fileExtension.toLowerCase());
+    private OrderResponse.AttachmentInfo convertToAttachmentInfo(AssignmentAttachment attachment) {
+        AttachmentType type = attachment.getAttachmentType();
+        return OrderResponse.AttachmentInfo.builder()
+                .id(attachment.getId())
+                .fileName(attachment.getFileName())
+                .filePath(attachment.getFilePath())
+                .fileSizeBytes(attachment.getFileSizeBytes())
+                .attachmentType(type == null ? null : OrderResponse.AttachmentTypeInfo.builder()
+                        .id(type.getId())
+                        .typeLabel(type.getTypeLabel())
+                        .allowedExtensions(type.getAllowedExtensions())
+                        .build())
+                .build();
     }
 
     private AttachmentTypeResponse convertToAttachmentTypeResponse(AttachmentType type) {
@@ -135,4 +480,7 @@ public class AttachmentServiceImpl implements AttachmentService {
                 .lastUpdated(type.getLastUpdated())
                 .build();
     }
+
+    private record PendingAttachment(int index, AttachmentType type, StoredFile storedFile) {
+    }
 }
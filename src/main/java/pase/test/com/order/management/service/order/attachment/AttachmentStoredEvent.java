@@ -0,0 +1,12 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import java.nio.file.Path;
+
+// Published once per attachment row, inside the transaction that links it to its order
+public record AttachmentStoredEvent(
+        String attachmentId,
+        String orderId,
+        String attachmentTypeLabel,
+        Path file
+) {
+}
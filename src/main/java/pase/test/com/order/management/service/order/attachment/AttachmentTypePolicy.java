@@ -0,0 +1,53 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import pase.test.com.database.exception.order.InvalidFileTypeException;
+
+final class AttachmentTypePolicy {
+
+    private final String allowedExtensions;
+    private final Set<String> extensions;
+
+    private AttachmentTypePolicy(String allowedExtensions, Set<String> extensions) {
+        this.allowedExtensions = allowedExtensions;
+        this.extensions = extensions;
+    }
+
+    // Parses the stored comma separated list once into exact-match entries, so ".pd" no longer matches ".pdf"
+    static AttachmentTypePolicy compile(String allowedExtensions) {
+        Set<String> extensions = new LinkedHashSet<>();
+        if (allowedExtensions != null) {
+            for (String entry : allowedExtensions.split(",")) {
+                String extension = entry.trim().toLowerCase(Locale.ROOT);
+                if (extension.isEmpty()) {
+                    continue;
+                }
+                extensions.add(extension.startsWith(".") ? extension : "." + extension);
+            }
+        }
+        return new AttachmentTypePolicy(allowedExtensions, Set.copyOf(extensions));
+    }
+
+    boolean allows(String fileExtension) {
+        return fileExtension != null && extensions.contains(fileExtension);
+    }
+
+    void verifyExtension(String fileExtension) {
+        if (!allows(fileExtension)) {
+            throw new InvalidFileTypeException("Invalid file type. Allowed extensions: " + allowedExtensions);
+        }
+    }
+
+    // Only the buffered head of the upload is inspected; extensions without a known signature are not sniffed
+    void verifyContent(String fileExtension, byte[] head, int length) {
+        FileSignature expected = FileSignature.forExtension(fileExtension);
+        if (expected == null) {
+            return;
+        }
+        if (FileSignature.detect(head, length) != expected) {
+            throw new InvalidFileTypeException("File content does not match its extension: " + fileExtension);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import org.springframework.core.io.InputStreamSource;
+
+// A null type label is resolved from the file extension against the active attachment types
+public record BatchUploadPart(
+        String fileName,
+        String attachmentTypeLabel,
+        InputStreamSource content
+) {
+}
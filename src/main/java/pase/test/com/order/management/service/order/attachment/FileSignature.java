@@ -0,0 +1,77 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+enum FileSignature {
+
+    PDF(new byte[] {'%', 'P', 'D', 'F', '-'}, ".pdf"),
+    PNG(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, ".png"),
+    JPEG(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}, ".jpg", ".jpeg");
+
+    // Indexed by the first byte so detection checks at most a couple of candidates
+    private static final FileSignature[][] BY_FIRST_BYTE = new FileSignature[256][];
+    private static final Map<String, FileSignature> BY_EXTENSION;
+
+    static {
+        List<List<FileSignature>> buckets = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        Map<String, FileSignature> byExtension = new HashMap<>();
+        for (FileSignature signature : values()) {
+            buckets.get(signature.magic[0] & 0xFF).add(signature);
+            for (String extension : signature.extensions) {
+                byExtension.put(extension, signature);
+            }
+        }
+        for (int i = 0; i < 256; i++) {
+            if (!buckets.get(i).isEmpty()) {
+                BY_FIRST_BYTE[i] = buckets.get(i).toArray(new FileSignature[0]);
+            }
+        }
+        BY_EXTENSION = Map.copyOf(byExtension);
+    }
+
+    private final byte[] magic;
+    private final List<String> extensions;
+
+    FileSignature(byte[] magic, String... extensions) {
+        this.magic = magic;
+        this.extensions = List.of(extensions);
+    }
+
+    static FileSignature detect(byte[] head, int length) {
+        if (length <= 0) {
+            return null;
+        }
+        FileSignature[] candidates = BY_FIRST_BYTE[head[0] & 0xFF];
+        if (candidates == null) {
+            return null;
+        }
+        for (FileSignature candidate : candidates) {
+            if (candidate.matches(head, length)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static FileSignature forExtension(String fileExtension) {
+        return BY_EXTENSION.get(fileExtension);
+    }
+
+    private boolean matches(byte[] head, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 1; i < magic.length; i++) {
+            if (head[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import pase.test.com.order.management.exception.UploadRejectedException;
+
+// Admits multipart uploads before the dispatcher resolves the parts, so queued requests wait with their body still
+// on the socket instead of spooled to disk. Runs after the security chain; the raw stream endpoint admits itself.
+@Component
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String UPLOAD_PATH_PREFIX = "/api/v1/attachments/upload/order/";
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final long maxRequestBytes;
+
+    public UploadAdmissionFilter(
+            UploadAdmissionService uploadAdmissionService,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+            @Value("${spring.servlet.multipart.max-request-size:100MB}") DataSize maxRequestSize
+    ) {
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(UPLOAD_PATH_PREFIX)
+                || contentType == null
+                || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long contentLength = request.getContentLengthLong();
+        UploadPermit permit;
+        try {
+            permit = uploadAdmissionService.acquire(contentLength >= 0 ? contentLength : maxRequestBytes);
+        } catch (UploadRejectedException e) {
+            handlerExceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+
+        try (permit) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
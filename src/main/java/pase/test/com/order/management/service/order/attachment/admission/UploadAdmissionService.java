@@ -0,0 +1,13 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+public interface UploadAdmissionService {
+
+    // Blocks in FIFO order until the write fits the limits; throws UploadRejectedException when the queue is full
+    // or the wait times out. Close the permit once the bytes are on disk.
+    UploadPermit acquire(long expectedBytes);
+
+    UploadAdmissionStatus getStatus();
+
+    UploadAdmissionStatus updateLimits(Integer maxConcurrentWrites, Long maxInFlightBytes, Integer maxQueueLength,
+                                       Long maxWaitMs);
+}
@@ -0,0 +1,238 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pase.test.com.order.management.exception.UploadRejectedException;
+
+@Slf4j
+@Service
+public class UploadAdmissionServiceImpl implements UploadAdmissionService {
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private final Timer waitTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+    private final Counter interruptedCounter;
+
+    private int maxConcurrentWrites;
+    private long maxInFlightBytes;
+    private int maxQueueLength;
+    private long maxWaitMs;
+    private int activeWrites;
+    private long inFlightBytes;
+    private long averageHoldNanos;
+
+    public UploadAdmissionServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.admission.max-concurrent-writes:8}") int maxConcurrentWrites,
+            @Value("${app.upload.admission.max-in-flight-bytes:268435456}") long maxInFlightBytes,
+            @Value("${app.upload.admission.max-queue-length:64}") int maxQueueLength,
+            @Value("${app.upload.admission.max-wait-ms:10000}") long maxWaitMs
+    ) {
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxQueueLength = maxQueueLength;
+        this.maxWaitMs = maxWaitMs;
+
+        Gauge.builder("attachment.upload.admission.queue.depth", this, service -> service.getStatus().queueDepth())
+                .description("Uploads waiting for a write slot")
+                .register(meterRegistry);
+        Gauge.builder("attachment.upload.admission.active.writes", this,
+                        service -> service.getStatus().activeWrites())
+                .description("Uploads currently writing to storage")
+                .register(meterRegistry);
+        Gauge.builder("attachment.upload.admission.inflight.bytes", this,
+                        service -> service.getStatus().inFlightBytes())
+                .description("Bytes reserved by uploads currently writing to storage")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("attachment.upload.admission.wait")
+                .description("Time uploads wait before they may write")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("attachment.upload.admission.rejected")
+                .description("Uploads rejected by admission control")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("attachment.upload.admission.rejected")
+                .description("Uploads rejected by admission control")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        this.interruptedCounter = Counter.builder("attachment.upload.admission.rejected")
+                .description("Uploads rejected by admission control")
+                .tag("reason", "interrupted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UploadPermit acquire(long expectedBytes) {
+        long started = System.nanoTime();
+        lock.lock();
+        try {
+            // A single upload larger than the byte budget is admitted alone rather than never
+            long bytes = Math.min(Math.max(expectedBytes, 0), maxInFlightBytes);
+            if (queue.isEmpty() && fits(bytes)) {
+                return admit(bytes, started);
+            }
+            if (queue.size() >= maxQueueLength) {
+                queueFullCounter.increment();
+                throw rejected("Upload queue is full");
+            }
+
+            Waiter waiter = new Waiter(bytes, lock.newCondition());
+            queue.addLast(waiter);
+            long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            boolean interrupted = false;
+            try {
+                while (!waiter.admitted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+            if (waiter.admitted) {
+                waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return new UploadPermit(this, bytes);
+            }
+
+            queue.remove(waiter);
+            // Leaving may unblock a smaller upload that was queued behind this one
+            admitWaiters();
+            if (interrupted) {
+                interruptedCounter.increment();
+                throw rejected("Interrupted while waiting for an upload slot");
+            }
+            timeoutCounter.increment();
+            throw rejected("Timed out waiting for an upload slot");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UploadAdmissionStatus getStatus() {
+        lock.lock();
+        try {
+            return new UploadAdmissionStatus(maxConcurrentWrites, maxInFlightBytes, maxQueueLength, maxWaitMs,
+                    activeWrites, inFlightBytes, queue.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UploadAdmissionStatus updateLimits(Integer maxConcurrentWrites, Long maxInFlightBytes,
+                                              Integer maxQueueLength, Long maxWaitMs) {
+        lock.lock();
+        try {
+            if (maxConcurrentWrites != null) {
+                this.maxConcurrentWrites = requirePositive("maxConcurrentWrites", maxConcurrentWrites);
+            }
+            if (maxInFlightBytes != null) {
+                this.maxInFlightBytes = requirePositive("maxInFlightBytes", maxInFlightBytes);
+            }
+            if (maxQueueLength != null) {
+                this.maxQueueLength = (int) requireNonNegative("maxQueueLength", maxQueueLength);
+            }
+            if (maxWaitMs != null) {
+                this.maxWaitMs = requireNonNegative("maxWaitMs", maxWaitMs);
+            }
+            // Lowered limits apply to new admissions only; uploads already writing run to completion
+            admitWaiters();
+            log.info("Upload admission limits updated: {} writes, {} bytes, queue {}, wait {} ms",
+                    this.maxConcurrentWrites, this.maxInFlightBytes, this.maxQueueLength, this.maxWaitMs);
+            return getStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long bytes, long heldNanos) {
+        lock.lock();
+        try {
+            activeWrites--;
+            inFlightBytes -= bytes;
+            averageHoldNanos = averageHoldNanos == 0 ? heldNanos : (averageHoldNanos * 4 + heldNanos) / 5;
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Strict FIFO: a large upload at the head is not overtaken by smaller ones behind it
+    private void admitWaiters() {
+        Waiter head;
+        while ((head = queue.peekFirst()) != null && fits(head.bytes)) {
+            queue.pollFirst();
+            activeWrites++;
+            inFlightBytes += head.bytes;
+            head.admitted = true;
+            head.condition.signal();
+        }
+    }
+
+    private boolean fits(long bytes) {
+        return activeWrites < maxConcurrentWrites
+                && (activeWrites == 0 || inFlightBytes + bytes <= maxInFlightBytes);
+    }
+
+    private UploadPermit admit(long bytes, long started) {
+        activeWrites++;
+        inFlightBytes += bytes;
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new UploadPermit(this, bytes);
+    }
+
+    // Roughly how long the current queue takes to drain at the recent write rate
+    private UploadRejectedException rejected(String reason) {
+        long drainNanos = averageHoldNanos * (queue.size() + 1) / Math.max(1, maxConcurrentWrites);
+        long retryAfter = Math.clamp(TimeUnit.NANOSECONDS.toSeconds(drainNanos) + 1, 1, MAX_RETRY_AFTER_SECONDS);
+        log.warn("{}: {} writing, {} queued, retry after {} s", reason, activeWrites, queue.size(), retryAfter);
+        return new UploadRejectedException(reason + ", retry later", retryAfter);
+    }
+
+    private static int requirePositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static long requirePositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static long requireNonNegative(String name, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return value;
+    }
+
+    private static final class Waiter {
+
+        private final long bytes;
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(long bytes, Condition condition) {
+            this.bytes = bytes;
+            this.condition = condition;
+        }
+    }
+}
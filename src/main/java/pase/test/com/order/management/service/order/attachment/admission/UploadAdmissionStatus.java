@@ -0,0 +1,12 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+public record UploadAdmissionStatus(
+        int maxConcurrentWrites,
+        long maxInFlightBytes,
+        int maxQueueLength,
+        long maxWaitMs,
+        int activeWrites,
+        long inFlightBytes,
+        int queueDepth
+) {
+}
@@ -0,0 +1,28 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// Exposed at /actuator/uploadlimits; omitted fields of a write keep their current value
+@Component
+@Endpoint(id = "uploadlimits")
+@RequiredArgsConstructor
+public class UploadLimitsEndpoint {
+
+    private final UploadAdmissionService uploadAdmissionService;
+
+    @ReadOperation
+    public UploadAdmissionStatus limits() {
+        return uploadAdmissionService.getStatus();
+    }
+
+    @WriteOperation
+    public UploadAdmissionStatus updateLimits(@Nullable Integer maxConcurrentWrites, @Nullable Long maxInFlightBytes,
+                                              @Nullable Integer maxQueueLength, @Nullable Long maxWaitMs) {
+        return uploadAdmissionService.updateLimits(maxConcurrentWrites, maxInFlightBytes, maxQueueLength, maxWaitMs);
+    }
+}
@@ -0,0 +1,28 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class UploadPermit implements AutoCloseable {
+
+    private final UploadAdmissionServiceImpl owner;
+    private final long bytes;
+    private final long admittedAt;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    UploadPermit(UploadAdmissionServiceImpl owner, long bytes) {
+        this.owner = owner;
+        this.bytes = bytes;
+        this.admittedAt = System.nanoTime();
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            owner.release(bytes, System.nanoTime() - admittedAt);
+        }
+    }
+}
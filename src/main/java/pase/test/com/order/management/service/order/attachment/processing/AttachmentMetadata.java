@@ -0,0 +1,18 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AttachmentMetadata(
+        String attachmentId,
+        long sizeBytes,
+        Integer pageCount,
+        String pdfVersion,
+        Integer width,
+        Integer height,
+        boolean thumbnailAvailable,
+        long processingMillis,
+        LocalDateTime processedOn
+) {
+}
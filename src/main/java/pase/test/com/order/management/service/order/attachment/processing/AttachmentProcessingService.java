@@ -0,0 +1,18 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import java.nio.file.Path;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
+
+public interface AttachmentProcessingService {
+
+    // Thumbnails live in this storage scratch directory, one <attachmentId>.jpg per image attachment
+    String THUMBNAIL_DIRECTORY = "thumbnails";
+    String THUMBNAIL_SUFFIX = ".jpg";
+
+    // Returns false when the queue is full; skipped images are queued again on their first thumbnail request
+    boolean submit(String attachmentId, String attachmentTypeLabel, Path file);
+
+    AttachmentContent getThumbnail(String attachmentId);
+
+    AttachmentMetadata getMetadata(String attachmentId);
+}
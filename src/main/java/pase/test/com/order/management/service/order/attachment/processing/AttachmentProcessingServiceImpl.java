@@ -0,0 +1,217 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pase.test.com.order.management.exception.AttachmentNotFoundException;
+import pase.test.com.order.management.exception.AttachmentProcessingPendingException;
+import pase.test.com.order.management.repository.order.AttachmentMetadataRepository;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
+import pase.test.com.order.management.service.order.attachment.AttachmentService;
+import pase.test.com.order.management.service.order.attachment.AttachmentStoredEvent;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+
+@Slf4j
+@Service
+public class AttachmentProcessingServiceImpl implements AttachmentProcessingService {
+
+    private static final String IMAGE_TYPE = "IMAGE";
+    private static final String PDF_TYPE = "PDF";
+    private static final long PENDING_RETRY_AFTER_SECONDS = 2;
+
+    private final AttachmentService attachmentService;
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentMetadataRepository metadataRepository;
+    private final MeterRegistry meterRegistry;
+    private final int thumbnailSize;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public AttachmentProcessingServiceImpl(
+            AttachmentService attachmentService,
+            AttachmentStorage attachmentStorage,
+            AttachmentMetadataRepository metadataRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.attachment-processing.workers:2}") int workers,
+            @Value("${app.attachment-processing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.attachment-processing.thumbnail-size:256}") int thumbnailSize
+    ) {
+        this.attachmentService = attachmentService;
+        this.attachmentStorage = attachmentStorage;
+        this.metadataRepository = metadataRepository;
+        this.meterRegistry = meterRegistry;
+        this.thumbnailSize = thumbnailSize;
+
+        // Image decoding is CPU bound, so a small fixed pool of platform threads with a bounded queue; work
+        // beyond the queue is shed rather than piling up behind the uploads that produced it
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("attachment-processing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("attachment.processing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Attachments waiting for post-processing")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("attachment.processing.queue.wait")
+                .description("Time attachments wait before a worker picks them up")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("attachment.processing.rejected")
+                .description("Attachments skipped because the processing queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("attachment.processing.failed")
+                .description("Attachments whose post-processing failed")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAttachmentStored(AttachmentStoredEvent event) {
+        submit(event.attachmentId(), event.attachmentTypeLabel(), event.file());
+    }
+
+    @Override
+    public boolean submit(String attachmentId, String attachmentTypeLabel, Path file) {
+        if (!IMAGE_TYPE.equalsIgnoreCase(attachmentTypeLabel) && !PDF_TYPE.equalsIgnoreCase(attachmentTypeLabel)) {
+            return false;
+        }
+        if (!inFlight.add(attachmentId)) {
+            return true;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    process(attachmentId, attachmentTypeLabel, file);
+                } finally {
+                    inFlight.remove(attachmentId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(attachmentId);
+            rejectedCounter.increment();
+            log.warn("Attachment processing queue is full, skipping {}", attachmentId);
+            return false;
+        }
+    }
+
+    @Override
+    public AttachmentContent getThumbnail(String attachmentId) {
+        AttachmentContent source = attachmentService.getAttachmentContent(attachmentId);
+        if (!"image".equals(source.contentType().getType())) {
+            throw new AttachmentNotFoundException("No thumbnail available for attachment: " + attachmentId);
+        }
+
+        Path thumbnail = thumbnailPath(attachmentId);
+        if (!Files.exists(thumbnail)) {
+            if (metadataRepository.findByAttachmentId(attachmentId)
+                    .filter(metadata -> !metadata.thumbnailAvailable())
+                    .isPresent()) {
+                throw new AttachmentNotFoundException("No thumbnail available for attachment: " + attachmentId);
+            }
+            // Only the workers render; an image shed under load is queued again, a no-op if it is in flight
+            submit(attachmentId, IMAGE_TYPE, source.path());
+            throw new AttachmentProcessingPendingException(
+                    "Thumbnail for attachment " + attachmentId + " is being generated", PENDING_RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            long size = Files.size(thumbnail);
+            long lastModified = Files.getLastModifiedTime(thumbnail).toMillis();
+            return new AttachmentContent(attachmentId, "thumbnail-" + source.fileName() + ".jpg", thumbnail,
+                    MediaType.IMAGE_JPEG, size,
+                    "\"" + attachmentId + "-thumb-" + Long.toHexString(lastModified) + "\"");
+        } catch (IOException e) {
+            throw new AttachmentNotFoundException("No thumbnail available for attachment: " + attachmentId);
+        }
+    }
+
+    @Override
+    public AttachmentMetadata getMetadata(String attachmentId) {
+        return metadataRepository.findByAttachmentId(attachmentId)
+                .orElseThrow(() -> new AttachmentNotFoundException(
+                        "No metadata processed yet for attachment: " + attachmentId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void process(String attachmentId, String attachmentTypeLabel, Path file) {
+        boolean image = IMAGE_TYPE.equalsIgnoreCase(attachmentTypeLabel);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long started = System.nanoTime();
+        long sizeBytes = 0;
+        try {
+            sizeBytes = Files.size(file);
+            AttachmentMetadata metadata;
+            if (image) {
+                ImageThumbnailer.ImageInfo info = ImageThumbnailer.createThumbnail(file, thumbnailPath(attachmentId),
+                        thumbnailSize);
+                metadata = new AttachmentMetadata(attachmentId, sizeBytes, null, null,
+                        info != null ? info.width() : null, info != null ? info.height() : null, info != null,
+                        elapsedMillis(started), LocalDateTime.now());
+            } else {
+                PdfMetadataExtractor.PdfInfo info = PdfMetadataExtractor.extract(file);
+                metadata = new AttachmentMetadata(attachmentId, sizeBytes, info.pageCount(), info.version(),
+                        null, null, false, elapsedMillis(started), LocalDateTime.now());
+            }
+            metadataRepository.save(metadata);
+            log.info("Processed attachment {} in {} ms", attachmentId, metadata.processingMillis());
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            log.error("Failed to process attachment {}: {}", attachmentId, e.getMessage(), e);
+            recordFailure(attachmentId, sizeBytes, started);
+        } finally {
+            sample.stop(Timer.builder("attachment.processing.latency")
+                    .description("Time taken to generate attachment thumbnails and metadata")
+                    .tag("kind", image ? "image" : "pdf")
+                    .register(meterRegistry));
+        }
+    }
+
+    // Without a row the thumbnail endpoint would resubmit the attachment and answer "pending" on every request
+    private void recordFailure(String attachmentId, long sizeBytes, long started) {
+        try {
+            metadataRepository.save(new AttachmentMetadata(attachmentId, sizeBytes, null, null, null, null, false,
+                    elapsedMillis(started), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.error("Failed to record processing failure for attachment {}: {}", attachmentId, e.getMessage());
+        }
+    }
+
+    private Path thumbnailPath(String attachmentId) {
+        try {
+            return attachmentStorage.scratchDirectory(THUMBNAIL_DIRECTORY).resolve(attachmentId + THUMBNAIL_SUFFIX);
+        } catch (IOException e) {
+            throw new IllegalStateException("Thumbnail directory is not available", e);
+        }
+    }
+
+    private long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,79 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+final class ImageThumbnailer {
+
+    record ImageInfo(int width, int height) {
+    }
+
+    private ImageThumbnailer() {
+    }
+
+    // Returns null when no ImageIO reader understands the file
+    static ImageInfo createThumbnail(Path source, Path target, int maxSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // Subsampled decoding keeps a 12MP photo from being fully materialized just to produce a preview;
+                // it stops at about twice the target so the final bilinear pass still has detail to smooth
+                int subsampling = Math.max(1, Math.max(width, height) / (maxSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                double scale = Math.min(1.0, (double) maxSize / Math.max(decoded.getWidth(), decoded.getHeight()));
+                int thumbnailWidth = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+                int thumbnailHeight = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+
+                BufferedImage thumbnail =
+                        new BufferedImage(thumbnailWidth, thumbnailHeight, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = thumbnail.createGraphics();
+                try {
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, thumbnailWidth, thumbnailHeight);
+                    graphics.drawImage(decoded, 0, 0, thumbnailWidth, thumbnailHeight, null);
+                } finally {
+                    graphics.dispose();
+                }
+
+                // A unique temp file per render, so two renders of one image never write to the same file
+                Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+                try {
+                    if (!ImageIO.write(thumbnail, "jpg", temp.toFile())) {
+                        throw new IOException("No JPEG writer available");
+                    }
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                return new ImageInfo(width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
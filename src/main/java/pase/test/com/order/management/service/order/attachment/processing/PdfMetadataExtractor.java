@@ -0,0 +1,62 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class PdfMetadataExtractor {
+
+    record PdfInfo(String version, Integer pageCount) {
+    }
+
+    private static final Pattern HEADER = Pattern.compile("^%PDF-(\\d\\.\\d)");
+    private static final Pattern PAGE_OBJECT = Pattern.compile("/Type\\s*/Page(?![A-Za-z])");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int OVERLAP = 64;
+
+    private PdfMetadataExtractor() {
+    }
+
+    // Counts page objects in a single streaming pass instead of parsing the document. Pages inside compressed
+    // object streams are invisible to this scan, in which case the page count is left unknown.
+    static PdfInfo extract(Path file) throws IOException {
+        String version = null;
+        int pages = 0;
+        byte[] chunk = new byte[BUFFER_SIZE];
+        String carry = "";
+
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            boolean first = true;
+            while ((read = input.readNBytes(chunk, 0, BUFFER_SIZE)) > 0) {
+                String window = carry + new String(chunk, 0, read, StandardCharsets.ISO_8859_1);
+                if (first) {
+                    Matcher header = HEADER.matcher(window);
+                    version = header.find() ? header.group(1) : null;
+                    first = false;
+                }
+
+                // Matches starting in the tail are left for the next window, which begins with that tail
+                int countLimit = Math.max(0, window.length() - OVERLAP);
+                pages += countPages(window, countLimit);
+                carry = window.substring(countLimit);
+            }
+        }
+        pages += countPages(carry, carry.length());
+
+        return new PdfInfo(version, pages > 0 ? pages : null);
+    }
+
+    private static int countPages(String window, int limit) {
+        int pages = 0;
+        Matcher page = PAGE_OBJECT.matcher(window);
+        while (page.find() && page.start() < limit) {
+            pages++;
+        }
+        return pages;
+    }
+}
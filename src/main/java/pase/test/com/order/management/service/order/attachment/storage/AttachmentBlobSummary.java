@@ -0,0 +1,12 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+public record AttachmentBlobSummary(long blobs, long references, long physicalBytes, long logicalBytes) {
+
+    public long savedBytes() {
+        return logicalBytes - physicalBytes;
+    }
+
+    public double dedupRatio() {
+        return blobs == 0 ? 1.0 : (double) references / blobs;
+    }
+}
@@ -0,0 +1,29 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface AttachmentStorage {
+
+    StoredFile store(InputStream content, String originalFilename, ContentHeadValidator validator)
+            throws IOException;
+
+    // Takes ownership of a fully written file on the storage volume, moving it into place without a copy
+    StoredFile adopt(Path file, String originalFilename, ContentHeadValidator validator) throws IOException;
+
+    // Working area on the storage volume for callers assembling files; skipped by streamStoredFiles
+    Path scratchDirectory(String name) throws IOException;
+
+    // Drops one reference to the stored content; the file is removed once nothing references it
+    void release(Path path);
+
+    // Lazily walks every file under the storage root, including abandoned upload scratch files
+    Stream<Path> streamStoredFiles() throws IOException;
+
+    // Removes a file nothing references if it has not been written or reused since the cutoff; returns the
+    // bytes freed, or 0 when the file was kept
+    long reclaim(Path path, Instant modifiedBefore);
+}
@@ -0,0 +1,47 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+
+@Slf4j
+@Component
+public class AttachmentStorageMetrics {
+
+    private final AttachmentBlobRepository blobRepository;
+    private final AtomicReference<AttachmentBlobSummary> summary =
+            new AtomicReference<>(new AttachmentBlobSummary(0, 0, 0, 0));
+
+    public AttachmentStorageMetrics(AttachmentBlobRepository blobRepository, MeterRegistry meterRegistry) {
+        this.blobRepository = blobRepository;
+        Gauge.builder("attachment.storage.dedup.ratio", summary, s -> s.get().dedupRatio())
+                .description("Attachment references per physical blob")
+                .register(meterRegistry);
+        Gauge.builder("attachment.storage.saved.bytes", summary, s -> s.get().savedBytes())
+                .description("Disk bytes saved by storing duplicate attachments once")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("attachment.storage.physical.bytes", summary, s -> s.get().physicalBytes())
+                .description("Disk bytes used by attachment blobs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("attachment.storage.blobs", summary, s -> s.get().blobs())
+                .description("Physical attachment blobs")
+                .register(meterRegistry);
+    }
+
+    // Derived from the reference table so the figures survive restarts and cover every instance
+    @Scheduled(initialDelayString = "${app.upload.metrics-refresh-ms:60000}",
+            fixedDelayString = "${app.upload.metrics-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            summary.set(blobRepository.summarize());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh attachment storage metrics: {}", e.getMessage());
+        }
+    }
+}
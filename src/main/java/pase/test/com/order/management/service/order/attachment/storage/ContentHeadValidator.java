@@ -0,0 +1,7 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+@FunctionalInterface
+public interface ContentHeadValidator {
+
+    void validate(byte[] head, int length);
+}
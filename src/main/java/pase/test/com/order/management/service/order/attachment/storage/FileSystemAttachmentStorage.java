@@ -0,0 +1,306 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+
+// Content-addressed blobs with reference counts in attachment_blobs. The striped locks that order placing, releasing
+// and reclaiming a blob are per process, so only one instance may own the upload directory; instances sharing a
+// volume could delete a blob another one has just reused.
+@Slf4j
+@Component
+public class FileSystemAttachmentStorage implements AttachmentStorage {
+
+    static final int HEAD_SIZE = 64;
+    static final String INCOMING_DIRECTORY = ".incoming";
+    static final String SCRATCH_DIRECTORY = ".scratch";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+    private static final int DIGEST_LENGTH = 64;
+
+    private final Path uploadDirectory;
+    private final long maxSizeBytes;
+    private final AttachmentBlobRepository blobRepository;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter savedBytesCounter;
+
+    public FileSystemAttachmentStorage(
+            @Value("${app.upload.directory:${java.io.tmpdir}/pase-uploads}") String uploadDirectory,
+            @Value("${app.upload.max-stream-size-bytes:10485760}") long maxSizeBytes,
+            AttachmentBlobRepository blobRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.uploadDirectory = Paths.get(uploadDirectory);
+        this.maxSizeBytes = maxSizeBytes;
+        this.blobRepository = blobRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.storedCounter = Counter.builder("attachment.storage.stored")
+                .description("Uploads that created a new blob")
+                .register(meterRegistry);
+        this.deduplicatedCounter = Counter.builder("attachment.storage.deduplicated")
+                .description("Uploads that reused an existing blob")
+                .register(meterRegistry);
+        this.savedBytesCounter = Counter.builder("attachment.storage.deduplicated.bytes")
+                .description("Bytes not written to disk because the content already existed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public StoredFile store(InputStream content, String originalFilename, ContentHeadValidator validator)
+            throws IOException {
+        String safeFilename = sanitize(originalFilename);
+
+        // Validate the first bytes before anything touches the disk
+        byte[] head = new byte[HEAD_SIZE];
+        int headLength = content.readNBytes(head, 0, HEAD_SIZE);
+        validator.validate(head, headLength);
+
+        // The digest is only known once the last byte arrives, so content lands in a scratch file on the
+        // same volume first and is then renamed into place without being copied again
+        Path incoming = Files.createDirectories(uploadDirectory.resolve(INCOMING_DIRECTORY));
+        Path temp = incoming.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = newDigest();
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            digest.update(head, 0, headLength);
+            written += writeFully(channel, ByteBuffer.wrap(head, 0, headLength));
+
+            byte[] chunk = new byte[BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                if (written + read > maxSizeBytes) {
+                    throw new MaxUploadSizeExceededException(maxSizeBytes);
+                }
+                digest.update(chunk, 0, read);
+                buffer.clear().limit(read);
+                written += writeFully(channel, buffer);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteFile(temp);
+            throw e;
+        }
+
+        try {
+            return place(temp, HexFormat.of().formatHex(digest.digest()), safeFilename, written);
+        } finally {
+            deleteFile(temp);
+        }
+    }
+
+    @Override
+    public StoredFile adopt(Path file, String originalFilename, ContentHeadValidator validator) throws IOException {
+        String safeFilename = sanitize(originalFilename);
+        MessageDigest digest = newDigest();
+        long size = 0;
+
+        try (InputStream content = Files.newInputStream(file)) {
+            byte[] head = new byte[HEAD_SIZE];
+            int headLength = content.readNBytes(head, 0, HEAD_SIZE);
+            validator.validate(head, headLength);
+            digest.update(head, 0, headLength);
+            size += headLength;
+
+            byte[] chunk = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                digest.update(chunk, 0, read);
+                size += read;
+            }
+        }
+
+        try {
+            return place(file, HexFormat.of().formatHex(digest.digest()), safeFilename, size);
+        } finally {
+            deleteFile(file);
+        }
+    }
+
+    @Override
+    public Path scratchDirectory(String name) throws IOException {
+        return Files.createDirectories(uploadDirectory.resolve(SCRATCH_DIRECTORY).resolve(name));
+    }
+
+    @Override
+    public void release(Path path) {
+        String digest = path.getFileName().toString();
+        if (!isDigest(digest)) {
+            // Files stored before content addressing are owned by a single attachment
+            deleteFile(path);
+            return;
+        }
+
+        ReentrantLock lock = lockFor(digest);
+        lock.lock();
+        try {
+            int remaining = blobRepository.release(digest);
+            if (remaining == -1 || remaining == 0 && blobRepository.deleteIfUnreferenced(digest)) {
+                deleteFile(path);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to release attachment blob {}: {}", digest, e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Path> streamStoredFiles() throws IOException {
+        if (!Files.exists(uploadDirectory)) {
+            return Stream.empty();
+        }
+        Path scratch = uploadDirectory.resolve(SCRATCH_DIRECTORY);
+        return Files.walk(uploadDirectory)
+                .filter(path -> !path.startsWith(scratch))
+                .filter(Files::isRegularFile);
+    }
+
+    @Override
+    public long reclaim(Path path, Instant modifiedBefore) {
+        String name = path.getFileName().toString();
+        ReentrantLock lock = isDigest(name) ? lockFor(name) : null;
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            // Re-checked under the lock: an upload reusing this blob records the time it took its reference
+            if (lock != null && blobRepository.acquiredSince(name, modifiedBefore)) {
+                return 0;
+            }
+            if (!Files.exists(path) || !Files.getLastModifiedTime(path).toInstant().isBefore(modifiedBefore)) {
+                return 0;
+            }
+            long sizeBytes = Files.size(path);
+            Files.delete(path);
+            if (lock != null) {
+                blobRepository.delete(name);
+            }
+            log.info("Reclaimed orphaned attachment file {} ({} bytes)", path, sizeBytes);
+            return sizeBytes;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to reclaim attachment file {}: {}", path, e.getMessage(), e);
+            return 0;
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    Path blobPath(String digest) {
+        return uploadDirectory.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    // Placing the blob and taking the reference happen under the same lock as release, so a concurrent
+    // release can never delete a blob that another upload has just decided to reuse
+    private StoredFile place(Path source, String digest, String safeFilename, long sizeBytes) throws IOException {
+        Path blob = blobPath(digest);
+        ReentrantLock lock = lockFor(digest);
+        lock.lock();
+        try {
+            boolean deduplicated = Files.exists(blob);
+            if (!deduplicated) {
+                Files.createDirectories(blob.getParent());
+                Files.move(source, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            int references;
+            try {
+                references = blobRepository.acquire(digest, sizeBytes);
+            } catch (RuntimeException e) {
+                if (!deduplicated) {
+                    deleteFile(blob);
+                }
+                throw e;
+            }
+
+            if (deduplicated) {
+                deduplicatedCounter.increment();
+                savedBytesCounter.increment(sizeBytes);
+                log.info("Reused attachment blob {} ({} bytes, {} references)", digest, sizeBytes, references);
+            } else {
+                storedCounter.increment();
+                log.info("Stored attachment blob {} ({} bytes)", digest, sizeBytes);
+            }
+            return new StoredFile(blob, safeFilename, sizeBytes, digest, deduplicated);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String digest) {
+        return locks[Math.floorMod(digest.hashCode(), LOCK_STRIPES)];
+    }
+
+    private boolean isDigest(String name) {
+        if (name.length() != DIGEST_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.digit(name.charAt(i), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            if (Files.deleteIfExists(path)) {
+                log.debug("Deleted attachment file: {}", path.getFileName());
+            }
+        } catch (IOException e) {
+            log.error("Failed to delete attachment file {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    private long writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        return written;
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String sanitize(String originalFilename) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            return "attachment";
+        }
+        Path fileName = Paths.get(originalFilename.replace('\\', '/')).getFileName();
+        return fileName != null ? fileName.toString() : "attachment";
+    }
+}
@@ -0,0 +1,6 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+import java.nio.file.Path;
+
+public record StoredFile(Path path, String originalFilename, long sizeBytes, String digest, boolean deduplicated) {
+}
@@ -0,0 +1,23 @@
+package pase.test.com.order.management.service.order.attachment.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.dto.UploadSessionCreateRequest;
+import pase.test.com.order.management.dto.UploadSessionResponse;
+
+public interface ChunkedUploadService {
+
+    UploadSessionResponse createSession(UploadSessionCreateRequest request) throws IOException;
+
+    UploadSessionResponse writeChunk(String uploadId, int index, long contentLength, InputStream content)
+            throws IOException;
+
+    UploadSessionResponse getSession(String uploadId);
+
+    int getChunkSize(String uploadId);
+
+    OrderResponse completeSession(String uploadId) throws IOException;
+
+    void cancelSession(String uploadId);
+}
@@ -0,0 +1,277 @@
+package pase.test.com.order.management.service.order.attachment.upload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.dto.UploadSessionCreateRequest;
+import pase.test.com.order.management.dto.UploadSessionResponse;
+import pase.test.com.order.management.exception.InvalidUploadException;
+import pase.test.com.order.management.exception.UploadIncompleteException;
+import pase.test.com.order.management.exception.UploadSessionNotFoundException;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.attachment.AttachmentService;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+
+@Slf4j
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final String SESSION_FILE_SUFFIX = ".upload";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttachmentService attachmentService;
+    private final OrderService orderService;
+    private final AttachmentStorage attachmentStorage;
+    private final int chunkSizeBytes;
+    private final long maxTotalSizeBytes;
+    private final Duration sessionTtl;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Counter expiredCounter;
+
+    public ChunkedUploadServiceImpl(
+            AttachmentService attachmentService,
+            OrderService orderService,
+            AttachmentStorage attachmentStorage,
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.chunked.chunk-size-bytes:5242880}") int chunkSizeBytes,
+            @Value("${app.upload.chunked.max-total-size-bytes:2147483648}") long maxTotalSizeBytes,
+            @Value("${app.upload.chunked.session-ttl-minutes:1440}") long sessionTtlMinutes
+    ) {
+        this.attachmentService = attachmentService;
+        this.orderService = orderService;
+        this.attachmentStorage = attachmentStorage;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.maxTotalSizeBytes = maxTotalSizeBytes;
+        this.sessionTtl = Duration.ofMinutes(sessionTtlMinutes);
+
+        Gauge.builder("attachment.upload.sessions.active", sessions, Map::size)
+                .description("Chunked upload sessions currently open")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("attachment.upload.sessions.expired")
+                .description("Chunked upload sessions discarded after going idle")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UploadSessionResponse createSession(UploadSessionCreateRequest request) throws IOException {
+        log.info("Creating upload session for order {}: {} ({} bytes)",
+                request.getOrderId(), request.getFileName(), request.getTotalSizeBytes());
+
+        if (request.getTotalSizeBytes() > maxTotalSizeBytes) {
+            throw new InvalidUploadException("Upload exceeds the maximum size of " + maxTotalSizeBytes + " bytes");
+        }
+        attachmentService.validateAttachment(request.getAttachmentTypeLabel(), request.getFileName());
+        orderService.getOrderById(request.getOrderId());
+
+        String uploadId = UUID.randomUUID().toString();
+        Path path = attachmentStorage.scratchDirectory("sessions").resolve(uploadId + SESSION_FILE_SUFFIX);
+
+        // Reserve the full length up front so chunks can land at their offsets in any order
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.SPARSE)) {
+            channel.write(ByteBuffer.allocate(1), request.getTotalSizeBytes() - 1);
+        }
+
+        UploadSession session = new UploadSession(uploadId, currentUser(), request.getOrderId(),
+                request.getAttachmentTypeLabel(), request.getFileName(), request.getTotalSizeBytes(),
+                chunkSizeBytes, path);
+        sessions.put(uploadId, session);
+
+        log.info("Upload session {} created with {} chunks", uploadId, session.getTotalChunks());
+        return toResponse(session);
+    }
+
+    @Override
+    public UploadSessionResponse writeChunk(String uploadId, int index, long contentLength, InputStream content)
+            throws IOException {
+        UploadSession session = findSession(uploadId);
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new InvalidUploadException(
+                    "Chunk index " + index + " is outside 0.." + (session.getTotalChunks() - 1));
+        }
+
+        int expected = session.lengthOf(index);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new InvalidUploadException("Chunk " + index + " must be " + expected + " bytes");
+        }
+
+        if (!session.beginWrite(index)) {
+            throw new UploadIncompleteException("Upload session " + uploadId + " is being finalized");
+        }
+        boolean succeeded = false;
+        try {
+            long written = writeAt(session.getPath(), session.offsetOf(index), expected, content, index);
+            if (written != expected) {
+                throw new InvalidUploadException("Chunk " + index + " ended after " + written + " of " + expected
+                        + " bytes");
+            }
+            succeeded = true;
+        } finally {
+            session.endWrite(index, succeeded);
+        }
+
+        session.touch();
+        log.debug("Upload session {} received chunk {}", uploadId, index);
+        return toResponse(session);
+    }
+
+    private long writeAt(Path path, long offset, int expected, InputStream content, int index) throws IOException {
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            byte[] chunk = new byte[Math.min(BUFFER_SIZE, expected)];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                if (written + read > expected) {
+                    throw new InvalidUploadException("Chunk " + index + " must be " + expected + " bytes");
+                }
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public UploadSessionResponse getSession(String uploadId) {
+        return toResponse(findSession(uploadId));
+    }
+
+    @Override
+    public int getChunkSize(String uploadId) {
+        return findSession(uploadId).getChunkSizeBytes();
+    }
+
+    @Override
+    public OrderResponse completeSession(String uploadId) throws IOException {
+        UploadSession session = findSession(uploadId);
+        if (!session.startFinalizing()) {
+            throw new UploadIncompleteException(session.hasWritesInFlight()
+                    ? "Upload session " + uploadId + " still has chunks being written"
+                    : "Upload session " + uploadId + " is already being finalized");
+        }
+        if (!session.isComplete()) {
+            session.abortFinalizing();
+            throw new UploadIncompleteException("Upload session " + uploadId + " is missing "
+                    + (session.getTotalSizeBytes() - session.receivedBytes()) + " bytes");
+        }
+
+        log.info("Finalizing upload session {} for order {}", uploadId, session.getOrderId());
+        try {
+            OrderResponse order = attachmentService.uploadAttachmentToOrder(session.getOrderId(),
+                    session.getAttachmentTypeLabel(), session.getFileName(), session.getPath());
+            sessions.remove(uploadId);
+            return order;
+        } catch (IOException | RuntimeException e) {
+            // A failure before the file was handed to storage leaves the session resumable
+            if (Files.exists(session.getPath())) {
+                session.abortFinalizing();
+            } else {
+                sessions.remove(uploadId);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void cancelSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        if (session.startFinalizing()) {
+            discard(session);
+            log.info("Upload session {} cancelled", uploadId);
+        } else if (session.hasWritesInFlight()) {
+            throw new UploadIncompleteException("Upload session " + uploadId + " still has chunks being written");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.chunked.expiry-check-ms:60000}")
+    public void expireSessions() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        for (UploadSession session : sessions.values()) {
+            if (session.getLastActivity().isBefore(cutoff) && session.startFinalizing()) {
+                discard(session);
+                expiredCounter.increment();
+                log.info("Upload session {} expired after {} idle", session.getId(), sessionTtl);
+            }
+        }
+        deleteUntrackedFiles(cutoff);
+    }
+
+    // Session state is in memory, so files left by a previous process are removed once they pass the TTL
+    private void deleteUntrackedFiles(Instant cutoff) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(attachmentStorage.scratchDirectory("sessions"),
+                "*" + SESSION_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String uploadId = file.getFileName().toString().replace(SESSION_FILE_SUFFIX, "");
+                if (!sessions.containsKey(uploadId) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    log.info("Deleted abandoned upload session file {}", file.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up upload session files: {}", e.getMessage());
+        }
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.getId());
+        try {
+            Files.deleteIfExists(session.getPath());
+        } catch (IOException e) {
+            log.error("Failed to delete upload session file {}: {}", session.getPath(), e.getMessage(), e);
+        }
+    }
+
+    // Sessions are only visible to the user who created them
+    private UploadSession findSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.getOwner().equals(currentUser())) {
+            throw new UploadSessionNotFoundException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .orderId(session.getOrderId())
+                .fileName(session.getFileName())
+                .totalSizeBytes(session.getTotalSizeBytes())
+                .chunkSizeBytes(session.getChunkSizeBytes())
+                .totalChunks(session.getTotalChunks())
+                .receivedBytes(session.receivedBytes())
+                .receivedRanges(session.receivedRanges())
+                .complete(session.isComplete())
+                .expiresAt(LocalDateTime.ofInstant(session.getLastActivity().plus(sessionTtl), ZoneId.systemDefault()))
+                .build();
+    }
+}
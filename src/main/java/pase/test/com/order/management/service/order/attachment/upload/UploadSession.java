@@ -0,0 +1,111 @@
+package pase.test.com.order.management.service.order.attachment.upload;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import lombok.Getter;
+import pase.test.com.order.management.dto.UploadSessionResponse;
+
+@Getter
+final class UploadSession {
+
+    private final String id;
+    private final String owner;
+    private final String orderId;
+    private final String attachmentTypeLabel;
+    private final String fileName;
+    private final long totalSizeBytes;
+    private final int chunkSizeBytes;
+    private final int totalChunks;
+    private final Path path;
+    private final BitSet received;
+    private volatile Instant lastActivity;
+    private boolean finalizing;
+    private int writesInFlight;
+
+    UploadSession(String id, String owner, String orderId, String attachmentTypeLabel, String fileName,
+                  long totalSizeBytes, int chunkSizeBytes, Path path) {
+        this.id = id;
+        this.owner = owner;
+        this.orderId = orderId;
+        this.attachmentTypeLabel = attachmentTypeLabel;
+        this.fileName = fileName;
+        this.totalSizeBytes = totalSizeBytes;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.totalChunks = (int) ((totalSizeBytes + chunkSizeBytes - 1) / chunkSizeBytes);
+        this.path = path;
+        this.received = new BitSet(totalChunks);
+        this.lastActivity = Instant.now();
+    }
+
+    long offsetOf(int index) {
+        return (long) index * chunkSizeBytes;
+    }
+
+    int lengthOf(int index) {
+        return (int) Math.min(chunkSizeBytes, totalSizeBytes - offsetOf(index));
+    }
+
+    void touch() {
+        lastActivity = Instant.now();
+    }
+
+    // A chunk counts as received only once its write succeeds, so a failed re-send leaves a gap to resume from
+    synchronized boolean beginWrite(int index) {
+        if (finalizing) {
+            return false;
+        }
+        writesInFlight++;
+        received.clear(index);
+        return true;
+    }
+
+    synchronized void endWrite(int index, boolean succeeded) {
+        writesInFlight--;
+        if (succeeded) {
+            received.set(index);
+        }
+    }
+
+    synchronized boolean isComplete() {
+        return received.cardinality() == totalChunks;
+    }
+
+    synchronized boolean startFinalizing() {
+        if (finalizing || writesInFlight > 0) {
+            return false;
+        }
+        finalizing = true;
+        return true;
+    }
+
+    synchronized void abortFinalizing() {
+        finalizing = false;
+    }
+
+    synchronized boolean hasWritesInFlight() {
+        return writesInFlight > 0;
+    }
+
+    synchronized long receivedBytes() {
+        long bytes = 0;
+        for (int index = received.nextSetBit(0); index >= 0; index = received.nextSetBit(index + 1)) {
+            bytes += lengthOf(index);
+        }
+        return bytes;
+    }
+
+    // Adjacent chunks are merged so a client can resume from the first gap
+    synchronized List<UploadSessionResponse.ByteRange> receivedRanges() {
+        List<UploadSessionResponse.ByteRange> ranges = new ArrayList<>();
+        int start = received.nextSetBit(0);
+        while (start >= 0) {
+            int end = received.nextClearBit(start) - 1;
+            ranges.add(new UploadSessionResponse.ByteRange(offsetOf(start), offsetOf(end) + lengthOf(end) - 1));
+            start = received.nextSetBit(end + 1);
+        }
+        return ranges;
+    }
+}
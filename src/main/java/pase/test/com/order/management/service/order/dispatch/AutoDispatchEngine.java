@@ -0,0 +1,316 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.location.NearbyDriver;
+import pase.test.com.order.management.service.driver.workload.DriverWorkloadService;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+import pase.test.com.order.management.service.order.event.OrderEventType;
+
+// Matches unassigned CREATED orders to available drivers in batches, one coarse region per fork-join task.
+// Drivers are claimed in a map shared by all regions, so no driver is handed out twice.
+@Slf4j
+@Component
+public class AutoDispatchEngine {
+
+    private final OrderService orderService;
+    private final OrderQueryRepository orderQueryRepository;
+    private final DriverSpatialIndex driverSpatialIndex;
+    private final DriverWorkloadService driverWorkloadService;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("order-dispatch").daemon(true).factory());
+    private final ForkJoinPool matchPool;
+    private final AtomicBoolean cyclePending = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong unroutableOrders = new AtomicLong();
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final long eventDelayMillis;
+    private final int maxOrdersPerCycle;
+    private final int maxScan;
+    private final int pageSize;
+    private final int candidatesPerOrder;
+    private final double maxPickupKm;
+    private final DispatchCost cost;
+    private final double averageSpeedKmh;
+    private final double regionDegrees;
+    private final long maxPositionAgeMillis;
+    private final Timer cycleTimer;
+    private final Counter assignedCounter;
+    private final Counter unmatchedCounter;
+    private final Counter conflictCounter;
+    private volatile double matchRate;
+
+    public AutoDispatchEngine(
+            OrderService orderService,
+            OrderQueryRepository orderQueryRepository,
+            DriverSpatialIndex driverSpatialIndex,
+            DriverWorkloadService driverWorkloadService,
+            MeterRegistry meterRegistry,
+            @Value("${app.dispatch.enabled:true}") boolean enabled,
+            @Value("${app.dispatch.interval-ms:5000}") long intervalMillis,
+            @Value("${app.dispatch.event-delay-ms:250}") long eventDelayMillis,
+            @Value("${app.dispatch.max-orders-per-cycle:1000}") int maxOrdersPerCycle,
+            @Value("${app.dispatch.max-scan:10000}") int maxScan,
+            @Value("${app.dispatch.page-size:500}") int pageSize,
+            @Value("${app.dispatch.candidates-per-order:5}") int candidatesPerOrder,
+            @Value("${app.dispatch.max-pickup-km:10}") double maxPickupKm,
+            @Value("${app.dispatch.cost:DISTANCE}") DispatchCost cost,
+            @Value("${app.dispatch.average-speed-kmh:30}") double averageSpeedKmh,
+            @Value("${app.dispatch.region-size-degrees:0.5}") double regionDegrees,
+            @Value("${app.dispatch.parallelism:0}") int parallelism,
+            @Value("${app.driver.nearest.max-position-age-seconds:300}") long maxPositionAgeSeconds
+    ) {
+        this.orderService = orderService;
+        this.orderQueryRepository = orderQueryRepository;
+        this.driverSpatialIndex = driverSpatialIndex;
+        this.driverWorkloadService = driverWorkloadService;
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+        this.eventDelayMillis = eventDelayMillis;
+        this.maxOrdersPerCycle = maxOrdersPerCycle;
+        this.maxScan = maxScan;
+        this.pageSize = pageSize;
+        this.candidatesPerOrder = candidatesPerOrder;
+        this.maxPickupKm = maxPickupKm;
+        this.cost = cost;
+        this.averageSpeedKmh = averageSpeedKmh;
+        this.regionDegrees = regionDegrees;
+        this.maxPositionAgeMillis = TimeUnit.SECONDS.toMillis(maxPositionAgeSeconds);
+        this.matchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.cycleTimer = Timer.builder("order.dispatch.cycle")
+                .description("Time to match and assign one batch of pending orders")
+                .register(meterRegistry);
+        this.assignedCounter = ordersCounter(meterRegistry, "assigned");
+        this.unmatchedCounter = ordersCounter(meterRegistry, "unmatched");
+        this.conflictCounter = ordersCounter(meterRegistry, "conflict");
+        Gauge.builder("order.dispatch.backlog", backlog, AtomicLong::get)
+                .description("Unassigned CREATED orders left after the last cycle")
+                .register(meterRegistry);
+        Gauge.builder("order.dispatch.unroutable", unroutableOrders, AtomicLong::get)
+                .description("Pending orders seen by the last cycle without a latitude,longitude origin")
+                .register(meterRegistry);
+        Gauge.builder("order.dispatch.match.rate", this, engine -> engine.matchRate)
+                .description("Share of routable orders the last cycle assigned")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::dispatch, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        matchPool.shutdownNow();
+    }
+
+    // A burst of new routable orders coalesces into one early cycle
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        if (!enabled || event.type() != OrderEventType.ORDER_CREATED
+                || PickupPoint.parse(event.order().getOrigin()).isEmpty()) {
+            return;
+        }
+        if (cyclePending.compareAndSet(false, true)) {
+            scheduler.schedule(this::dispatch, eventDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void dispatch() {
+        cyclePending.set(false);
+        try {
+            DispatchCycleResult result = runCycle();
+            if (result.matched() > 0) {
+                log.info("Dispatch cycle assigned {} of {} routable orders ({} conflicts, backlog {})",
+                        result.assigned(), result.routable(), result.conflicts(), result.backlog());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dispatch cycle failed: {}", e.getMessage(), e);
+        }
+    }
+
+    DispatchCycleResult runCycle() {
+        long startNanos = System.nanoTime();
+        List<RoutableOrder> orders = new ArrayList<>();
+        int scanned = loadRoutable(orders);
+        if (orders.isEmpty()) {
+            long remaining = scanned == 0 ? 0 : orderQueryRepository.countPendingDispatch();
+            backlog.set(remaining);
+            cycleTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return new DispatchCycleResult(scanned, 0, 0, 0, 0, remaining);
+        }
+
+        Map<Long, List<RoutableOrder>> regions = new LinkedHashMap<>();
+        for (RoutableOrder order : orders) {
+            regions.computeIfAbsent(regionKey(order.pickup()), key -> new ArrayList<>()).add(order);
+        }
+        long minRecordedAtMillis = System.currentTimeMillis() - maxPositionAgeMillis;
+        List<Match> matches = matchPool.invoke(new RegionMatchTask(new ArrayList<>(regions.values()),
+                new ConcurrentHashMap<>(), minRecordedAtMillis));
+
+        int assigned = 0;
+        for (Match match : matches) {
+            if (assign(match)) {
+                assigned++;
+            }
+        }
+        int conflicts = matches.size() - assigned;
+        long remaining = orderQueryRepository.countPendingDispatch();
+
+        assignedCounter.increment(assigned);
+        conflictCounter.increment(conflicts);
+        unmatchedCounter.increment(orders.size() - matches.size());
+        backlog.set(remaining);
+        matchRate = (double) assigned / orders.size();
+        cycleTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return new DispatchCycleResult(scanned, orders.size(), matches.size(), assigned, conflicts, remaining);
+    }
+
+    // Orders without a parseable pickup point are left for manual dispatch
+    private int loadRoutable(List<RoutableOrder> orders) {
+        int scanned = 0;
+        int unroutable = 0;
+        List<PendingOrder> page = orderQueryRepository.findPendingDispatch(pageSize);
+        while (true) {
+            for (PendingOrder pending : page) {
+                scanned++;
+                Optional<PickupPoint> pickup = PickupPoint.parse(pending.origin());
+                if (pickup.isEmpty()) {
+                    unroutable++;
+                    continue;
+                }
+                orders.add(new RoutableOrder(pending.id(), pickup.get(), orders.size()));
+                if (orders.size() >= maxOrdersPerCycle) {
+                    unroutableOrders.set(unroutable);
+                    return scanned;
+                }
+            }
+            if (page.size() < pageSize || scanned >= maxScan) {
+                unroutableOrders.set(unroutable);
+                return scanned;
+            }
+            PendingOrder last = page.get(page.size() - 1);
+            page = orderQueryRepository.findPendingDispatchAfter(last.createdOn(), last.id(), pageSize);
+        }
+    }
+
+    private long regionKey(PickupPoint pickup) {
+        long row = (long) Math.floor((pickup.latitude() + 90) / regionDegrees);
+        long column = (long) Math.floor((pickup.longitude() + 180) / regionDegrees);
+        return (row << 32) | column;
+    }
+
+    private List<Match> matchRegion(List<RoutableOrder> orders, Map<String, String> claimedDrivers,
+                                    long minRecordedAtMillis) {
+        List<Match> candidates = new ArrayList<>();
+        for (RoutableOrder order : orders) {
+            for (NearbyDriver driver : driverSpatialIndex.nearest(order.pickup().latitude(),
+                    order.pickup().longitude(), candidatesPerOrder, maxPickupKm, minRecordedAtMillis)) {
+                candidates.add(new Match(order.id(), order.rank(), driver.driverId(),
+                        cost.of(driver.distanceKm(), averageSpeedKmh)));
+            }
+        }
+        // Cheapest pairs first; equal costs go to the order that has waited longest
+        candidates.sort(Comparator.comparingDouble(Match::cost).thenComparingInt(Match::rank));
+
+        List<Match> matches = new ArrayList<>();
+        Set<String> matchedOrders = new HashSet<>();
+        for (Match candidate : candidates) {
+            if (!matchedOrders.contains(candidate.orderId())
+                    && claimedDrivers.putIfAbsent(candidate.driverId(), candidate.orderId()) == null) {
+                matchedOrders.add(candidate.orderId());
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    private boolean assign(Match match) {
+        // A manual assignment may have filled the driver since the index was read
+        if (!driverWorkloadService.hasCapacity(match.driverId())) {
+            return false;
+        }
+        try {
+            return orderService.assignDriverIfUnassigned(match.orderId(), match.driverId()).isPresent();
+        } catch (RuntimeException e) {
+            log.warn("Failed to auto-assign driver {} to order {}: {}", match.driverId(), match.orderId(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private static Counter ordersCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.dispatch.orders")
+                .description("Pending orders handled by dispatch cycles")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record RoutableOrder(String id, PickupPoint pickup, int rank) {
+    }
+
+    private record Match(String orderId, int rank, String driverId, double cost) {
+    }
+
+    private final class RegionMatchTask extends RecursiveTask<List<Match>> {
+
+        private final List<List<RoutableOrder>> regions;
+        private final Map<String, String> claimedDrivers;
+        private final long minRecordedAtMillis;
+
+        private RegionMatchTask(List<List<RoutableOrder>> regions, Map<String, String> claimedDrivers,
+                                long minRecordedAtMillis) {
+            this.regions = regions;
+            this.claimedDrivers = claimedDrivers;
+            this.minRecordedAtMillis = minRecordedAtMillis;
+        }
+
+        @Override
+        protected List<Match> compute() {
+            if (regions.size() == 1) {
+                return matchRegion(regions.get(0), claimedDrivers, minRecordedAtMillis);
+            }
+            int middle = regions.size() / 2;
+            RegionMatchTask left = new RegionMatchTask(regions.subList(0, middle), claimedDrivers,
+                    minRecordedAtMillis);
+            RegionMatchTask right = new RegionMatchTask(regions.subList(middle, regions.size()), claimedDrivers,
+                    minRecordedAtMillis);
+            left.fork();
+            List<Match> matches = new ArrayList<>(right.compute());
+            matches.addAll(left.join());
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+// What a matching cycle minimizes for each order and driver pair
+public enum DispatchCost {
+
+    DISTANCE {
+        @Override
+        double of(double pickupKm, double averageSpeedKmh) {
+            return pickupKm;
+        }
+    },
+    ETA {
+        @Override
+        double of(double pickupKm, double averageSpeedKmh) {
+            return pickupKm / averageSpeedKmh * 60;
+        }
+    };
+
+    abstract double of(double pickupKm, double averageSpeedKmh);
+}
@@ -0,0 +1,4 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+public record DispatchCycleResult(int scanned, int routable, int matched, int assigned, int conflicts, long backlog) {
+}
@@ -0,0 +1,6 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+import java.time.LocalDateTime;
+
+public record PendingOrder(String id, String origin, LocalDateTime createdOn) {
+}
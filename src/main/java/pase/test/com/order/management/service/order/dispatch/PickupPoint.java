@@ -0,0 +1,27 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+import java.util.Optional;
+
+// Orders carry no pickup coordinates of their own; an origin written as "latitude,longitude" is routable
+public record PickupPoint(double latitude, double longitude) {
+
+    public static Optional<PickupPoint> parse(String origin) {
+        if (origin == null) {
+            return Optional.empty();
+        }
+        int comma = origin.indexOf(',');
+        if (comma < 0 || origin.indexOf(',', comma + 1) >= 0) {
+            return Optional.empty();
+        }
+        try {
+            double latitude = Double.parseDouble(origin.substring(0, comma).trim());
+            double longitude = Double.parseDouble(origin.substring(comma + 1).trim());
+            if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                return Optional.empty();
+            }
+            return Optional.of(new PickupPoint(latitude, longitude));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
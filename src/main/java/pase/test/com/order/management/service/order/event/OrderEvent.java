@@ -0,0 +1,25 @@
+package pase.test.com.order.management.service.order.event;
+
+import java.time.LocalDateTime;
+import pase.test.com.database.dto.order.OrderResponse;
+
+public record OrderEvent(
+        OrderEventType type,
+        String orderId,
+        String driverId,
+        String statusLabel,
+        OrderResponse order,
+        LocalDateTime occurredOn
+) {
+
+    public static OrderEvent of(OrderEventType type, OrderResponse order) {
+        return new OrderEvent(
+                type,
+                order.getId(),
+                order.getDriver() != null ? order.getDriver().getId() : null,
+                order.getOrderStatus() != null ? order.getOrderStatus().getStatusLabel() : null,
+                order,
+                LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package pase.test.com.order.management.service.order.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class OrderEventReplayBuffer {
+
+    private final SequencedOrderEvent[] events;
+    private long nextSequence = 1;
+
+    public OrderEventReplayBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Replay buffer capacity must be positive: " + capacity);
+        }
+        this.events = new SequencedOrderEvent[capacity];
+    }
+
+    public synchronized SequencedOrderEvent append(OrderEvent event) {
+        SequencedOrderEvent sequenced = new SequencedOrderEvent(nextSequence, event);
+        events[(int) (nextSequence % events.length)] = sequenced;
+        nextSequence++;
+        return sequenced;
+    }
+
+    public synchronized List<SequencedOrderEvent> since(long lastSequence, Predicate<OrderEvent> filter) {
+        long oldest = Math.max(1, nextSequence - events.length);
+        long from = Math.max(lastSequence + 1, oldest);
+
+        List<SequencedOrderEvent> replay = new ArrayList<>();
+        for (long sequence = from; sequence < nextSequence; sequence++) {
+            SequencedOrderEvent sequenced = events[(int) (sequence % events.length)];
+            if (filter.test(sequenced.event())) {
+                replay.add(sequenced);
+            }
+        }
+        return replay;
+    }
+
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+}
@@ -0,0 +1,12 @@
+package pase.test.com.order.management.service.order.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderEventStreamService {
+
+    SseEmitter subscribeToOrder(String orderId, String lastEventId);
+
+    SseEmitter subscribeToOrders(String driverId, String statusLabel, String lastEventId);
+
+    int getSubscriberCount();
+}
@@ -0,0 +1,230 @@
+package pase.test.com.order.management.service.order.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pase.test.com.order.management.exception.SubscriberLimitExceededException;
+
+@Slf4j
+@Service
+public class OrderEventStreamServiceImpl implements OrderEventStreamService {
+
+    private static final SseEmitter.SseEventBuilder DISCONNECT = SseEmitter.event().comment("disconnect");
+    private static final SseEmitter.SseEventBuilder CLOSE = SseEmitter.event().comment("close");
+    private static final long SUBSCRIBER_LIMIT_RETRY_AFTER_SECONDS = 5;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory senderThreadFactory = Thread.ofVirtual().name("order-sse-", 0).factory();
+    private final OrderEventReplayBuffer replayBuffer;
+    private final Object publishLock = new Object();
+    private final Counter publishedCounter;
+    private final Counter slowClientCounter;
+    private final long emitterTimeoutMillis;
+    private final int subscriberQueueCapacity;
+    private final int maxSubscribers;
+
+    public OrderEventStreamServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.sse.replay-buffer-size:1024}") int replayBufferSize,
+            @Value("${app.sse.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${app.sse.subscriber-queue-capacity:64}") int subscriberQueueCapacity,
+            @Value("${app.sse.max-subscribers:10000}") int maxSubscribers
+    ) {
+        this.replayBuffer = new OrderEventReplayBuffer(replayBufferSize);
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.publishedCounter = Counter.builder("order.events.published")
+                .description("Order events pushed to SSE subscribers")
+                .register(meterRegistry);
+        this.slowClientCounter = Counter.builder("order.events.slow.clients")
+                .description("SSE subscribers disconnected because their queue was full")
+                .register(meterRegistry);
+        Gauge.builder("order.events.subscribers", subscribers, Set::size)
+                .description("Open SSE subscriptions for order events")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribeToOrder(String orderId, String lastEventId) {
+        log.info("Opening order event stream for order: {}", orderId);
+        return subscribe(event -> orderId.equals(event.orderId()), lastEventId);
+    }
+
+    @Override
+    public SseEmitter subscribeToOrders(String driverId, String statusLabel, String lastEventId) {
+        log.info("Opening order event stream with driverId: {} and status: {}", driverId, statusLabel);
+        return subscribe(event -> (driverId == null || driverId.equals(event.driverId()))
+                && (statusLabel == null || statusLabel.equalsIgnoreCase(event.statusLabel())), lastEventId);
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        synchronized (publishLock) {
+            SequencedOrderEvent sequenced = replayBuffer.append(event);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.test(event)) {
+                    subscriber.enqueue(toSseEvent(sequenced));
+                }
+            }
+        }
+        publishedCounter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(Subscriber::disconnect);
+    }
+
+    private SseEmitter subscribe(Predicate<OrderEvent> filter, String lastEventId) {
+        SseEmitter emitter = newEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Events appended before the snapshot are replayed, later ones reach the queue: none twice, none missed
+        Long lastSequence = parseLastEventId(lastEventId);
+        List<SequencedOrderEvent> replay;
+        synchronized (publishLock) {
+            // Checked under the lock so concurrent subscribes cannot overshoot the limit
+            if (subscribers.size() >= maxSubscribers) {
+                throw new SubscriberLimitExceededException("Too many order event subscribers, try again later",
+                        SUBSCRIBER_LIMIT_RETRY_AFTER_SECONDS);
+            }
+            replay = lastSequence != null ? replayBuffer.since(lastSequence, filter) : List.of();
+            subscribers.add(subscriber);
+        }
+
+        senderThreadFactory.newThread(() -> subscriber.drain(replay)).start();
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(SequencedOrderEvent sequenced) {
+        return SseEmitter.event()
+                .id(String.valueOf(sequenced.sequence()))
+                .name(sequenced.event().type().name())
+                .data(sequenced.event(), MediaType.APPLICATION_JSON);
+    }
+
+    private Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
+
+    // Only the sender thread touches the emitter: its writes are synchronized, so a publisher calling into a
+    // stalled client would block every other subscriber's events behind that socket
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Predicate<OrderEvent> filter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Predicate<OrderEvent> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            // A client that cannot keep up is cut off; it resumes with Last-Event-ID from the replay buffer
+            if (!queue.offer(event)) {
+                log.warn("Disconnecting slow order event subscriber, queue full");
+                slowClientCounter.increment();
+                disconnect();
+            }
+        }
+
+        // Stops fan-out at once and leaves completing the response to the sender once its current write returns
+        private void disconnect() {
+            stop(DISCONNECT);
+        }
+
+        // The container already finished the response, so the sender only has to exit
+        private void close() {
+            stop(CLOSE);
+        }
+
+        // The signal is queued rather than delivered by interrupt, so it also reaches a sender that has not started
+        private void stop(SseEmitter.SseEventBuilder signal) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            // A publisher past the closed check may still add an event, so clear until the signal fits
+            do {
+                queue.clear();
+            } while (!queue.offer(signal));
+        }
+
+        private void drain(List<SequencedOrderEvent> replay) {
+            try {
+                for (SequencedOrderEvent sequenced : replay) {
+                    emitter.send(toSseEvent(sequenced));
+                }
+                while (true) {
+                    SseEmitter.SseEventBuilder event = queue.take();
+                    if (event == DISCONNECT) {
+                        emitter.complete();
+                        return;
+                    }
+                    if (event == CLOSE) {
+                        return;
+                    }
+                    emitter.send(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Order event subscriber disconnected: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
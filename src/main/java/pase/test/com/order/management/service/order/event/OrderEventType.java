@@ -0,0 +1,8 @@
+package pase.test.com.order.management.service.order.event;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    STATUS_CHANGED,
+    DRIVER_ASSIGNED,
+    ATTACHMENT_ADDED
+}
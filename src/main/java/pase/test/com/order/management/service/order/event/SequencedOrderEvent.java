@@ -0,0 +1,4 @@
+package pase.test.com.order.management.service.order.event;
+
+public record SequencedOrderEvent(long sequence, OrderEvent event) {
+}
@@ -0,0 +1,35 @@
+package pase.test.com.order.management.service.order.feed;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record OrderChangeCursor(LocalDateTime lastUpdated, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderChangeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == decoded.length() - 1) {
+                throw new IllegalArgumentException("Invalid change cursor: " + cursor);
+            }
+            return new OrderChangeCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid change cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = lastUpdated + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
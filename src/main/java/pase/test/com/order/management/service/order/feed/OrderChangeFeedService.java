@@ -0,0 +1,9 @@
+package pase.test.com.order.management.service.order.feed;
+
+import java.util.concurrent.CompletableFuture;
+import pase.test.com.order.management.dto.OrderChangesResponse;
+
+public interface OrderChangeFeedService {
+
+    CompletableFuture<OrderChangesResponse> pollChanges(String since, int limit, long waitMillis);
+}
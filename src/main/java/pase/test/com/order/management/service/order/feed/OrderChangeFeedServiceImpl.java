@@ -0,0 +1,99 @@
+package pase.test.com.order.management.service.order.feed;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pase.test.com.order.management.dto.OrderChangesResponse;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+
+@Slf4j
+@Service
+public class OrderChangeFeedServiceImpl implements OrderChangeFeedService {
+
+    private final OrderService orderService;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean recheckScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("order-changes-poll").factory());
+    private final long settleMillis;
+    private final long maxWaitMillis;
+
+    public OrderChangeFeedServiceImpl(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            @Value("${app.order-changes.settle-ms:2000}") long settleMillis,
+            @Value("${app.order-changes.max-wait-ms:25000}") long maxWaitMillis
+    ) {
+        this.orderService = orderService;
+        this.settleMillis = settleMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        Gauge.builder("order.changes.waiting.polls", waiters, Set::size)
+                .description("Long-poll requests waiting for order changes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<OrderChangesResponse> pollChanges(String since, int limit, long waitMillis) {
+        OrderChangesResponse changes = orderService.getOrderChanges(since, limit);
+        if (!changes.getOrders().isEmpty() || waitMillis <= 0) {
+            return CompletableFuture.completedFuture(changes);
+        }
+
+        CompletableFuture<OrderChangesResponse> result = new CompletableFuture<>();
+        Waiter waiter = new Waiter(since, limit, result);
+        waiters.add(waiter);
+        result.completeOnTimeout(changes, Math.min(waitMillis, maxWaitMillis), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> waiters.remove(waiter));
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        // Coalesce bursts of commits into one recheck, delayed until the change is outside the settle window
+        if (recheckScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::recheckWaiters, settleMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void recheckWaiters() {
+        recheckScheduled.set(false);
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isDone()) {
+                continue;
+            }
+            try {
+                OrderChangesResponse changes = orderService.getOrderChanges(waiter.since(), waiter.limit());
+                if (!changes.getOrders().isEmpty()) {
+                    waiter.result().complete(changes);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to recheck order changes for waiting poll: {}", e.getMessage(), e);
+                waiter.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private record Waiter(String since, int limit, CompletableFuture<OrderChangesResponse> result) {
+    }
+}
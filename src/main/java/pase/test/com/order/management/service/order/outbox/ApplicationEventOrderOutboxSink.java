@@ -0,0 +1,29 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Listeners run inside the dispatcher's transaction, so one that throws sends the whole batch back for retry
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.event-sink.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationEventOrderOutboxSink implements OrderOutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "application-events";
+    }
+
+    @Override
+    public void deliver(List<OrderOutboxEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+        log.debug("Published {} outbox events to in-process listeners", events.size());
+    }
+}
@@ -0,0 +1,50 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.file-sink.path")
+public class FileOrderOutboxSink implements OrderOutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOrderOutboxSink(ObjectMapper objectMapper, @Value("${app.outbox.file-sink.path}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + path;
+    }
+
+    @Override
+    public synchronized void deliver(List<OrderOutboxEvent> events) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderOutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+        log.debug("Wrote {} outbox events to {}", events.size(), path);
+    }
+}
@@ -0,0 +1,125 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pase.test.com.order.management.repository.order.OrderOutboxRepository;
+
+@Slf4j
+@Component
+public class OrderOutboxDispatcher {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final List<OrderOutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OrderOutboxDispatcher(
+            OrderOutboxRepository orderOutboxRepository,
+            ObjectProvider<OrderOutboxSink> sinks,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.batch-size:200}") int batchSize,
+            @Value("${app.outbox.max-batches-per-run:50}") int maxBatchesPerRun
+    ) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.sinks = sinks.orderedStream().toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.dispatchedCounter = Counter.builder("order.outbox.dispatched")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.failed.batches")
+                .description("Outbox batches rolled back because a sink failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("order.outbox.batch")
+                .description("Time taken to lock, deliver and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+        if (this.sinks.isEmpty()) {
+            log.warn("No order outbox sinks configured, outbox events are kept until one is added");
+        } else {
+            log.info("Order outbox dispatcher configured with sinks: {}",
+                    this.sinks.stream().map(OrderOutboxSink::getName).toList());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${app.outbox.initial-delay-ms:5000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        // Deleting a batch no sink has seen would lose it
+        if (sinks.isEmpty()) {
+            updateLag();
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (dispatchBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("Order outbox dispatch failed, batch will be retried: {}", e.getMessage(), e);
+        }
+        updateLag();
+    }
+
+    int dispatchBatch() {
+        Integer dispatched = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OrderOutboxEvent> batch = orderOutboxRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            for (OrderOutboxSink sink : sinks) {
+                try {
+                    sink.deliver(batch);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Outbox sink " + sink.getName() + " failed", e);
+                }
+            }
+            orderOutboxRepository.deleteAll(batch);
+            return batch.size();
+        }));
+
+        int count = dispatched != null ? dispatched : 0;
+        dispatchedCounter.increment(count);
+        return count;
+    }
+
+    private void updateLag() {
+        try {
+            lagMillis.set(orderOutboxRepository.findOldestCreatedOn()
+                    .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.warn("Failed to compute order outbox lag: {}", e.getMessage());
+        }
+    }
+}
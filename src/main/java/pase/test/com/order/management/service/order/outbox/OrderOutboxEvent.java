@@ -0,0 +1,12 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import java.time.LocalDateTime;
+
+public record OrderOutboxEvent(
+        long id,
+        String eventType,
+        String aggregateId,
+        String payload,
+        LocalDateTime createdOn
+) {
+}
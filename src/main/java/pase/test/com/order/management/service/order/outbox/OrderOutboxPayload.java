@@ -0,0 +1,26 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import java.time.LocalDateTime;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+
+public record OrderOutboxPayload(
+        String orderId,
+        String orderNumber,
+        String statusLabel,
+        String driverId,
+        String attachmentId,
+        LocalDateTime occurredOn
+) {
+
+    public static OrderOutboxPayload from(OrderEvent event) {
+        return new OrderOutboxPayload(
+                event.orderId(),
+                event.order() != null ? event.order().getOrderNumber() : null,
+                event.statusLabel(),
+                event.driverId(),
+                event.order() != null && event.order().getAssignmentAttachment() != null
+                        ? event.order().getAssignmentAttachment().getId() : null,
+                event.occurredOn()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import java.util.List;
+
+public interface OrderOutboxSink {
+
+    String getName();
+
+    void deliver(List<OrderOutboxEvent> events) throws Exception;
+}
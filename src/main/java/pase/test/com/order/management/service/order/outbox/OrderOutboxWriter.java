@@ -0,0 +1,28 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pase.test.com.order.management.repository.order.OrderOutboxRepository;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxWriter {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // BEFORE_COMMIT runs inside the order transaction, so the outbox row commits or rolls back with it
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderEvent(OrderEvent event) throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(OrderOutboxPayload.from(event));
+        orderOutboxRepository.append(event.type().name(), event.orderId(), payload);
+        log.debug("Appended {} outbox event for order {}", event.type(), event.orderId());
+    }
+}
@@ -0,0 +1,107 @@
+package pase.test.com.order.management.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import pase.test.com.database.dto.ApiResponse;
+
+@Slf4j
+@Component
+public class ApiResponseStreamWriter {
+
+    private static final String ROWS_MARKER = "__pase_stream_rows__";
+    private static final String PAGE_CONTENT_FIELD = "content";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public ApiResponseStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // The envelope is rendered with a marker in place of its data, so field names and order match the
+    // regular serializer; rows are pulled from the stream only once the marker is reached.
+    public <T> void writeList(OutputStream out, String message, Stream<T> rows) throws IOException {
+        JsonNode envelope = objectMapper.valueToTree(ApiResponse.success(message, ROWS_MARKER));
+        try (JsonGenerator generator = createGenerator(out)) {
+            writeEnvelope(generator, envelope, () -> writeRows(generator, rows));
+        }
+    }
+
+    public <T> void writePage(OutputStream out, String message, Page<?> page, Stream<T> rows) throws IOException {
+        JsonNode envelope = objectMapper.valueToTree(ApiResponse.success(message, ROWS_MARKER));
+        JsonNode pageMetadata = objectMapper.valueToTree(page.map(row -> null));
+        try (JsonGenerator generator = createGenerator(out)) {
+            writeEnvelope(generator, envelope, () -> writePageObject(generator, pageMetadata, rows));
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private void writeEnvelope(JsonGenerator generator, JsonNode node, DataWriter dataWriter) throws IOException {
+        if (node.isTextual() && ROWS_MARKER.equals(node.textValue())) {
+            dataWriter.write();
+            return;
+        }
+        if (!node.isObject()) {
+            generator.writeTree(node);
+            return;
+        }
+
+        generator.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            writeEnvelope(generator, field.getValue(), dataWriter);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writePageObject(JsonGenerator generator, JsonNode pageMetadata, Stream<?> rows) throws IOException {
+        generator.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = pageMetadata.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            if (PAGE_CONTENT_FIELD.equals(field.getKey())) {
+                writeRows(generator, rows);
+            } else {
+                generator.writeTree(field.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeRows(JsonGenerator generator, Stream<?> rows) throws IOException {
+        generator.writeStartArray();
+        long written = 0;
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowWriter.writeValue(generator, iterator.next());
+            written++;
+        }
+        generator.writeEndArray();
+        log.debug("Streamed {} rows", written);
+    }
+
+    @FunctionalInterface
+    private interface DataWriter {
+        void write() throws IOException;
+    }
+}
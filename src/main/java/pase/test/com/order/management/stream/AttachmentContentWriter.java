@@ -0,0 +1,112 @@
+package pase.test.com.order.management.stream;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
+
+@Slf4j
+@Component
+public class AttachmentContentWriter {
+
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    public void write(AttachmentContent content, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // Handles If-None-Match (304) and If-Match (412), and sets the ETag header
+        if (new ServletWebRequest(request, response).checkNotModified(content.etag())) {
+            return;
+        }
+
+        long size = content.sizeBytes();
+        long start = 0;
+        long end = size - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request, content)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+                log.debug("Ignoring malformed Range header for attachment {}: {}", content.attachmentId(),
+                        e.getMessage());
+            }
+            // Multiple ranges would need a multipart/byteranges body; serving the whole file is also valid
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = size == 0 ? 0 : end - start + 1;
+        response.setContentType(content.contentType().toString());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(content.fileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // Tomcat hands the region to sendfile once the servlet returns; the end offset is exclusive
+            request.setAttribute(SENDFILE_FILENAME_ATTR, content.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        transfer(content, start, length, response);
+    }
+
+    // If-Range lets a client resume only while the representation is unchanged
+    private boolean isRangeApplicable(HttpServletRequest request, AttachmentContent content) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(content.etag());
+    }
+
+    private void transfer(AttachmentContent content, long start, long length, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(content.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package pase.test.com.order.management.stream;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+
+@FunctionalInterface
+public interface PageStreamHandler<T> {
+
+    void handle(Page<?> page, Stream<T> rows) throws IOException;
+}
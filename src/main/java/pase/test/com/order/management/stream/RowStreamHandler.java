@@ -0,0 +1,10 @@
+package pase.test.com.order.management.stream;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+@FunctionalInterface
+public interface RowStreamHandler<T> {
+
+    void handle(Stream<T> rows) throws IOException;
+}
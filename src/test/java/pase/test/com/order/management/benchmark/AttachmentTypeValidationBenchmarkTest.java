@@ -0,0 +1,64 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Attachment Extension Validation Benchmark")
+class AttachmentTypeValidationBenchmarkTest {
+
+    private static final String ALLOWED_EXTENSIONS = ".png,.jpg,.jpeg,.gif,.webp,.tif,.tiff,.bmp,.heic,.pdf";
+    private static final String[] CANDIDATES = {".pdf", ".PNG", ".pd", ".exe", ".jpeg", ".tif", ".docx", ".heic"};
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 2_000_000;
+
+    @Test
+    @DisplayName("Should check a precompiled extension set faster than re-parsing the stored list")
+    void shouldCompareExtensionChecks() {
+        Set<String> compiled = compile(ALLOWED_EXTENSIONS);
+
+        int legacyMatches = 0;
+        int compiledMatches = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            legacyMatches += legacy(ALLOWED_EXTENSIONS, CANDIDATES[i % CANDIDATES.length]) ? 1 : 0;
+            compiledMatches += compiled.contains(normalize(CANDIDATES[i % CANDIDATES.length])) ? 1 : 0;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            legacyMatches += legacy(ALLOWED_EXTENSIONS, CANDIDATES[i % CANDIDATES.length]) ? 1 : 0;
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            compiledMatches += compiled.contains(normalize(CANDIDATES[i % CANDIDATES.length])) ? 1 : 0;
+        }
+        long compiledNanos = System.nanoTime() - start;
+
+        log.info("substring contains: {} ns/op, compiled set: {} ns/op",
+                legacyNanos / MEASURED_ITERATIONS, compiledNanos / MEASURED_ITERATIONS);
+        // The substring check also accepts ".pd", so it reports more matches than the exact set
+        assertThat(legacyMatches).isGreaterThan(compiledMatches);
+        assertThat(compiledNanos).isLessThan(legacyNanos);
+    }
+
+    private static boolean legacy(String allowedExtensions, String fileExtension) {
+        return allowedExtensions.toLowerCase().contains(fileExtension.toLowerCase());
+    }
+
+    private static Set<String> compile(String allowedExtensions) {
+        return Set.of(allowedExtensions.split(","));
+    }
+
+    private static String normalize(String fileExtension) {
+        return fileExtension.toLowerCase(Locale.ROOT);
+    }
+}
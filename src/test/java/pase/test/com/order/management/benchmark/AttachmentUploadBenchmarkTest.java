@@ -0,0 +1,104 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+import pase.test.com.order.management.service.order.attachment.storage.FileSystemAttachmentStorage;
+import pase.test.com.order.management.service.order.attachment.storage.StoredFile;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Multipart Spill vs Streaming Upload Benchmark")
+class AttachmentUploadBenchmarkTest {
+
+    private static final int FILE_SIZE = 10 * 1024 * 1024;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    @DisplayName("Should write a 10MB upload once instead of spilling it to a temp file first")
+    void shouldCompareMultipartSpillWithStreaming() throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        Arrays.fill(content, (byte) 'x');
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 8);
+
+        Path spillDirectory = Files.createDirectories(workDirectory.resolve("spill"));
+        Path multipartDirectory = Files.createDirectories(workDirectory.resolve("multipart"));
+        AttachmentBlobRepository blobRepository = mock(AttachmentBlobRepository.class);
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+        FileSystemAttachmentStorage storage = new FileSystemAttachmentStorage(
+                workDirectory.resolve("stream").toString(), FILE_SIZE, blobRepository, new SimpleMeterRegistry());
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            multipartUpload(content, spillDirectory, multipartDirectory);
+            streamingUpload(content, storage);
+        }
+
+        long multipartBytes = 0;
+        long streamingBytes = 0;
+        long multipartNanos = 0;
+        long streamingNanos = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            multipartBytes += multipartUpload(content, spillDirectory, multipartDirectory);
+            long multipartDone = System.nanoTime();
+            streamingBytes += streamingUpload(content, storage);
+            long streamingDone = System.nanoTime();
+            multipartNanos += multipartDone - start;
+            streamingNanos += streamingDone - multipartDone;
+        }
+
+        log.info("multipart spill: {} MB/s, {} bytes written per upload",
+                throughput(multipartNanos), multipartBytes / MEASURED_ITERATIONS);
+        log.info("streaming:       {} MB/s, {} bytes written per upload",
+                throughput(streamingNanos), streamingBytes / MEASURED_ITERATIONS);
+
+        assertThat(streamingBytes * 2).isEqualTo(multipartBytes);
+    }
+
+    // Mirrors the previous path: the container spills the part to disk, then the service copies it again
+    private long multipartUpload(byte[] content, Path spillDirectory, Path targetDirectory) throws IOException {
+        Path spill = Files.createTempFile(spillDirectory, "upload", ".tmp");
+        long written = Files.copy(new ByteArrayInputStream(content), spill, StandardCopyOption.REPLACE_EXISTING);
+        Path target = Files.createTempFile(targetDirectory, "attachment", ".pdf");
+        try (InputStream in = Files.newInputStream(spill)) {
+            written += Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.delete(spill);
+        Files.delete(target);
+        return written;
+    }
+
+    private long streamingUpload(byte[] content, FileSystemAttachmentStorage storage) throws IOException {
+        StoredFile stored = storage.store(new ByteArrayInputStream(content), "attachment.pdf", (head, length) -> {
+        });
+        Files.delete(stored.path());
+        return stored.sizeBytes();
+    }
+
+    private long throughput(long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        return Math.round((double) FILE_SIZE * MEASURED_ITERATIONS / (1024 * 1024) / seconds);
+    }
+}
@@ -0,0 +1,104 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.ApiResponse;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.config.MapperConfig;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("JSON vs CBOR vs Smile Benchmark")
+class BinaryFormatBenchmarkTest {
+
+    private static final int ORDERS = 1000;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    private final MapperConfig mapperConfig = new MapperConfig();
+
+    @Test
+    @DisplayName("Should serialize a 1,000-order page smaller with binary formats")
+    void shouldCompareFormatsForOrderPage() throws IOException {
+        ApiResponse<List<OrderResponse>> page = ApiResponse.success("Orders retrieved successfully", orders());
+
+        Result json = measure("application/json", mapperConfig.objectMapper(), page);
+        Result cbor = measure("application/cbor", mapperConfig.cborObjectMapper(), page);
+        Result smile = measure("application/x-jackson-smile", mapperConfig.smileObjectMapper(), page);
+
+        assertThat(cbor.bytes()).isLessThan(json.bytes());
+        assertThat(smile.bytes()).isLessThan(json.bytes());
+    }
+
+    private Result measure(String format, ObjectMapper mapper, ApiResponse<List<OrderResponse>> page)
+            throws IOException {
+        JavaType type = mapper.getTypeFactory()
+                .constructParametricType(ApiResponse.class,
+                        mapper.getTypeFactory().constructCollectionType(List.class, OrderResponse.class));
+
+        byte[] payload = mapper.writeValueAsBytes(page);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(page), type);
+        }
+
+        long serializeNanos = 0;
+        long deserializeNanos = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            payload = mapper.writeValueAsBytes(page);
+            long serialized = System.nanoTime();
+            mapper.readValue(payload, type);
+            deserializeNanos += System.nanoTime() - serialized;
+            serializeNanos += serialized - start;
+        }
+
+        Result result = new Result(payload.length, serializeNanos / MEASURED_ITERATIONS / 1000,
+                deserializeNanos / MEASURED_ITERATIONS / 1000);
+        log.info("{}: {} bytes, serialize {} us/op, deserialize {} us/op",
+                format, result.bytes(), result.serializeMicros(), result.deserializeMicros());
+        return result;
+    }
+
+    private List<OrderResponse> orders() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        return IntStream.range(0, ORDERS)
+                .mapToObj(i -> OrderResponse.builder()
+                        .id("order-" + i)
+                        .orderNumber("ORD-" + (10000 + i))
+                        .origin("Origin City " + (i % 50))
+                        .destination("Destination City " + (i % 70))
+                        .distanceKm(12.5 + i)
+                        .estimatedDurationMinutes(30 + i % 90)
+                        .orderStatus(OrderResponse.OrderStatusInfo.builder()
+                                .id("status-assigned")
+                                .statusLabel("ASSIGNED")
+                                .build())
+                        .driver(DriverResponse.builder()
+                                .id("driver-" + (i % 200))
+                                .driverName("Driver " + (i % 200))
+                                .licenseNumber("LIC-" + (i % 200))
+                                .phoneNumber("555000" + (i % 200))
+                                .email("driver" + (i % 200) + "@test.com")
+                                .enabled(true)
+                                .build())
+                        .createdOn(now.plusMinutes(i))
+                        .lastUpdated(now.plusMinutes(i + 5))
+                        .modifiedBy("dispatcher")
+                        .build())
+                .toList();
+    }
+
+    private record Result(int bytes, long serializeMicros, long deserializeMicros) {
+    }
+}
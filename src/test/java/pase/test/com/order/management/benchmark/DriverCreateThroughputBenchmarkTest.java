@@ -0,0 +1,191 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.AuditorAware;
+import pase.test.com.database.dto.driver.DriverCreateRequest;
+import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.database.repository.driver.DriverRepository;
+import pase.test.com.order.management.repository.driver.DriverQueryRepository;
+import pase.test.com.order.management.service.driver.DriverServiceImpl;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverRoster;
+import pase.test.com.order.management.service.driver.search.DriverSearchIndex;
+import pase.test.com.order.management.service.driver.state.DriverStateCache;
+import pase.test.com.order.management.service.driver.uniqueness.DriverUniquenessFilter;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Driver Create Throughput Benchmark")
+class DriverCreateThroughputBenchmarkTest {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int POOL_SIZE = 15;
+    private static final int CLIENTS = 32;
+    private static final int CREATES = 3_000;
+    private static final int EXISTING_DRIVERS = 100_000;
+
+    // Each create holds a pooled connection for its whole transaction, as @Transactional does, so every extra
+    // statement lowers the throughput the pool can sustain
+    private final Semaphore connections = new Semaphore(POOL_SIZE);
+    private final AtomicInteger sequence = new AtomicInteger(EXISTING_DRIVERS);
+
+    @Test
+    @DisplayName("Should create more drivers per second with one collision query and fewer still with the filter")
+    void shouldCompareCreateThroughput() throws Exception {
+        DriverRepository driverRepository = mock(DriverRepository.class, withSettings().stubOnly());
+        when(driverRepository.existsByDriverName(anyString())).thenAnswer(invocation -> roundTrip(false));
+        when(driverRepository.existsByLicenseNumber(anyString())).thenAnswer(invocation -> roundTrip(false));
+        when(driverRepository.existsByEmail(anyString())).thenAnswer(invocation -> roundTrip(false));
+        when(driverRepository.existsByPhoneNumber(anyString())).thenAnswer(invocation -> roundTrip(false));
+        when(driverRepository.save(any(Driver.class))).thenAnswer(invocation -> inserted(invocation.getArgument(0)));
+        when(driverRepository.saveAndFlush(any(Driver.class)))
+                .thenAnswer(invocation -> inserted(invocation.getArgument(0)));
+
+        DriverQueryRepository driverQueryRepository = mock(DriverQueryRepository.class, withSettings().stubOnly());
+        when(driverQueryRepository.findCollisions(any(Driver.class))).thenAnswer(invocation -> roundTrip(Set.of()));
+        DriverSearchIndex driverSearchIndex = mock(DriverSearchIndex.class, withSettings().stubOnly());
+        ActiveDriverRoster activeDriverRoster = mock(ActiveDriverRoster.class, withSettings().stubOnly());
+        DriverStateCache driverStateCache = mock(DriverStateCache.class, withSettings().stubOnly());
+        DriverSpatialIndex driverSpatialIndex = mock(DriverSpatialIndex.class, withSettings().stubOnly());
+        @SuppressWarnings("unchecked")
+        AuditorAware<String> auditorAware = mock(AuditorAware.class, withSettings().stubOnly());
+
+        DriverUniquenessFilter disabledFilter = new DriverUniquenessFilter(new SimpleMeterRegistry(), false, 1, 0.01);
+        DriverUniquenessFilter loadedFilter = new DriverUniquenessFilter(new SimpleMeterRegistry(), true,
+                EXISTING_DRIVERS * 2, 0.01);
+        for (int i = 0; i < EXISTING_DRIVERS; i++) {
+            loadedFilter.add(driver(i));
+        }
+        loadedFilter.markReady();
+        loadedFilter.markIndexed();
+
+        DriverServiceImpl queried = new DriverServiceImpl(driverRepository, driverQueryRepository,
+                driverSearchIndex, disabledFilter, activeDriverRoster, driverStateCache, driverSpatialIndex,
+                auditorAware);
+        DriverServiceImpl filtered = new DriverServiceImpl(driverRepository, driverQueryRepository,
+                driverSearchIndex, loadedFilter, activeDriverRoster, driverStateCache, driverSpatialIndex,
+                auditorAware);
+
+        // Per-create INFO logging would otherwise dominate a run with no real database behind it
+        Logger serviceLogger = (Logger) LoggerFactory.getLogger(DriverServiceImpl.class);
+        serviceLogger.setLevel(Level.WARN);
+
+        run("warmup", request -> createWithExistsChecks(driverRepository, request));
+        run("warmup", queried::createDriver);
+        run("warmup", filtered::createDriver);
+
+        double perField = run("four exists queries", request -> createWithExistsChecks(driverRepository, request));
+        double combined = run("one collision query", queried::createDriver);
+        double bloom = run("bloom filter", filtered::createDriver);
+
+        serviceLogger.setLevel(null);
+
+        assertThat(combined).isGreaterThan(perField * 1.5);
+        assertThat(bloom).isGreaterThan(combined * 1.25);
+    }
+
+    private double run(String label, CreateCall call) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < CREATES; i++) {
+                DriverCreateRequest request = request(sequence.getAndIncrement());
+                futures.add(clients.submit(() -> {
+                    connections.acquireUninterruptibly();
+                    try {
+                        call.create(request);
+                    } finally {
+                        connections.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double perSecond = CREATES * 1e9 / (System.nanoTime() - start);
+            if (!"warmup".equals(label)) {
+                log.info("{}: {} creates/s with {} clients on {} connections", label, Math.round(perSecond),
+                        CLIENTS, POOL_SIZE);
+            }
+            return perSecond;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // The check createDriver ran before the combined query: one round trip per unique field
+    private static void createWithExistsChecks(DriverRepository driverRepository, DriverCreateRequest request) {
+        if (driverRepository.existsByDriverName(request.getDriverName())
+                || driverRepository.existsByLicenseNumber(request.getLicenseNumber())
+                || driverRepository.existsByEmail(request.getEmail())
+                || driverRepository.existsByPhoneNumber(request.getPhoneNumber())) {
+            throw new IllegalStateException("Unexpected duplicate");
+        }
+        driverRepository.save(Driver.builder()
+                .driverName(request.getDriverName())
+                .licenseNumber(request.getLicenseNumber())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .build());
+    }
+
+    private static <T> T roundTrip(T result) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return result;
+    }
+
+    private static Driver inserted(Driver driver) {
+        driver.setId(UUID.randomUUID().toString());
+        return roundTrip(driver);
+    }
+
+    private static Driver driver(int i) {
+        DriverCreateRequest request = request(i);
+        return Driver.builder()
+                .driverName(request.getDriverName())
+                .licenseNumber(request.getLicenseNumber())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .build();
+    }
+
+    private static DriverCreateRequest request(int i) {
+        return DriverCreateRequest.builder()
+                .driverName("Driver " + i)
+                .licenseNumber("LIC-" + i)
+                .email("driver" + i + "@fleet.test")
+                .phoneNumber(String.format("555-%07d", i))
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface CreateCall {
+        void create(DriverCreateRequest request);
+    }
+}
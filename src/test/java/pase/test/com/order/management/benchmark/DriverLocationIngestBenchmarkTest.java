@@ -0,0 +1,152 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntUnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import pase.test.com.order.management.dto.DriverLocationBatchRequest;
+import pase.test.com.order.management.dto.DriverLocationBatchResponse;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.location.DriverLocationServiceImpl;
+import pase.test.com.order.management.service.driver.location.DriverLocationStore;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.state.DriverState;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Driver Location Ingest Benchmark")
+class DriverLocationIngestBenchmarkTest {
+
+    private static final int DRIVERS = 20_000;
+    private static final int CLIENTS = 4;
+    private static final int BATCH_SIZE = 50;
+    private static final int SATURATION_BATCHES_PER_CLIENT = 5_000;
+    private static final int TARGET_PINGS_PER_SECOND = 50_000;
+    private static final long PACED_RUN_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    @Test
+    @DisplayName("Should accept tens of thousands of pings per second without per-ping database writes")
+    void shouldSustainHighPingRate() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriverLocationHistoryRepository historyRepository = mock(DriverLocationHistoryRepository.class);
+        DriverService driverService = mock(DriverService.class, withSettings().stubOnly());
+        when(driverService.getDriverState(anyString()))
+                .thenAnswer(invocation -> new DriverState(invocation.getArgument(0), true, 0, 0, null));
+        DriverLocationServiceImpl service = new DriverLocationServiceImpl(driverService,
+                new DriverLocationStore(DRIVERS), historyRepository, new DriverSpatialIndex(0.01), meterRegistry,
+                65_536, 5, true, 500, 50, 100, 300);
+        List<List<DriverLocationBatchRequest.Ping>> batches = batches();
+        service.start();
+
+        // Clients sending as fast as they can: what one node accepts before the buffer starts pushing back
+        long start = System.nanoTime();
+        long[] saturated = run(service, batches, client -> SATURATION_BATCHES_PER_CLIENT, 0);
+        double saturatedRate = (saturated[0] + saturated[1]) * 1e9 / (System.nanoTime() - start);
+        drained(meterRegistry);
+        log.info("saturation: {} pings/s offered from {} clients, {} accepted, {} pushed back",
+                Math.round(saturatedRate), CLIENTS, saturated[0], saturated[1]);
+
+        // Clients pacing themselves at the target rate: nothing may be dropped and positions must stay fresh
+        Timer lag = meterRegistry.timer("driver.location.ingest.lag");
+        long lagSamples = lag.count();
+        double lagTotal = lag.totalTime(TimeUnit.MICROSECONDS);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * BATCH_SIZE * CLIENTS / TARGET_PINGS_PER_SECOND;
+        start = System.nanoTime();
+        long[] paced = run(service, batches, client -> (int) (PACED_RUN_NANOS / intervalNanos), intervalNanos);
+        double pacedRate = paced[0] * 1e9 / (System.nanoTime() - start);
+        drained(meterRegistry);
+        double pacedLagMicros = (lag.totalTime(TimeUnit.MICROSECONDS) - lagTotal) / (lag.count() - lagSamples);
+        log.info("paced: {} pings/s accepted, {} dropped, mean ingest lag {} us", Math.round(pacedRate), paced[1],
+                Math.round(pacedLagMicros));
+
+        service.flushHistory();
+        service.shutdown();
+
+        assertThat(saturatedRate).isGreaterThan(TARGET_PINGS_PER_SECOND);
+        assertThat(paced[1]).isZero();
+        assertThat(pacedRate).isGreaterThan(TARGET_PINGS_PER_SECOND * 0.9);
+        assertThat(pacedLagMicros).isLessThan(50_000);
+        // One sampled row per driver, written in batches, however many pings each driver sent
+        verify(historyRepository, times(1)).insertAll(anyList(), eq(500));
+        assertThat(meterRegistry.counter("driver.location.history.rows").count())
+                .isEqualTo(meterRegistry.get("driver.location.drivers").gauge().value());
+    }
+
+    private static long[] run(DriverLocationServiceImpl service, List<List<DriverLocationBatchRequest.Ping>> batches,
+                              IntUnaryOperator batchesPerClient, long intervalNanos) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            futures.add(executor.submit(() -> {
+                long[] counts = new long[2];
+                long next = System.nanoTime();
+                int count = batchesPerClient.applyAsInt(client);
+                for (int b = 0; b < count; b++) {
+                    if (intervalNanos > 0) {
+                        next += intervalNanos;
+                        LockSupport.parkNanos(next - System.nanoTime());
+                    }
+                    DriverLocationBatchResponse response = service.ingest(
+                            batches.get((client * count + b) % batches.size()), null);
+                    counts[0] += response.getAccepted();
+                    counts[1] += response.getRejected();
+                }
+                return counts;
+            }));
+        }
+        long[] totals = new long[2];
+        for (Future<long[]> future : futures) {
+            long[] counts = future.get();
+            totals[0] += counts[0];
+            totals[1] += counts[1];
+        }
+        executor.shutdown();
+        return totals;
+    }
+
+    private static void drained(SimpleMeterRegistry meterRegistry) throws InterruptedException {
+        while (meterRegistry.get("driver.location.buffer.size").gauge().value() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static List<List<DriverLocationBatchRequest.Ping>> batches() {
+        Random random = new Random(42);
+        List<List<DriverLocationBatchRequest.Ping>> batches = new ArrayList<>();
+        for (int b = 0; b < 2_000; b++) {
+            List<DriverLocationBatchRequest.Ping> pings = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                pings.add(DriverLocationBatchRequest.Ping.builder()
+                        .driverId("driver-" + random.nextInt(DRIVERS))
+                        .latitude(52.0 + random.nextDouble())
+                        .longitude(13.0 + random.nextDouble())
+                        .build());
+            }
+            batches.add(pings);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,107 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import pase.test.com.order.management.service.driver.location.DriverPosition;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.location.NearbyDriver;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Driver Nearest Query Benchmark")
+class DriverNearestBenchmarkTest {
+
+    private static final int DRIVERS = 50_000;
+    private static final int K = 10;
+    private static final double RADIUS_KM = 10;
+    private static final int WARMUP_QUERIES = 20_000;
+    private static final int MEASURED_QUERIES = 20_000;
+    // A metro area of roughly 55 x 50 km
+    private static final double MIN_LAT = 52.25;
+    private static final double MIN_LON = 13.05;
+    private static final double SPAN = 0.6;
+
+    @Test
+    @DisplayName("Should answer k-nearest queries over 50k drivers in well under a millisecond")
+    void shouldAnswerNearestQueriesQuickly() {
+        Random random = new Random(42);
+        DriverSpatialIndex index = new DriverSpatialIndex(0.01);
+        DriverPosition[] positions = new DriverPosition[DRIVERS];
+        for (int i = 0; i < DRIVERS; i++) {
+            positions[i] = new DriverPosition("driver-" + i, MIN_LAT + random.nextDouble() * SPAN,
+                    MIN_LON + random.nextDouble() * SPAN, 1000);
+            index.setEnabled(positions[i].driverId(), true);
+            index.updatePosition(positions[i]);
+        }
+        // A third of the fleet is out on deliveries
+        for (int i = 0; i < DRIVERS; i += 3) {
+            index.setBusy(positions[i].driverId(), true);
+        }
+
+        double[][] queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[] {MIN_LAT + random.nextDouble() * SPAN, MIN_LON + random.nextDouble() * SPAN};
+        }
+
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            double[] query = queries[i % queries.length];
+            index.nearest(query[0], query[1], K, RADIUS_KM, 0);
+        }
+        long[] latencies = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            double[] query = queries[i % queries.length];
+            long start = System.nanoTime();
+            index.nearest(query[0], query[1], K, RADIUS_KM, 0);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double meanMicros = Arrays.stream(latencies).average().orElseThrow() / 1000;
+        double p99Micros = latencies[(int) (MEASURED_QUERIES * 0.99)] / 1000.0;
+
+        long scanStart = System.nanoTime();
+        int scans = 50;
+        for (int i = 0; i < scans; i++) {
+            double[] query = queries[i];
+            assertThat(index.nearest(query[0], query[1], K, RADIUS_KM, 0))
+                    .extracting(NearbyDriver::driverId)
+                    .containsExactly(linearScan(positions, query[0], query[1]));
+        }
+        double scanMicros = (System.nanoTime() - scanStart) / 1000.0 / scans;
+
+        log.info("{} available of {} drivers: grid mean {} us, p99 {} us; full haversine scan {} us",
+                index.availableCount(), DRIVERS, Math.round(meanMicros), Math.round(p99Micros),
+                Math.round(scanMicros));
+        assertThat(meanMicros).isLessThan(200);
+        assertThat(p99Micros).isLessThan(1000);
+        assertThat(meanMicros * 10).isLessThan(scanMicros);
+    }
+
+    // What picking the closest drivers costs without the grid: a haversine per available driver
+    private static String[] linearScan(DriverPosition[] positions, double lat, double lon) {
+        PriorityQueue<double[]> best = new PriorityQueue<>((a, b) -> Double.compare(b[0], a[0]));
+        for (int i = 0; i < positions.length; i++) {
+            if (i % 3 == 0) {
+                continue;
+            }
+            double distance = DriverSpatialIndex.haversineKm(lat, lon, positions[i].latitude(),
+                    positions[i].longitude());
+            if (distance <= RADIUS_KM && (best.size() < K || distance < best.peek()[0])) {
+                best.add(new double[] {distance, i});
+                if (best.size() > K) {
+                    best.poll();
+                }
+            }
+        }
+        return best.stream()
+                .sorted((a, b) -> Double.compare(a[0], b[0]))
+                .map(entry -> positions[(int) entry[1]].driverId())
+                .toArray(String[]::new);
+    }
+}
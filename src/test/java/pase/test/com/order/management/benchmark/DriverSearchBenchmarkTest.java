@@ -0,0 +1,124 @@
+package pase.test.com.order.management.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.order.management.service.driver.search.DriverSearchIndex;
+
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Driver Search Index Benchmark")
+class DriverSearchBenchmarkTest {
+
+    private static final int DRIVERS = 100_000;
+    private static final int LIMIT = 20;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final String[] SYLLABLES = {"an", "bo", "car", "di", "el", "fa", "gra", "hi", "in", "jo", "ke",
+            "len", "mar", "na", "os", "pri", "ro", "sa", "ta", "vi", "wen", "ya", "zo", "lu"};
+    // Selective type-ahead queries, plus broad ones that match thousands of drivers
+    private static final String[] SELECTIVE_QUERIES = {"lic-00421", "marosa", "08123", "vitajo", "555-00991",
+            "pri.ke", "wenzo", "hiyalu"};
+    private static final String[] BROAD_QUERIES = {"gra", "@fleet3.", "mar", "lu"};
+
+    @Test
+    @DisplayName("Should answer type-ahead queries over 100k drivers faster than a LIKE-style scan")
+    void shouldCompareIndexWithLinearScan() {
+        List<DriverResponse> drivers = drivers();
+
+        long buildStart = System.nanoTime();
+        DriverSearchIndex index = new DriverSearchIndex(1024);
+        drivers.forEach(index::put);
+        index.markReady();
+        log.info("Indexed {} drivers in {} ms", DRIVERS, (System.nanoTime() - buildStart) / 1_000_000);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            measure(index, drivers, SELECTIVE_QUERIES[i % SELECTIVE_QUERIES.length]);
+            measure(index, drivers, BROAD_QUERIES[i % BROAD_QUERIES.length]);
+        }
+
+        long[] selective = new long[2];
+        long[] broad = new long[2];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            accumulate(selective, measure(index, drivers, SELECTIVE_QUERIES[i % SELECTIVE_QUERIES.length]));
+            accumulate(broad, measure(index, drivers, BROAD_QUERIES[i % BROAD_QUERIES.length]));
+        }
+
+        log.info("selective queries: index {} us/op, LIKE-style scan {} us/op",
+                selective[0] / MEASURED_ITERATIONS / 1000, selective[1] / MEASURED_ITERATIONS / 1000);
+        log.info("broad queries: index {} us/op, LIKE-style scan {} us/op",
+                broad[0] / MEASURED_ITERATIONS / 1000, broad[1] / MEASURED_ITERATIONS / 1000);
+        assertThat(selective[0] * 20).isLessThan(selective[1]);
+        assertThat(broad[0] * 3).isLessThan(broad[1]);
+    }
+
+    private static long[] measure(DriverSearchIndex index, List<DriverResponse> drivers, String query) {
+        long start = System.nanoTime();
+        List<DriverResponse> indexed = index.search(query, LIMIT);
+        long afterIndex = System.nanoTime();
+        List<DriverResponse> scanned = linearScan(drivers, query);
+        long afterScan = System.nanoTime();
+        assertThat(indexed.size()).isEqualTo(scanned.size());
+        return new long[] {afterIndex - start, afterScan - afterIndex};
+    }
+
+    private static void accumulate(long[] totals, long[] sample) {
+        totals[0] += sample[0];
+        totals[1] += sample[1];
+    }
+
+    // What '%q%' over the four columns costs without an index, before ranking or paging
+    private static List<DriverResponse> linearScan(List<DriverResponse> drivers, String query) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        List<DriverResponse> matches = new ArrayList<>();
+        for (DriverResponse driver : drivers) {
+            if (driver.getDriverName().toLowerCase(Locale.ROOT).contains(normalized)
+                    || driver.getLicenseNumber().toLowerCase(Locale.ROOT).contains(normalized)
+                    || driver.getEmail().toLowerCase(Locale.ROOT).contains(normalized)
+                    || driver.getPhoneNumber().contains(normalized)) {
+                matches.add(driver);
+            }
+        }
+        matches.sort(Comparator.comparing(DriverResponse::getDriverName));
+        return matches.subList(0, Math.min(LIMIT, matches.size()));
+    }
+
+    private static List<DriverResponse> drivers() {
+        Random random = new Random(42);
+        List<DriverResponse> drivers = new ArrayList<>(DRIVERS);
+        for (int i = 0; i < DRIVERS; i++) {
+            String first = name(random, 2);
+            String last = name(random, 3);
+            drivers.add(DriverResponse.builder()
+                    .id("driver-" + i)
+                    .driverName(capitalize(first) + " " + capitalize(last) + " " + i)
+                    .licenseNumber(String.format("LIC-%07d", i))
+                    .email(first + "." + last + i + "@fleet" + (i % 10) + ".com")
+                    .phoneNumber(String.format("555-%07d", random.nextInt(10_000_000)))
+                    .enabled(true)
+                    .build());
+        }
+        return drivers;
+    }
+
+    private static String name(Random random, int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,52 @@
+package pase.test.com.order.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.ApiResponse;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+@DisplayName("Mapper Configuration Tests")
+class MapperConfigTest {
+
+    private final MapperConfig mapperConfig = new MapperConfig();
+
+    @Test
+    @DisplayName("Should produce the same document through JSON, CBOR and Smile mappers")
+    void shouldProduceSameDocumentForAllFormats() throws IOException {
+        ApiResponse<List<DriverResponse>> response = ApiResponse.success("Active drivers retrieved successfully",
+                List.of(DriverResponse.builder()
+                        .id("driver-1")
+                        .driverName("John Doe")
+                        .enabled(true)
+                        .createdOn(LocalDateTime.of(2024, 1, 1, 10, 30))
+                        .build()));
+
+        JsonNode json = roundTrip(mapperConfig.objectMapper(), response);
+
+        assertThat(roundTrip(mapperConfig.cborObjectMapper(), response)).isEqualTo(json);
+        assertThat(roundTrip(mapperConfig.smileObjectMapper(), response)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("Should write dates as ISO strings in binary formats")
+    void shouldWriteDatesAsIsoStringsInBinaryFormats() throws IOException {
+        DriverResponse driver = DriverResponse.builder()
+                .createdOn(LocalDateTime.of(2024, 1, 1, 10, 30))
+                .build();
+
+        JsonNode cbor = roundTrip(mapperConfig.cborObjectMapper(), driver);
+
+        assertThat(cbor.get("createdOn").asText()).isEqualTo("2024-01-01T10:30:00");
+    }
+
+    private JsonNode roundTrip(ObjectMapper mapper, Object value) throws IOException {
+        return mapper.readTree(mapper.writeValueAsBytes(value));
+    }
+}
@@ -2,21 +2,49 @@ package pase.test.com.order.management.service.driver;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import pase.test.com.database.dto.driver.DriverCreateRequest;
 import pase.test.com.database.dto.driver.DriverResponse;
 import pase.test.com.database.entity.driver.Driver;
+import pase.test.com.database.exception.auth.UserAlreadyExistsException;
+import pase.test.com.database.exception.auth.UserNotFoundException;
 import pase.test.com.database.repository.driver.DriverRepository;
+import pase.test.com.order.management.dto.DriverStatusBatchResponse;
+import pase.test.com.order.management.repository.driver.DriverQueryRepository;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverRoster;
+import pase.test.com.order.management.service.driver.roster.ActiveDriverSnapshot;
+import pase.test.com.order.management.service.driver.search.DriverSearchIndex;
+import pase.test.com.order.management.service.driver.state.DriverState;
+import pase.test.com.order.management.service.driver.state.DriverStateCache;
+import pase.test.com.order.management.service.driver.uniqueness.DriverUniquenessFilter;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Driver Service Implementation Tests")
@@ -25,6 +53,27 @@ class DriverServiceImplTest {
     @Mock
     private DriverRepository driverRepository;
 
+    @Mock
+    private DriverQueryRepository driverQueryRepository;
+
+    @Mock
+    private DriverSearchIndex driverSearchIndex;
+
+    @Mock
+    private DriverUniquenessFilter driverUniquenessFilter;
+
+    @Mock
+    private ActiveDriverRoster activeDriverRoster;
+
+    @Mock
+    private DriverStateCache driverStateCache;
+
+    @Mock
+    private DriverSpatialIndex driverSpatialIndex;
+
+    @Mock
+    private AuditorAware<String> auditorAware;
+
     @InjectMocks
     private DriverServiceImpl driverService;
 
@@ -38,10 +87,8 @@ class DriverServiceImplTest {
                 .phoneNumber("1234567890")
                 .build();
 
-        when(driverRepository.existsByDriverName("John Doe")).thenReturn(false);
-        when(driverRepository.existsByLicenseNumber("ABC123")).thenReturn(false);
-        when(driverRepository.existsByEmail("john.doe@example.com")).thenReturn(false);
-        when(driverRepository.existsByPhoneNumber("1234567890")).thenReturn(false);
+        when(driverUniquenessFilter.mightCollide(any(Driver.class))).thenReturn(true);
+        when(driverQueryRepository.findCollisions(any(Driver.class))).thenReturn(Set.of());
 
         Driver savedDriver = Driver.builder()
                 .id("1")
@@ -56,7 +103,7 @@ class DriverServiceImplTest {
                 .modifiedBy("system")
                 .build();
 
-        when(driverRepository.save(any(Driver.class))).thenReturn(savedDriver);
+        when(driverRepository.saveAndFlush(any(Driver.class))).thenReturn(savedDriver);
 
         DriverResponse result = driverService.createDriver(request);
 
@@ -67,10 +114,196 @@ class DriverServiceImplTest {
         assertThat(result.getPhoneNumber()).isEqualTo("1234567890");
         assertThat(result.getEnabled()).isTrue();
 
-        verify(driverRepository).existsByDriverName("John Doe");
-        verify(driverRepository).existsByLicenseNumber("ABC123");
-        verify(driverRepository).existsByEmail("john.doe@example.com");
-        verify(driverRepository).existsByPhoneNumber("1234567890");
-        verify(driverRepository).save(any(Driver.class));
+        verify(driverQueryRepository).findCollisions(any(Driver.class));
+        verify(driverRepository).saveAndFlush(any(Driver.class));
+        verify(driverUniquenessFilter).add(savedDriver);
+        verify(driverSearchIndex).put(result);
+        verify(driverStateCache).put(result);
+        verify(activeDriverRoster).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should report a missing driver from the state cache loader")
+    void shouldThrowWhenDriverStateMissing() {
+        when(driverRepository.findById("missing")).thenReturn(Optional.empty());
+        when(driverStateCache.get(eq("missing"), any())).thenAnswer(invocation -> {
+            Function<String, Optional<DriverResponse>> loader = invocation.getArgument(1);
+            return loader.apply("missing").map(driver -> new DriverState(driver.getId(), true, 1, 0, driver));
+        });
+
+        assertThatThrownBy(() -> driverService.getDriverState("missing"))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessage("Driver not found with ID: missing");
+    }
+
+    @Test
+    @DisplayName("Should serve active drivers from the roster snapshot")
+    void shouldServeActiveDriversFromRoster() {
+        when(driverRepository.findAllActiveDrivers()).thenReturn(List.of(
+                Driver.builder().id("1").driverName("John Doe").enabled(true).build()));
+        when(activeDriverRoster.get(any())).thenAnswer(invocation -> {
+            Supplier<List<DriverResponse>> loader = invocation.getArgument(0);
+            return new ActiveDriverSnapshot(1, "\"drivers-1\"", loader.get(), new byte[0]);
+        });
+
+        List<DriverResponse> result = driverService.getAllActiveDrivers();
+
+        assertThat(result).extracting(DriverResponse::getDriverName).containsExactly("John Doe");
+    }
+
+    @Test
+    @DisplayName("Should skip the collision query when the uniqueness filter rules out duplicates")
+    void shouldSkipCollisionQueryWhenFilterRulesOutDuplicates() {
+        Driver savedDriver = Driver.builder().id("1").driverName("John Doe").enabled(true).build();
+        when(driverUniquenessFilter.mightCollide(any(Driver.class))).thenReturn(false);
+        when(driverRepository.saveAndFlush(any(Driver.class))).thenReturn(savedDriver);
+
+        DriverResponse result = driverService.createDriver(createRequest());
+
+        assertThat(result.getId()).isEqualTo("1");
+        verify(driverQueryRepository, never()).findCollisions(any());
+    }
+
+    @Test
+    @DisplayName("Should report every colliding field from the single collision query")
+    void shouldReportEveryCollidingField() {
+        when(driverUniquenessFilter.mightCollide(any(Driver.class))).thenReturn(true);
+        when(driverQueryRepository.findCollisions(any(Driver.class)))
+                .thenReturn(EnumSet.of(DriverUniqueField.EMAIL, DriverUniqueField.PHONE_NUMBER));
+
+        assertThatThrownBy(() -> driverService.createDriver(createRequest()))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessage("Email already exists: john.doe@example.com; Phone number already exists: 1234567890");
+        verify(driverRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should map a unique constraint violation from a concurrent insert to the field error")
+    void shouldMapConstraintViolationToFieldError() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("duplicate key");
+        when(driverUniquenessFilter.mightCollide(any(Driver.class))).thenReturn(false);
+        when(driverRepository.saveAndFlush(any(Driver.class))).thenThrow(violation);
+        when(driverQueryRepository.findViolatedFields(violation))
+                .thenReturn(EnumSet.of(DriverUniqueField.LICENSE_NUMBER));
+
+        assertThatThrownBy(() -> driverService.createDriver(createRequest()))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessage("License number already exists: ABC123");
+        verify(driverUniquenessFilter, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations that are not about a unique driver field")
+    void shouldRethrowUnrelatedIntegrityViolation() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null");
+        when(driverUniquenessFilter.mightCollide(any(Driver.class))).thenReturn(false);
+        when(driverRepository.saveAndFlush(any(Driver.class))).thenThrow(violation);
+        when(driverQueryRepository.findViolatedFields(violation)).thenReturn(Set.of());
+
+        assertThatThrownBy(() -> driverService.createDriver(createRequest())).isSameAs(violation);
+    }
+
+    @Test
+    @DisplayName("Should insert a list of drivers in one flush and index them")
+    void shouldCreateDriversInOneFlush() {
+        when(driverRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Driver> drivers = invocation.getArgument(0);
+            drivers.forEach(driver -> driver.setId("id-" + driver.getDriverName()));
+            return drivers;
+        });
+
+        List<DriverResponse> result = driverService.createDrivers(List.of(createRequest(),
+                DriverCreateRequest.builder().driverName("Jane Roe").licenseNumber("XYZ789").build()));
+
+        assertThat(result).extracting(DriverResponse::getId).containsExactly("id-John Doe", "id-Jane Roe");
+        verify(driverRepository).flush();
+        verify(driverUniquenessFilter, times(2)).add(any(Driver.class));
+        verify(driverSearchIndex, times(2)).put(any(DriverResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should answer searches from the index once it is ready")
+    void shouldSearchIndexWhenReady() {
+        DriverResponse driver = DriverResponse.builder().id("1").driverName("John Doe").build();
+        when(driverSearchIndex.isReady()).thenReturn(true);
+        when(driverSearchIndex.search("john", 100)).thenReturn(List.of(driver));
+
+        List<DriverResponse> result = driverService.searchDrivers("john", 500);
+
+        assertThat(result).containsExactly(driver);
+        verify(driverRepository, never()).searchDrivers(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database search while the index is building")
+    void shouldFallBackToRepositoryBeforeIndexIsReady() {
+        when(driverSearchIndex.isReady()).thenReturn(false);
+        when(driverRepository.searchDrivers("john")).thenReturn(List.of(
+                Driver.builder().id("1").driverName("John Doe").build(),
+                Driver.builder().id("2").driverName("Johnny Cash").build()));
+
+        List<DriverResponse> result = driverService.searchDrivers("john", 1);
+
+        assertThat(result).extracting(DriverResponse::getId).containsExactly("1");
+        verify(driverSearchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should update a batch of driver statuses with one bulk update and refresh caches once")
+    void shouldSetDriversStatusInBulk() {
+        Driver enabledDriver = Driver.builder().id("a").driverName("Ann").enabled(true).build();
+        Driver disabledDriver = Driver.builder().id("b").driverName("Bob").enabled(false).build();
+        when(driverQueryRepository.findAllByIdsForUpdate(any())).thenReturn(List.of(enabledDriver, disabledDriver));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("admin"));
+        when(driverQueryRepository.updateEnabled(eq(List.of("a")), eq(false), any(LocalDateTime.class), eq("admin")))
+                .thenReturn(1);
+
+        DriverStatusBatchResponse result = driverService.setDriversStatus(List.of("a", "b", "a", "missing"), false);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getNotFound()).isEqualTo(1);
+        assertThat(result.getDrivers())
+                .extracting(DriverStatusBatchResponse.DriverResult::getDriverId,
+                        DriverStatusBatchResponse.DriverResult::getStatus)
+                .containsExactly(
+                        tuple("a", DriverStatusBatchResponse.Status.UPDATED),
+                        tuple("b", DriverStatusBatchResponse.Status.UNCHANGED),
+                        tuple("missing", DriverStatusBatchResponse.Status.NOT_FOUND));
+        assertThat(enabledDriver.getEnabled()).isTrue();
+
+        ArgumentCaptor<List<DriverResponse>> refreshed = ArgumentCaptor.captor();
+        verify(driverSearchIndex).putAll(refreshed.capture());
+        assertThat(refreshed.getValue()).singleElement().satisfies(driver -> {
+            assertThat(driver.getEnabled()).isFalse();
+            assertThat(driver.getModifiedBy()).isEqualTo("admin");
+        });
+        verify(driverStateCache).putAll(refreshed.getValue());
+        verify(driverSpatialIndex).setEnabled("a", false);
+        verify(activeDriverRoster).invalidate();
+        verify(driverRepository, never()).save(any(Driver.class));
+    }
+
+    @Test
+    @DisplayName("Should leave caches alone when no driver in the batch changes")
+    void shouldSkipRefreshWhenBatchChangesNothing() {
+        when(driverQueryRepository.findAllByIdsForUpdate(any()))
+                .thenReturn(List.of(Driver.builder().id("a").enabled(true).build()));
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("admin"));
+
+        DriverStatusBatchResponse result = driverService.setDriversStatus(List.of("a"), true);
+
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        verify(driverSearchIndex, never()).putAll(anyList());
+        verify(activeDriverRoster, never()).invalidate();
+    }
+
+    private DriverCreateRequest createRequest() {
+        return DriverCreateRequest.builder()
+                .driverName("John Doe")
+                .licenseNumber("ABC123")
+                .email("john.doe@example.com")
+                .phoneNumber("1234567890")
+                .build();
     }
 }
\ No newline at end of file
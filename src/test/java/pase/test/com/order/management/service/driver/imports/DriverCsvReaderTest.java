@@ -0,0 +1,67 @@
+package pase.test.com.order.management.service.driver.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Driver CSV Reader Tests")
+class DriverCsvReaderTest {
+
+    @Test
+    @DisplayName("Should read quoted fields with commas, escaped quotes and line breaks")
+    void shouldReadQuotedFields() throws IOException {
+        DriverCsvReader reader = reader("\uFEFFname,note\r\n\"Doe, John\",\"said \"\"hi\"\"\"\r\n\"multi\nline\",x\n");
+
+        DriverCsvReader.CsvRecord header = reader.next();
+        DriverCsvReader.CsvRecord first = reader.next();
+        DriverCsvReader.CsvRecord second = reader.next();
+
+        assertThat(header.fields()).containsExactly("name", "note");
+        assertThat(first.fields()).containsExactly("Doe, John", "said \"hi\"");
+        assertThat(first.line()).isEqualTo(2);
+        assertThat(second.fields()).containsExactly("multi\nline", "x");
+        assertThat(second.line()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read a last record without a trailing line break and keep empty fields")
+    void shouldReadLastRecordAndEmptyFields() throws IOException {
+        DriverCsvReader reader = reader("a,,c\n\n,b,");
+
+        assertThat(reader.next().fields()).containsExactly("a", "", "c");
+        assertThat(reader.next().isBlank()).isTrue();
+        DriverCsvReader.CsvRecord last = reader.next();
+        assertThat(last.fields()).containsExactly("", "b", "");
+        assertThat(last.line()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cut off oversized fields and report them instead of buffering")
+    void shouldReportOversizedFields() throws IOException {
+        DriverCsvReader reader = reader("short," + "x".repeat(100) + "\nnext,row\n");
+
+        DriverCsvReader.CsvRecord oversized = reader.next();
+
+        assertThat(oversized.error()).isEqualTo("Field exceeds 16 characters");
+        assertThat(oversized.fields().get(1)).hasSize(16);
+        assertThat(reader.next().fields()).containsExactly("next", "row");
+    }
+
+    @Test
+    @DisplayName("Should report a quoted field left open at the end of the input")
+    void shouldReportUnterminatedQuote() throws IOException {
+        DriverCsvReader reader = reader("a,\"open\n");
+
+        assertThat(reader.next().error()).isEqualTo("Unterminated quoted field");
+        assertThat(reader.next()).isNull();
+    }
+
+    private DriverCsvReader reader(String csv) {
+        return new DriverCsvReader(new StringReader(csv), 16);
+    }
+}
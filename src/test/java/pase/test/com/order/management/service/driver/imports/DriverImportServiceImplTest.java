@@ -0,0 +1,177 @@
+package pase.test.com.order.management.service.driver.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import pase.test.com.database.dto.driver.DriverCreateRequest;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.database.exception.auth.UserAlreadyExistsException;
+import pase.test.com.order.management.dto.DriverImportResult;
+import pase.test.com.order.management.dto.DriverImportResult.Status;
+import pase.test.com.order.management.repository.driver.DriverQueryRepository;
+import pase.test.com.order.management.repository.driver.DriverUniqueField;
+import pase.test.com.order.management.service.driver.DriverService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Driver Import Service Implementation Tests")
+class DriverImportServiceImplTest {
+
+    private static final String HEADER = "driver_name,License Number,email,phoneNumber\n";
+
+    @Mock
+    private DriverService driverService;
+
+    @Mock
+    private DriverQueryRepository driverQueryRepository;
+
+    private DriverImportServiceImpl driverImportService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        driverImportService = new DriverImportServiceImpl(driverService, driverQueryRepository, validator, 2, 100,
+                64);
+        lenient().when(driverQueryRepository.findExistingValues(any(), anyCollection())).thenReturn(Set.of());
+        lenient().when(driverService.createDrivers(anyList())).thenAnswer(invocation -> {
+            List<DriverCreateRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(this::created).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows in chunks and report every row in file order")
+    void shouldImportRowsInChunks() throws IOException {
+        List<DriverImportResult> results = importCsv(HEADER
+                + "Ann,L1,ann@fleet.test,5551\n"
+                + "Bob,L2,bob@fleet.test,5552\n"
+                + "\n"
+                + "Cid,L3,cid@fleet.test,5553\n");
+
+        assertThat(results).extracting(DriverImportResult::getLine).containsExactly(2L, 3L, 5L);
+        assertThat(results).extracting(DriverImportResult::getStatus).containsOnly(Status.IMPORTED);
+        assertThat(results).extracting(DriverImportResult::getDriverId).containsExactly("id-Ann", "id-Bob", "id-Cid");
+        verify(driverService, times(2)).createDrivers(anyList());
+        verify(driverService, never()).createDriver(any());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed rows and duplicates within the file without inserting them")
+    void shouldRejectInvalidAndDuplicateRows() throws IOException {
+        List<DriverImportResult> results = importCsv(HEADER
+                + "Ann,L1,ann@fleet.test,5551\n"
+                + "Bob,L2\n"
+                + "Cid,,cid@fleet.test,5553\n"
+                + "Dan,L4,ann@fleet.test,5554\n");
+
+        assertThat(results).extracting(DriverImportResult::getStatus)
+                .containsExactly(Status.IMPORTED, Status.REJECTED, Status.REJECTED, Status.REJECTED);
+        assertThat(results).extracting(DriverImportResult::getError).containsExactly(
+                null,
+                "Expected 4 columns but found 2",
+                "licenseNumber is required",
+                "email duplicates line 2: ann@fleet.test");
+    }
+
+    @Test
+    @DisplayName("Should reject rows whose values already exist using one query per field per chunk")
+    void shouldRejectExistingDrivers() throws IOException {
+        when(driverQueryRepository.findExistingValues(DriverUniqueField.EMAIL, Set.of("ann@fleet.test",
+                "bob@fleet.test"))).thenReturn(Set.of("bob@fleet.test"));
+
+        List<DriverImportResult> results = importCsv(HEADER
+                + "Ann,L1,ann@fleet.test,5551\n"
+                + "Bob,L2,bob@fleet.test,5552\n");
+
+        assertThat(results).extracting(DriverImportResult::getStatus)
+                .containsExactly(Status.IMPORTED, Status.REJECTED);
+        assertThat(results.get(1).getError()).isEqualTo("Email already exists: bob@fleet.test");
+        verify(driverQueryRepository, times(DriverUniqueField.values().length))
+                .findExistingValues(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk row by row when a concurrent insert violates a unique constraint")
+    void shouldRetryChunkRowByRowOnConflict() throws IOException {
+        when(driverService.createDrivers(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(driverService.createDriver(any())).thenAnswer(invocation -> {
+            DriverCreateRequest request = invocation.getArgument(0);
+            if ("Bob".equals(request.getDriverName())) {
+                throw new UserAlreadyExistsException("Driver name already exists: Bob");
+            }
+            return created(request);
+        });
+
+        List<DriverImportResult> results = importCsv(HEADER
+                + "Ann,L1,ann@fleet.test,5551\n"
+                + "Bob,L2,bob@fleet.test,5552\n");
+
+        assertThat(results).extracting(DriverImportResult::getStatus)
+                .containsExactly(Status.IMPORTED, Status.REJECTED);
+        assertThat(results.get(1).getError()).isEqualTo("Driver name already exists: Bob");
+    }
+
+    @Test
+    @DisplayName("Should reject the file when a required column is missing")
+    void shouldRejectMissingColumns() throws IOException {
+        List<DriverImportResult> results = importCsv("driverName,email\nAnn,ann@fleet.test\n");
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getLine()).isEqualTo(1);
+            assertThat(result.getStatus()).isEqualTo(Status.REJECTED);
+            assertThat(result.getError()).isEqualTo("Missing columns: licenseNumber, phoneNumber");
+        });
+        verify(driverService, never()).createDrivers(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop reading once the row limit is reached")
+    void shouldStopAtRowLimit() throws IOException {
+        driverImportService = new DriverImportServiceImpl(driverService, driverQueryRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, 1, 64);
+
+        List<DriverImportResult> results = importCsv(HEADER
+                + "Ann,L1,ann@fleet.test,5551\n"
+                + "Bob,L2,bob@fleet.test,5552\n"
+                + "Cid,L3,cid@fleet.test,5553\n");
+
+        assertThat(results).extracting(DriverImportResult::getStatus)
+                .containsExactly(Status.IMPORTED, Status.REJECTED);
+        assertThat(results.get(1).getError()).startsWith("Import is limited to 1 rows");
+    }
+
+    private List<DriverImportResult> importCsv(String csv) throws IOException {
+        List<DriverImportResult> results = new ArrayList<>();
+        driverImportService.importDrivers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                rows -> rows.forEach(results::add));
+        return results;
+    }
+
+    private DriverResponse created(DriverCreateRequest request) {
+        return DriverResponse.builder()
+                .id("id-" + request.getDriverName())
+                .driverName(request.getDriverName())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package pase.test.com.order.management.service.driver.location;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Driver Location History Purger Tests")
+class DriverLocationHistoryPurgerTest {
+
+    @Mock
+    private DriverLocationHistoryRepository historyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverLocationHistoryPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purger = new DriverLocationHistoryPurger(historyRepository, meterRegistry, 7, 100);
+    }
+
+    @Test
+    @DisplayName("Should delete samples older than the retention in batches until a batch comes back short")
+    void shouldPurgeInBatches() {
+        when(historyRepository.deleteRecordedBefore(any(Instant.class), eq(100))).thenReturn(100, 100, 40);
+
+        purger.purge();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(historyRepository, times(3)).deleteRecordedBefore(cutoff.capture(), eq(100));
+        assertThat(cutoff.getValue()).isBetween(Instant.now().minus(Duration.ofDays(7)).minusSeconds(60),
+                Instant.now().minus(Duration.ofDays(7)));
+        assertThat(meterRegistry.counter("driver.location.history.purged").count()).isEqualTo(240);
+    }
+
+    @Test
+    @DisplayName("Should stop the pass when a delete fails")
+    void shouldStopOnFailure() {
+        when(historyRepository.deleteRecordedBefore(any(Instant.class), eq(100)))
+                .thenReturn(100)
+                .thenThrow(new IllegalStateException("db down"));
+
+        purger.purge();
+
+        verify(historyRepository, times(2)).deleteRecordedBefore(any(Instant.class), eq(100));
+        assertThat(meterRegistry.counter("driver.location.history.purged").count()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,181 @@
+package pase.test.com.order.management.service.driver.location;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pase.test.com.database.exception.auth.UserNotFoundException;
+import pase.test.com.order.management.dto.DriverLocationBatchRequest;
+import pase.test.com.order.management.dto.DriverLocationBatchResponse;
+import pase.test.com.order.management.dto.NearbyDriverResponse;
+import pase.test.com.order.management.repository.driver.DriverLocationHistoryRepository;
+import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.state.DriverState;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Driver Location Service Implementation Tests")
+class DriverLocationServiceImplTest {
+
+    @Mock
+    private DriverService driverService;
+
+    @Mock
+    private DriverLocationHistoryRepository historyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverLocationStore store;
+    private DriverSpatialIndex spatialIndex;
+    private DriverLocationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(driverService.getDriverState(anyString()))
+                .thenAnswer(invocation -> new DriverState(invocation.getArgument(0), true, 0, 0, null));
+        meterRegistry = new SimpleMeterRegistry();
+        store = new DriverLocationStore(10);
+        spatialIndex = new DriverSpatialIndex(0.01);
+        service = new DriverLocationServiceImpl(driverService, store, historyRepository, spatialIndex, meterRegistry,
+                4, 10, true, 100, 2, 50, 300);
+    }
+
+    @Test
+    @DisplayName("Should coalesce pings to the newest position and look each driver up once")
+    void shouldCoalesceToLatestPosition() {
+        DriverLocationBatchResponse response = service.ingest(List.of(
+                ping("d1", 1.0, 1.0, 1000L),
+                ping("d1", 3.0, 3.0, 3000L),
+                ping("d1", 2.0, 2.0, 2000L)), null);
+
+        assertThat(response.getAccepted()).isEqualTo(3);
+        assertThat(response.getRejections()).isNull();
+        assertThat(store.get("d1")).isEmpty();
+
+        assertThat(service.drain()).isEqualTo(3);
+
+        assertThat(service.getLocation("d1").getLatitude()).isEqualTo(3.0);
+        verify(driverService, times(1)).getDriverState("d1");
+        assertThat(meterRegistry.timer("driver.location.ingest.lag").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject pings for other drivers when restricted to the reporting driver")
+    void shouldRejectPingsForOtherDrivers() {
+        DriverLocationBatchResponse response = service.ingest(List.of(
+                ping("d1", 1.0, 1.0, null),
+                ping("d2", 1.0, 1.0, null)), "d1");
+
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getRejections())
+                .extracting(DriverLocationBatchResponse.Rejection::getIndex,
+                        DriverLocationBatchResponse.Rejection::getError)
+                .containsExactly(tuple(1, "Not permitted to report for this driver"));
+        assertThat(meterRegistry.counter("driver.location.pings", "result", "rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject pings for unknown drivers and pings that do not fit the buffer")
+    void shouldRejectUnknownDriversAndOverflow() {
+        when(driverService.getDriverState("ghost")).thenThrow(new UserNotFoundException("missing"));
+
+        DriverLocationBatchResponse response = service.ingest(List.of(
+                ping("ghost", 1.0, 1.0, null),
+                ping("d1", 1.0, 1.0, null),
+                ping("d1", 1.0, 1.0, null),
+                ping("d1", 1.0, 1.0, null),
+                ping("d1", 1.0, 1.0, null),
+                ping("d1", 1.0, 1.0, null)), null);
+
+        assertThat(response.getAccepted()).isEqualTo(4);
+        assertThat(response.getRejections())
+                .extracting(DriverLocationBatchResponse.Rejection::getIndex,
+                        DriverLocationBatchResponse.Rejection::getError)
+                .containsExactly(
+                        tuple(0, "Driver not found"),
+                        tuple(5, "Location buffer full, retry later"));
+        assertThat(meterRegistry.counter("driver.location.pings", "result", "dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write one sample per moved driver per flush and retry failed flushes")
+    void shouldFlushSampledHistory() {
+        service.ingest(List.of(ping("d1", 1.0, 1.0, 1000L), ping("d2", 2.0, 2.0, 1000L),
+                ping("d1", 1.5, 1.5, 2000L)), null);
+        service.drain();
+        doThrow(new IllegalStateException("db down")).doNothing()
+                .when(historyRepository).insertAll(anyList(), anyInt());
+
+        service.flushHistory();
+        service.flushHistory();
+        service.flushHistory();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DriverPosition>> written = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository, times(2)).insertAll(written.capture(), eq(100));
+        assertThat(written.getAllValues().get(1))
+                .extracting(DriverPosition::driverId, DriverPosition::latitude)
+                .containsExactlyInAnyOrder(
+                        tuple("d1", 1.5),
+                        tuple("d2", 2.0));
+        assertThat(meterRegistry.counter("driver.location.history.rows").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should apply buffered pings and flush their history on shutdown")
+    void shouldDrainAndFlushOnShutdown() {
+        service.ingest(List.of(ping("d1", 1.0, 1.0, 1000L)), null);
+
+        service.shutdown();
+
+        assertThat(service.getLocation("d1").getLatitude()).isEqualTo(1.0);
+        verify(historyRepository).insertAll(anyList(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Should answer nearest queries from applied positions, closest first and capped")
+    void shouldFindNearestAvailableDrivers() {
+        service.ingest(List.of(ping("far", 52.60, 13.40, null), ping("near", 52.52, 13.41, null),
+                ping("mid", 52.55, 13.40, null)), null);
+        service.drain();
+
+        assertThat(service.findNearestAvailable(52.52, 13.40, 10, 20))
+                .extracting(NearbyDriverResponse::getDriverId)
+                .containsExactly("near", "mid");
+        assertThat(spatialIndex.availableCount()).isEqualTo(3);
+        assertThatThrownBy(() -> service.findNearestAvailable(91, 0, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should report drivers without a position as not found")
+    void shouldFailForDriverWithoutLocation() {
+        assertThatThrownBy(() -> service.getLocation("d9")).isInstanceOf(UserNotFoundException.class);
+    }
+
+    private DriverLocationBatchRequest.Ping ping(String driverId, double latitude, double longitude,
+                                                 Long recordedAt) {
+        return DriverLocationBatchRequest.Ping.builder()
+                .driverId(driverId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .recordedAt(recordedAt)
+                .build();
+    }
+}
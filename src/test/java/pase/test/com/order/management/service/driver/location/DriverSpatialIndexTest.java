@@ -0,0 +1,104 @@
+package pase.test.com.order.management.service.driver.location;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Driver Spatial Index Tests")
+class DriverSpatialIndexTest {
+
+    private DriverSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverSpatialIndex(0.01);
+    }
+
+    @Test
+    @DisplayName("Should return the same k nearest drivers as a full scan")
+    void shouldMatchBruteForce() {
+        Random random = new Random(7);
+        List<DriverPosition> positions = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            DriverPosition position = new DriverPosition("d" + i, 52.3 + random.nextDouble() * 0.4,
+                    13.1 + random.nextDouble() * 0.6, 1000);
+            positions.add(position);
+            add(position);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 52.3 + random.nextDouble() * 0.4;
+            double lon = 13.1 + random.nextDouble() * 0.6;
+            List<String> expected = positions.stream()
+                    .filter(p -> DriverSpatialIndex.haversineKm(lat, lon, p.latitude(), p.longitude()) <= 3)
+                    .sorted(Comparator.comparingDouble(
+                            p -> DriverSpatialIndex.haversineKm(lat, lon, p.latitude(), p.longitude())))
+                    .limit(7)
+                    .map(DriverPosition::driverId)
+                    .toList();
+
+            assertThat(index.nearest(lat, lon, 7, 3, 0)).extracting(NearbyDriver::driverId)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only return enabled, idle drivers with a fresh position")
+    void shouldTrackAvailability() {
+        add(new DriverPosition("idle", 52.520, 13.400, 1000));
+        add(new DriverPosition("busy", 52.521, 13.400, 1000));
+        add(new DriverPosition("stale", 52.522, 13.400, 10));
+        add(new DriverPosition("disabled", 52.523, 13.400, 1000));
+        index.setBusy("busy", true);
+        index.setEnabled("disabled", false);
+        index.updatePosition(new DriverPosition("unknown", 52.524, 13.400, 1000));
+
+        assertThat(index.nearest(52.52, 13.40, 10, 5, 100)).extracting(NearbyDriver::driverId)
+                .containsExactly("idle");
+        assertThat(index.availableCount()).isEqualTo(2);
+
+        index.replaceBusy(Set.of("idle"));
+
+        assertThat(index.nearest(52.52, 13.40, 10, 5, 100)).extracting(NearbyDriver::driverId)
+                .containsExactly("busy");
+    }
+
+    @Test
+    @DisplayName("Should move drivers between cells and respect the radius")
+    void shouldFollowMovesAndRadius() {
+        add(new DriverPosition("d1", 52.52, 13.40, 1000));
+        index.updatePosition(new DriverPosition("d1", 48.14, 11.58, 2000));
+
+        assertThat(index.nearest(52.52, 13.40, 1, 100, 0)).isEmpty();
+        List<NearbyDriver> munich = index.nearest(48.137, 11.575, 1, 1, 0);
+        assertThat(munich).singleElement().satisfies(driver -> {
+            assertThat(driver.recordedAtMillis()).isEqualTo(2000);
+            assertThat(driver.distanceKm()).isCloseTo(0.5, within(0.2));
+        });
+        assertThat(index.availableCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should find drivers across the antimeridian and in sparse grids")
+    void shouldSearchAcrossAntimeridian() {
+        add(new DriverPosition("east", -16.5, 179.99, 1000));
+        add(new DriverPosition("west", -16.5, -179.99, 1000));
+
+        assertThat(index.nearest(-16.5, 179.995, 2, 50, 0)).extracting(NearbyDriver::driverId)
+                .containsExactlyInAnyOrder("east", "west");
+        assertThat(DriverSpatialIndex.haversineKm(52.5200, 13.4050, 48.1351, 11.5820)).isCloseTo(504, within(2.0));
+    }
+
+    private void add(DriverPosition position) {
+        index.setEnabled(position.driverId(), true);
+        index.updatePosition(position);
+    }
+}
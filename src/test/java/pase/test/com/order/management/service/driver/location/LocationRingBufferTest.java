@@ -0,0 +1,80 @@
+package pase.test.com.order.management.service.driver.location;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Location Ring Buffer Tests")
+class LocationRingBufferTest {
+
+    @Test
+    @DisplayName("Should hand pings to the consumer in order and reject offers once full")
+    void shouldDrainInOrderAndRejectWhenFull() {
+        LocationRingBuffer buffer = new LocationRingBuffer(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i, i, -i, 1000L + i, i)).isTrue();
+        }
+        assertThat(buffer.offer(9, 0, 0, 0, 0)).isFalse();
+
+        List<Integer> keys = new ArrayList<>();
+        assertThat(buffer.drain((key, lat, lon, recordedAt, receivedAt) -> {
+            assertThat(lat).isEqualTo(key);
+            assertThat(recordedAt).isEqualTo(1000L + key);
+            keys.add(key);
+        }, 3)).isEqualTo(3);
+
+        assertThat(keys).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.offer(4, 0, 0, 0, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should deliver every ping exactly once with several producers and a concurrent consumer")
+    void shouldDeliverAllPingsFromConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        LocationRingBuffer buffer = new LocationRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(producer, producer, 0, i, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long[] nextExpected = new long[producers];
+        boolean[] outOfOrder = new boolean[1];
+        start.countDown();
+        long received = 0;
+        while (received < (long) producers * perProducer) {
+            received += buffer.drain((key, lat, lon, sequence, receivedAt) -> {
+                outOfOrder[0] |= sequence != nextExpected[key] || lat != key;
+                nextExpected[key]++;
+            }, 256);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(outOfOrder[0]).isFalse();
+        assertThat(nextExpected).containsOnly(perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
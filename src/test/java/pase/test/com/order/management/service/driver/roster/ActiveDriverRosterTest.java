@@ -0,0 +1,83 @@
+package pase.test.com.order.management.service.driver.roster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.order.management.config.MapperConfig;
+
+@DisplayName("Active Driver Roster Tests")
+class ActiveDriverRosterTest {
+
+    private ObjectMapper objectMapper;
+    private ActiveDriverRoster roster;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new MapperConfig().objectMapper();
+        roster = new ActiveDriverRoster(objectMapper, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve the same snapshot until invalidated")
+    void shouldServeSnapshotUntilInvalidated() {
+        ActiveDriverSnapshot first = roster.get(() -> load("Ann"));
+        ActiveDriverSnapshot second = roster.get(() -> load("Bob"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        roster.invalidate();
+        ActiveDriverSnapshot third = roster.get(() -> load("Bob"));
+
+        assertThat(loads).hasValue(2);
+        assertThat(third.drivers()).extracting(DriverResponse::getDriverName).containsExactly("Bob");
+        assertThat(third.etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    @DisplayName("Should rebuild again when a write commits while the snapshot is being built")
+    void shouldRebuildAfterInvalidationDuringBuild() {
+        ActiveDriverSnapshot racing = roster.get(() -> {
+            roster.invalidate();
+            return load("Ann");
+        });
+        ActiveDriverSnapshot next = roster.get(() -> load("Ann", "Bob"));
+
+        assertThat(next).isNotSameAs(racing);
+        assertThat(next.drivers()).hasSize(2);
+        assertThat(roster.get(() -> load("Cid"))).isSameAs(next);
+    }
+
+    @Test
+    @DisplayName("Should cache the serialized response envelope")
+    void shouldCacheSerializedEnvelope() throws IOException {
+        ActiveDriverSnapshot snapshot = roster.get(() -> load("Ann", "Bob"));
+
+        JsonNode body = objectMapper.readTree(snapshot.json());
+
+        assertThat(body.get("success").asBoolean()).isTrue();
+        assertThat(body.get("message").asText()).isEqualTo(ActiveDriverRoster.MESSAGE);
+        assertThat(body.get("data")).hasSize(2);
+        assertThat(body.get("data").get(1).get("driverName").asText()).isEqualTo("Bob");
+        assertThat(snapshot.etag()).startsWith("\"drivers-").endsWith("\"");
+    }
+
+    private List<DriverResponse> load(String... names) {
+        loads.incrementAndGet();
+        return Arrays.stream(names)
+                .map(name -> DriverResponse.builder().id("id-" + name).driverName(name).enabled(true).build())
+                .toList();
+    }
+}
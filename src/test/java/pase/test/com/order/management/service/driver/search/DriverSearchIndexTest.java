@@ -0,0 +1,125 @@
+package pase.test.com.order.management.service.driver.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+@DisplayName("Driver Search Index Tests")
+class DriverSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private DriverSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverSearchIndex(2);
+        index.put(driver("1", "Anna Smith", "LIC-1001", "anna@fleet.com", "5550001", NOW));
+        index.put(driver("2", "Hannah Anderson", "LIC-2002", "hannah@fleet.com", "5550002", NOW));
+        index.put(driver("3", "Ann", "XYZ-3003", "ann.b@mail.com", "5550003", NOW));
+        index.put(driver("4", "Bob Stone", "ANN-4004", "bob@fleet.com", "5554004", NOW));
+    }
+
+    @Test
+    @DisplayName("Should rank exact matches above prefixes, word prefixes and substrings")
+    void shouldRankMatches() {
+        assertThat(index.search("ann", 10)).extracting(DriverResponse::getId)
+                .containsExactly("3", "1", "4", "2");
+    }
+
+    @Test
+    @DisplayName("Should find drivers by license, email and phone substrings case-insensitively")
+    void shouldSearchAllFields() {
+        assertThat(index.search("lic-200", 10)).extracting(DriverResponse::getId).containsExactly("2");
+        assertThat(index.search("@MAIL", 10)).extracting(DriverResponse::getId).containsExactly("3");
+        assertThat(index.search("4004", 10)).extracting(DriverResponse::getId).containsExactly("4");
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match short queries against word prefixes only")
+    void shouldMatchShortQueriesAsWordPrefixes() {
+        assertThat(index.search("st", 10)).extracting(DriverResponse::getId).containsExactly("4");
+        assertThat(index.search("b", 10)).extracting(DriverResponse::getId).containsExactlyInAnyOrder("3", "4");
+    }
+
+    @Test
+    @DisplayName("Should cap results at the requested limit keeping the best matches")
+    void shouldApplyLimit() {
+        assertThat(index.search("ann", 2)).extracting(DriverResponse::getId).containsExactly("3", "1");
+    }
+
+    @Test
+    @DisplayName("Should refresh a driver in place and ignore older snapshots")
+    void shouldUpdateIncrementally() {
+        DriverResponse disabled = driver("1", "Anna Smith", "LIC-1001", "anna@fleet.com", "5550001",
+                NOW.plusMinutes(5));
+        disabled.setEnabled(false);
+        index.put(disabled);
+        index.put(driver("1", "Anna Smith", "LIC-1001", "anna@fleet.com", "5550001", NOW));
+
+        assertThat(index.search("anna smith", 10)).singleElement()
+                .satisfies(found -> assertThat(found.getEnabled()).isFalse());
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should stop matching old text when a driver's fields change")
+    void shouldRetireChangedText() {
+        index.put(driver("4", "Robert Stone", "ANN-4004", "bob@fleet.com", "5554004", NOW.plusMinutes(1)));
+
+        assertThat(index.search("bob stone", 10)).isEmpty();
+        assertThat(index.search("robert", 10)).extracting(DriverResponse::getId).containsExactly("4");
+    }
+
+    @Test
+    @DisplayName("Should apply a batch of refreshes and additions together")
+    void shouldPutBatch() {
+        DriverResponse disabled = driver("2", "Hannah Anderson", "LIC-2002", "hannah@fleet.com", "5550002",
+                NOW.plusMinutes(1));
+        disabled.setEnabled(false);
+
+        index.putAll(List.of(disabled, driver("5", "Annika Berg", "LIC-5005", "annika@fleet.com", "5550005", NOW)));
+
+        assertThat(index.search("hannah", 10)).singleElement()
+                .satisfies(found -> assertThat(found.getEnabled()).isFalse());
+        assertThat(index.search("annika", 10)).extracting(DriverResponse::getId).containsExactly("5");
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop retired documents once they outnumber live ones")
+    void shouldCompactRetiredDocuments() {
+        for (int i = 1; i <= 3; i++) {
+            index.put(driver("4", "Robert Stone " + i, "ANN-4004", "bob@fleet.com", "5554004", NOW.plusMinutes(i)));
+        }
+        assertThat(index.retiredCount()).isEqualTo(3);
+
+        index.put(driver("4", "Robert Stone 4", "ANN-4004", "bob@fleet.com", "5554004", NOW.plusMinutes(4)));
+
+        assertThat(index.retiredCount()).isZero();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search("robert stone", 10)).singleElement()
+                .satisfies(found -> assertThat(found.getDriverName()).isEqualTo("Robert Stone 4"));
+        assertThat(index.search("robert stone 3", 10)).isEmpty();
+        assertThat(index.search("anna", 10)).extracting(DriverResponse::getId).contains("1");
+    }
+
+    private static DriverResponse driver(String id, String name, String license, String email, String phone,
+                                         LocalDateTime lastUpdated) {
+        return DriverResponse.builder()
+                .id(id)
+                .driverName(name)
+                .licenseNumber(license)
+                .email(email)
+                .phoneNumber(phone)
+                .enabled(true)
+                .lastUpdated(lastUpdated)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package pase.test.com.order.management.service.driver.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.driver.DriverResponse;
+
+@DisplayName("Driver State Cache Tests")
+class DriverStateCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverStateCache cache;
+    private AtomicInteger selects;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DriverStateCache(meterRegistry, 100, 300);
+        selects = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load a driver once and answer repeated lookups without a SELECT")
+    void shouldLoadOnceAndServeFromCache() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get("d1", loader(true))).get().extracting(DriverState::enabled).isEqualTo(true);
+        }
+
+        assertThat(selects).hasValue(1);
+        assertThat(meterRegistry.counter("driver.state.cache.requests", "result", "hit").count()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should reflect a committed toggle immediately")
+    void shouldReflectToggle() {
+        cache.get("d1", loader(true));
+
+        cache.put(driver(false));
+
+        assertThat(cache.get("d1", loader(true))).get().extracting(DriverState::enabled).isEqualTo(false);
+        assertThat(selects).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a toggle that committed while a miss was still loading the old row")
+    void shouldNotOverwriteNewerStateWithSlowLoad() {
+        Optional<DriverState> loaded = cache.get("d1", id -> {
+            cache.put(driver(false));
+            return Optional.of(driver(true));
+        });
+
+        assertThat(loaded).get().extracting(DriverState::enabled).isEqualTo(false);
+        assertThat(cache.get("d1", loader(true))).get().extracting(DriverState::enabled).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing drivers and should reload expired entries")
+    void shouldNotCacheMissingAndReloadExpired() {
+        assertThat(cache.get("missing", id -> Optional.empty())).isEmpty();
+
+        DriverStateCache expiring = new DriverStateCache(meterRegistry, 100, 0);
+        expiring.get("d1", loader(true));
+        expiring.get("d1", loader(true));
+
+        assertThat(selects).hasValue(2);
+    }
+
+    private Function<String, Optional<DriverResponse>> loader(boolean enabled) {
+        return id -> {
+            selects.incrementAndGet();
+            return Optional.of(driver(enabled));
+        };
+    }
+
+    private DriverResponse driver(boolean enabled) {
+        return DriverResponse.builder().id("d1").driverName("Driver 1").enabled(enabled).build();
+    }
+}
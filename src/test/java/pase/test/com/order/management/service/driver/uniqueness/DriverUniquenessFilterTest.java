@@ -0,0 +1,95 @@
+package pase.test.com.order.management.service.driver.uniqueness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.entity.driver.Driver;
+
+@DisplayName("Driver Uniqueness Filter Tests")
+class DriverUniquenessFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverUniquenessFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DriverUniquenessFilter(meterRegistry, true, 10_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should send every creation to the database until the filter is loaded and the indexes exist")
+    void shouldCheckDatabaseUntilReady() {
+        assertThat(filter.mightCollide(driver(1))).isTrue();
+
+        filter.markReady();
+        assertThat(filter.mightCollide(driver(1))).isTrue();
+
+        filter.markIndexed();
+        assertThat(filter.mightCollide(driver(1))).isFalse();
+        assertThat(meterRegistry.counter("driver.uniqueness.lookups", "result", "skipped").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("driver.uniqueness.lookups", "result", "queried").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should flag a candidate that shares any single field with a known driver")
+    void shouldFlagAnySharedField() {
+        filter.add(driver(1));
+        filter.markReady();
+        filter.markIndexed();
+
+        Driver sameEmail = driver(2);
+        sameEmail.setEmail("driver1@fleet.test");
+        Driver samePhone = driver(3);
+        samePhone.setPhoneNumber("555-000001");
+
+        assertThat(filter.mightCollide(driver(1))).isTrue();
+        assertThat(filter.mightCollide(sameEmail)).isTrue();
+        assertThat(filter.mightCollide(samePhone)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never miss a known driver and rarely flag a new one")
+    void shouldKeepFalsePositivesNearConfiguredRate() {
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(driver(i));
+        }
+        filter.markReady();
+        filter.markIndexed();
+
+        int flagged = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightCollide(driver(i))).isTrue();
+            if (filter.mightCollide(driver(100_000 + i))) {
+                flagged++;
+            }
+        }
+
+        // Four independent fields at 1% each
+        assertThat(flagged).isLessThan(600);
+    }
+
+    @Test
+    @DisplayName("Should always query the database when disabled")
+    void shouldAlwaysCollideWhenDisabled() {
+        DriverUniquenessFilter disabled = new DriverUniquenessFilter(meterRegistry, false, 10_000, 0.01);
+        disabled.add(driver(1));
+        disabled.markReady();
+        disabled.markIndexed();
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.mightCollide(driver(2))).isTrue();
+    }
+
+    private Driver driver(int i) {
+        return Driver.builder()
+                .driverName("Driver " + i)
+                .licenseNumber("LIC-" + i)
+                .email("driver" + i + "@fleet.test")
+                .phoneNumber(String.format("555-%06d", i))
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package pase.test.com.order.management.service.driver.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pase.test.com.order.management.dto.DriverWorkloadResponse;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+import pase.test.com.order.management.service.order.event.OrderEventType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Driver Workload Service Tests")
+class DriverWorkloadServiceImplTest {
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private DriverSpatialIndex driverSpatialIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverWorkloadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new DriverWorkloadServiceImpl(orderQueryRepository, driverSpatialIndex, meterRegistry, 1);
+    }
+
+    @Test
+    @DisplayName("Should mark a driver busy on the first active order and idle after the last one ends")
+    void shouldTrackActiveOrders() {
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o1", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o2", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "IN_TRANSIT"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "DELIVERED"));
+
+        assertThat(service.activeOrders("d1")).isEqualTo(1);
+        verify(driverSpatialIndex, times(1)).setBusy("d1", true);
+        verify(driverSpatialIndex, never()).setBusy("d1", false);
+
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o2", "d1", "CANCELLED"));
+
+        assertThat(service.activeOrders("d1")).isZero();
+        assertThat(service.hasCapacity("d1")).isTrue();
+        verify(driverSpatialIndex).setBusy("d1", false);
+    }
+
+    @Test
+    @DisplayName("Should count assigned, in-transit and delivered-today orders per driver")
+    void shouldCountOrdersByState() {
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o1", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o2", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o3", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o2", "d1", "IN_TRANSIT"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o3", "d1", "DELIVERED"));
+
+        DriverWorkloadResponse workload = service.getWorkload("d1");
+
+        assertThat(workload.getAssigned()).isEqualTo(1);
+        assertThat(workload.getInTransit()).isEqualTo(1);
+        assertThat(workload.getActive()).isEqualTo(2);
+        assertThat(workload.getDeliveredToday()).isEqualTo(1);
+        assertThat(workload.isAtCapacity()).isTrue();
+        assertThat(service.getWorkload("unknown").getActive()).isZero();
+        assertThat(meterRegistry.get("driver.workload.orders").tag("state", "in_transit").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("driver.workload.drivers.at.capacity").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated terminal events for the same order")
+    void shouldIgnoreRepeatedEvents() {
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o1", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o2", "d1", "ASSIGNED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "DELIVERED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "DELIVERED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "IN_TRANSIT"));
+
+        assertThat(service.activeOrders("d1")).isEqualTo(1);
+        assertThat(service.getWorkload("d1").getDeliveredToday()).isEqualTo(1);
+
+        // Cancelling a delivered order takes it out of delivered-today
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "CANCELLED"));
+        service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "CANCELLED"));
+
+        assertThat(service.activeOrders("d1")).isEqualTo(1);
+        assertThat(service.getWorkload("d1").getDeliveredToday()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace tracked orders with the database view on reconcile")
+    void shouldReconcileFromDatabase() {
+        service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o1", "d1", "ASSIGNED"));
+        when(orderQueryRepository.findWorkloadOrders(any(LocalDateTime.class))).thenReturn(List.of(
+                new WorkloadOrder("o7", "d2", "ASSIGNED"),
+                new WorkloadOrder("o8", "d2", "IN_TRANSIT"),
+                new WorkloadOrder("o9", "d3", "DELIVERED")));
+
+        service.reconcile();
+
+        assertThat(service.activeOrders("d1")).isZero();
+        assertThat(service.activeOrders("d2")).isEqualTo(2);
+        assertThat(service.listWorkloads()).extracting(DriverWorkloadResponse::getDriverId)
+                .containsExactly("d2", "d3");
+        verify(driverSpatialIndex).replaceBusy(Set.of("d2"));
+    }
+
+    @Test
+    @DisplayName("Should replay transitions committed while the database was being read")
+    void shouldReplayEventsDuringReconcile() {
+        when(orderQueryRepository.findWorkloadOrders(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            service.onOrderEvent(event(OrderEventType.DRIVER_ASSIGNED, "o2", "d1", "ASSIGNED"));
+            service.onOrderEvent(event(OrderEventType.STATUS_CHANGED, "o1", "d1", "DELIVERED"));
+            return List.of(new WorkloadOrder("o1", "d1", "IN_TRANSIT"));
+        });
+
+        service.reconcile();
+
+        DriverWorkloadResponse workload = service.getWorkload("d1");
+        assertThat(workload.getAssigned()).isEqualTo(1);
+        assertThat(workload.getInTransit()).isZero();
+        assertThat(workload.getDeliveredToday()).isEqualTo(1);
+    }
+
+    private OrderEvent event(OrderEventType type, String orderId, String driverId, String statusLabel) {
+        return new OrderEvent(type, orderId, driverId, statusLabel, null, LocalDateTime.now());
+    }
+}
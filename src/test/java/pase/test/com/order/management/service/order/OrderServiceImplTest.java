@@ -3,7 +3,9 @@ package pase.test.com.order.management.service.order;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +20,7 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -25,6 +28,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import pase.test.com.database.dto.driver.DriverResponse;
 import pase.test.com.database.dto.order.OrderAssignmentRequest;
 import pase.test.com.database.dto.order.OrderCreateRequest;
 import pase.test.com.database.dto.order.OrderFilterRequest;
@@ -41,7 +46,13 @@ import pase.test.com.database.exception.order.OrderNotFoundException;
 import pase.test.com.database.repository.order.OrderRepository;
 import pase.test.com.database.repository.order.OrderStatusRepository;
 import pase.test.com.database.repository.user.UserRepository;
+import pase.test.com.order.management.dto.OrderChangesResponse;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
 import pase.test.com.order.management.service.driver.DriverService;
+import pase.test.com.order.management.service.driver.state.DriverState;
+import pase.test.com.order.management.service.order.event.OrderEvent;
+import pase.test.com.order.management.service.order.event.OrderEventType;
+import pase.test.com.order.management.service.order.feed.OrderChangeCursor;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Order Service Implementation Tests")
@@ -62,6 +73,12 @@ class OrderServiceImplTest {
     @Mock
     private OrderStatusService orderStatusService;
 
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -77,8 +94,11 @@ class OrderServiceImplTest {
                 orderStatusRepository,
                 userRepository,
                 driverService,
-                orderStatusService
+                orderStatusService,
+                orderQueryRepository,
+                eventPublisher
         );
+        ReflectionTestUtils.setField(orderService, "maxActiveOrders", 1);
     }
 
     @Test
@@ -282,6 +302,9 @@ class OrderServiceImplTest {
         verify(orderRepository).findById(orderId);
         verify(orderStatusService).getOrderStatusEntityByLabel("ASSIGNED");
         verify(orderRepository).save(any(Order.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderEvent orderEvent
+                && orderEvent.type() == OrderEventType.STATUS_CHANGED
+                && "ASSIGNED".equals(orderEvent.statusLabel())));
     }
 
     @Test
@@ -326,7 +349,8 @@ class OrderServiceImplTest {
         updatedOrder.setDriver(mockDriver);
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrder));
-        when(driverService.getDriverEntityById(driverId)).thenReturn(mockDriver);
+        when(driverService.getDriverState(driverId)).thenReturn(driverState(mockDriver));
+        when(driverService.getDriverReference(driverId)).thenReturn(mockDriver);
         when(orderStatusService.getOrderStatusEntityByLabel("ASSIGNED")).thenReturn(assignedStatus);
         when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
 
@@ -338,7 +362,9 @@ class OrderServiceImplTest {
         assertThat(result.getDriver().getId()).isEqualTo(driverId);
 
         verify(orderRepository).findById(orderId);
-        verify(driverService).getDriverEntityById(driverId);
+        verify(driverService).getDriverState(driverId);
+        verify(driverService).getDriverReference(driverId);
+        verify(driverService, never()).getDriverEntityById(any());
         verify(orderStatusService).getOrderStatusEntityByLabel("ASSIGNED");
         verify(orderRepository).save(any(Order.class));
     }
@@ -380,7 +406,7 @@ class OrderServiceImplTest {
         Driver inactiveDriver = createMockDriver(driverId, "Driver1", false);
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrder));
-        when(driverService.getDriverEntityById(driverId)).thenReturn(inactiveDriver);
+        when(driverService.getDriverState(driverId)).thenReturn(driverState(inactiveDriver));
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -390,7 +416,53 @@ class OrderServiceImplTest {
         assertThat(exception.getMessage()).isEqualTo("Cannot assign inactive driver to order");
 
         verify(orderRepository).findById(orderId);
-        verify(driverService).getDriverEntityById(driverId);
+        verify(driverService).getDriverState(driverId);
+        verify(driverService, never()).getDriverReference(any());
+    }
+
+    @Test
+    @DisplayName("Should auto-assign a driver with a guarded update and publish the assignment")
+    void shouldAutoAssignDriverWhenOrderStillUnassigned() {
+        String orderId = "1";
+        String driverId = "driver1";
+        Driver mockDriver = createMockDriver(driverId, "Driver1", true);
+        OrderStatus createdStatus = createMockOrderStatus("CREATED");
+        OrderStatus assignedStatus = createMockOrderStatus("ASSIGNED");
+        Order updatedOrder = createMockOrder(orderId, "ORD-1", assignedStatus, createMockUser("user1"));
+        updatedOrder.setDriver(mockDriver);
+
+        when(driverService.getDriverState(driverId)).thenReturn(driverState(mockDriver));
+        when(driverService.getDriverReference(driverId)).thenReturn(mockDriver);
+        when(orderStatusService.getOrderStatusEntityByLabel("CREATED")).thenReturn(createdStatus);
+        when(orderStatusService.getOrderStatusEntityByLabel("ASSIGNED")).thenReturn(assignedStatus);
+        when(orderQueryRepository.assignIfUnassigned(eq(orderId), eq(mockDriver), eq(createdStatus),
+                eq(assignedStatus), eq(1L), any(LocalDateTime.class), eq("auto-dispatch"))).thenReturn(1);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(updatedOrder));
+
+        Optional<OrderResponse> result = orderService.assignDriverIfUnassigned(orderId, driverId);
+
+        assertThat(result).get().extracting(response -> response.getDriver().getId()).isEqualTo(driverId);
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderEvent orderEvent
+                && orderEvent.type() == OrderEventType.DRIVER_ASSIGNED));
+    }
+
+    @Test
+    @DisplayName("Should report a lost race when the order was assigned or cancelled first")
+    void shouldNotAutoAssignWhenGuardedUpdateMatchesNoRow() {
+        String orderId = "1";
+        String driverId = "driver1";
+        Driver mockDriver = createMockDriver(driverId, "Driver1", true);
+
+        when(driverService.getDriverState(driverId)).thenReturn(driverState(mockDriver));
+        when(driverService.getDriverReference(driverId)).thenReturn(mockDriver);
+        when(orderQueryRepository.assignIfUnassigned(eq(orderId), eq(mockDriver), any(), any(), eq(1L),
+                any(LocalDateTime.class), eq("auto-dispatch"))).thenReturn(0);
+
+        assertThat(orderService.assignDriverIfUnassigned(orderId, driverId)).isEmpty();
+
+        verify(orderRepository, never()).findById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -428,7 +500,8 @@ class OrderServiceImplTest {
                         createMockOrderStatus("IN_TRANSIT"), createMockUser("user2"))
         );
 
-        when(driverService.getDriverEntityById(driverId)).thenReturn(mockDriver);
+        when(driverService.getDriverState(driverId)).thenReturn(driverState(mockDriver));
+        when(driverService.getDriverReference(driverId)).thenReturn(mockDriver);
         when(orderRepository.findByDriver(mockDriver)).thenReturn(mockOrders);
 
         List<OrderResponse> result = orderService.getOrdersByDriver(driverId);
@@ -436,7 +509,7 @@ class OrderServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result).hasSize(2);
 
-        verify(driverService).getDriverEntityById(driverId);
+        verify(driverService).getDriverState(driverId);
         verify(orderRepository).findByDriver(mockDriver);
     }
 
@@ -492,6 +565,48 @@ class OrderServiceImplTest {
         verify(orderRepository).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Should return order changes with next cursor and hasMore flag")
+    void shouldReturnOrderChangesWithNextCursor() {
+        Order first = createMockOrder("1", "ORD-1", createMockOrderStatus("CREATED"), createMockUser("user1"));
+        Order second = createMockOrder("2", "ORD-2", createMockOrderStatus("CREATED"), createMockUser("user1"));
+        Order third = createMockOrder("3", "ORD-3", createMockOrderStatus("CREATED"), createMockUser("user1"));
+
+        when(orderQueryRepository.findChangedUpTo(any(LocalDateTime.class), eq(3)))
+                .thenReturn(List.of(first, second, third));
+
+        OrderChangesResponse result = orderService.getOrderChanges(null, 2);
+
+        assertThat(result.getOrders()).extracting(OrderResponse::getId).containsExactly("1", "2");
+        assertThat(result.isHasMore()).isTrue();
+
+        OrderChangeCursor cursor = OrderChangeCursor.decode(result.getNextCursor());
+        assertThat(cursor.id()).isEqualTo("2");
+        assertThat(cursor.lastUpdated()).isEqualTo(second.getLastUpdated());
+    }
+
+    @Test
+    @DisplayName("Should resume order changes after the given cursor")
+    void shouldResumeOrderChangesAfterCursor() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 1, 1, 10, 0);
+        String since = new OrderChangeCursor(lastUpdated, "5").encode();
+
+        when(orderQueryRepository.findChangedAfter(eq(lastUpdated), eq("5"), any(LocalDateTime.class), eq(101)))
+                .thenReturn(List.of());
+
+        OrderChangesResponse result = orderService.getOrderChanges(since, 100);
+
+        assertThat(result.getOrders()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isEqualTo(since);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed change cursor")
+    void shouldRejectMalformedChangeCursor() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderChanges("not-a-cursor", 10));
+    }
+
     private OrderCreateRequest createOrderCreateRequest() {
         return OrderCreateRequest.builder()
                 .origin("Origin City")
@@ -536,6 +651,14 @@ class OrderServiceImplTest {
                 .build();
     }
 
+    private DriverState driverState(Driver driver) {
+        return new DriverState(driver.getId(), driver.getEnabled(), 1, System.nanoTime(), DriverResponse.builder()
+                .id(driver.getId())
+                .driverName(driver.getDriverName())
+                .enabled(driver.getEnabled())
+                .build());
+    }
+
     private Driver createMockDriver(String id, String name, boolean enabled) {
         return Driver.builder()
                 .id(id)
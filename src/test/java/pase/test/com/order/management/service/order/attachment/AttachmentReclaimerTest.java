@@ -0,0 +1,145 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+import pase.test.com.order.management.repository.order.AttachmentQueryRepository;
+import pase.test.com.order.management.service.order.attachment.storage.FileSystemAttachmentStorage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Attachment Reclaimer Tests")
+class AttachmentReclaimerTest {
+
+    private static final String DIGEST = "ab" + "cd" + "0".repeat(60);
+
+    @Mock
+    private AttachmentQueryRepository attachmentQueryRepository;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Path referenced;
+    private Path orphan;
+    private Path recentOrphan;
+    private Path orphanBlob;
+    private Path abandonedPart;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        referenced = file(uploadDirectory.resolve("1111_delivery.pdf"), 100, Duration.ofHours(2));
+        orphan = file(uploadDirectory.resolve("2222_replaced.pdf"), 200, Duration.ofHours(2));
+        recentOrphan = file(uploadDirectory.resolve("3333_uploading.pdf"), 300, Duration.ZERO);
+        orphanBlob = file(uploadDirectory.resolve("ab/cd").resolve(DIGEST), 400, Duration.ofHours(2));
+        abandonedPart = file(uploadDirectory.resolve(".incoming/4444.part"), 500, Duration.ofHours(2));
+
+        when(attachmentQueryRepository.findReferencedFilePaths(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> paths = invocation.getArgument(0);
+            return paths.stream()
+                    .filter(referenced.toString()::equals)
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    @Test
+    @DisplayName("Should reclaim old unreferenced files in bounded batches")
+    void shouldReclaimOrphanedFilesInBatches() {
+        reclaimer(false, 2).reclaimOnce();
+
+        assertThat(Files.exists(referenced)).isTrue();
+        assertThat(Files.exists(recentOrphan)).isTrue();
+        assertThat(Files.exists(orphan)).isFalse();
+        assertThat(Files.exists(orphanBlob)).isFalse();
+        assertThat(Files.exists(abandonedPart)).isFalse();
+
+        // Four files are past the grace period, so they are checked in two batches of two
+        verify(attachmentQueryRepository, times(2)).findReferencedFilePaths(anyCollection());
+        verify(attachmentQueryRepository, times(2)).markUnreferencedDeleted(anyCollection());
+        verify(blobRepository).delete(DIGEST);
+        assertThat(counter("attachment.reclaimer.reclaimed.files", "delete")).isEqualTo(3.0);
+        assertThat(counter("attachment.reclaimer.reclaimed.bytes", "delete")).isEqualTo(1100.0);
+        assertThat(meterRegistry.counter("attachment.reclaimer.scanned").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should only report reclaimable files in dry-run mode")
+    void shouldLeaveFilesInDryRun() {
+        reclaimer(true, 500).reclaimOnce();
+
+        assertThat(Files.exists(orphan)).isTrue();
+        assertThat(Files.exists(orphanBlob)).isTrue();
+        assertThat(Files.exists(abandonedPart)).isTrue();
+        verify(attachmentQueryRepository, never()).markUnreferencedDeleted(anyCollection());
+        verify(blobRepository, never()).delete(any());
+        assertThat(counter("attachment.reclaimer.reclaimed.files", "dry-run")).isEqualTo(3.0);
+        assertThat(counter("attachment.reclaimer.reclaimed.bytes", "dry-run")).isEqualTo(1100.0);
+    }
+
+    @Test
+    @DisplayName("Should remove old thumbnails of attachments that are no longer served")
+    void shouldReclaimOrphanedThumbnails() throws IOException {
+        Path thumbnails = uploadDirectory.resolve(".scratch/thumbnails");
+        Path served = file(thumbnails.resolve("served.jpg"), 10, Duration.ofHours(2));
+        Path removed = file(thumbnails.resolve("removed.jpg"), 20, Duration.ofHours(2));
+        Path rendering = file(thumbnails.resolve("new.jpg"), 30, Duration.ZERO);
+        Path abandonedTemp = file(thumbnails.resolve("render123.tmp"), 40, Duration.ofHours(2));
+        when(attachmentQueryRepository.findServedAttachmentIds(anyCollection())).thenReturn(Set.of("served"));
+
+        reclaimer(false, 500).reclaimOnce();
+
+        assertThat(Files.exists(served)).isTrue();
+        assertThat(Files.exists(rendering)).isTrue();
+        assertThat(Files.exists(removed)).isFalse();
+        assertThat(Files.exists(abandonedTemp)).isFalse();
+        assertThat(counter("attachment.reclaimer.reclaimed.files", "delete")).isEqualTo(5.0);
+    }
+
+    private AttachmentReclaimer reclaimer(boolean dryRun, int batchSize) {
+        FileSystemAttachmentStorage storage = new FileSystemAttachmentStorage(uploadDirectory.toString(),
+                1024 * 1024, blobRepository, meterRegistry);
+        return new AttachmentReclaimer(storage, attachmentQueryRepository, transactionManager, meterRegistry,
+                true, dryRun, 60, batchSize);
+    }
+
+    private double counter(String name, String mode) {
+        return meterRegistry.get(name).tag("mode", mode).counter().count();
+    }
+
+    private Path file(Path path, int size, Duration age) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+        return path;
+    }
+}
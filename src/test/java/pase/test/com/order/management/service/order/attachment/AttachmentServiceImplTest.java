@@ -0,0 +1,344 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.database.entity.order.attachment.AssignmentAttachment;
+import pase.test.com.database.entity.order.attachment.AttachmentType;
+import pase.test.com.database.exception.order.InvalidFileTypeException;
+import pase.test.com.database.exception.order.OrderNotFoundException;
+import pase.test.com.database.repository.order.attachment.AssignmentAttachmentRepository;
+import pase.test.com.database.repository.order.attachment.AttachmentTypeRepository;
+import pase.test.com.order.management.dto.BatchUploadResponse;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+import pase.test.com.order.management.repository.order.AttachmentQueryRepository;
+import pase.test.com.order.management.repository.order.OrderAttachmentRepository;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.attachment.storage.FileSystemAttachmentStorage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Attachment Service Implementation Tests")
+class AttachmentServiceImplTest {
+
+    private static final int UPLOADS = 8;
+    private static final int UPLOAD_SIZE = 2 * 1024 * 1024;
+    private static final AttachmentType PDF_TYPE = AttachmentType.builder()
+            .id("type-1")
+            .typeLabel("PDF")
+            .allowedExtensions(".pdf")
+            .enabled(true)
+            .build();
+
+    @Mock
+    private AttachmentTypeRepository attachmentTypeRepository;
+
+    @Mock
+    private AssignmentAttachmentRepository assignmentAttachmentRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private OrderAttachmentRepository orderAttachmentRepository;
+
+    @Mock
+    private AttachmentQueryRepository attachmentQueryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private CountingTransactionManager transactionManager;
+    private AttachmentServiceImpl attachmentService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new CountingTransactionManager();
+        attachmentService = new AttachmentServiceImpl(attachmentTypeRepository, assignmentAttachmentRepository,
+                new FileSystemAttachmentStorage(uploadDirectory.toString(), UPLOAD_SIZE, blobRepository,
+                        new SimpleMeterRegistry()), orderService, orderAttachmentRepository, attachmentQueryRepository,
+                eventPublisher, transactionManager, 4, 20);
+        lenient().when(attachmentTypeRepository.findByTypeLabel("PDF")).thenReturn(Optional.of(PDF_TYPE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        attachmentService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not hold a transaction while concurrent uploads are written to disk")
+    void shouldKeepTransactionsClosedDuringConcurrentUploads() throws Exception {
+        when(assignmentAttachmentRepository.save(any(AssignmentAttachment.class))).thenAnswer(invocation -> {
+            AssignmentAttachment attachment = invocation.getArgument(0);
+            attachment.setId(UUID.randomUUID().toString());
+            return attachment;
+        });
+        when(orderService.addAttachmentToOrder(any(), any(AssignmentAttachment.class)))
+                .thenAnswer(invocation -> OrderResponse.builder().id(invocation.getArgument(0)).build());
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+
+        AtomicInteger maxOpenDuringIo = new AtomicInteger();
+        List<Future<OrderResponse>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(UPLOADS)) {
+            for (int i = 0; i < UPLOADS; i++) {
+                int seed = i;
+                String orderId = "order-" + i;
+                results.add(executor.submit(() -> attachmentService.uploadAttachmentToOrder(orderId, "PDF",
+                        "report.pdf", new ObservedStream(pdf(UPLOAD_SIZE, seed), maxOpenDuringIo))));
+            }
+            for (Future<OrderResponse> result : results) {
+                assertThat(result.get().getId()).startsWith("order-");
+            }
+        }
+
+        assertThat(maxOpenDuringIo.get()).isZero();
+        assertThat(transactionManager.started.get()).isEqualTo(UPLOADS);
+        assertThat(transactionManager.open.get()).isZero();
+        assertThat(listFiles()).isEqualTo(UPLOADS);
+    }
+
+    @Test
+    @DisplayName("Should retire a replaced primary attachment and drop its file reference after commit")
+    void shouldReleaseReplacedPrimaryAttachment() throws IOException {
+        Path legacyFile = Files.write(uploadDirectory.resolve("1111_old.pdf"), pdf(1024, 1));
+        AssignmentAttachment previous = AssignmentAttachment.builder()
+                .id("old-attachment")
+                .filePath(legacyFile.toString())
+                .enabled(true)
+                .deleted(false)
+                .build();
+        when(assignmentAttachmentRepository.save(any(AssignmentAttachment.class))).thenAnswer(invocation -> {
+            AssignmentAttachment attachment = invocation.getArgument(0);
+            if (attachment.getId() == null) {
+                attachment.setId(UUID.randomUUID().toString());
+            }
+            return attachment;
+        });
+        when(attachmentQueryRepository.findUnlinkedPrimary("order-1")).thenReturn(Optional.of(previous));
+        when(orderService.addAttachmentToOrder(eq("order-1"), any(AssignmentAttachment.class)))
+                .thenReturn(OrderResponse.builder().id("order-1").build());
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+
+        attachmentService.uploadAttachmentToOrder("order-1", "PDF", "report.pdf",
+                new ByteArrayInputStream(pdf(4096, 0)));
+
+        assertThat(previous.getDeleted()).isTrue();
+        assertThat(previous.getEnabled()).isFalse();
+        assertThat(Files.exists(legacyFile)).isFalse();
+        assertThat(listFiles()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete the stored file when the database step fails")
+    void shouldDeleteStoredFileWhenOrderLinkFails() {
+        when(assignmentAttachmentRepository.save(any(AssignmentAttachment.class))).thenAnswer(invocation -> {
+            AssignmentAttachment attachment = invocation.getArgument(0);
+            attachment.setId(UUID.randomUUID().toString());
+            return attachment;
+        });
+        when(orderService.addAttachmentToOrder(eq("missing"), any(AssignmentAttachment.class)))
+                .thenThrow(new OrderNotFoundException("Order not found with ID: missing"));
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+        when(blobRepository.release(anyString())).thenReturn(0);
+        when(blobRepository.deleteIfUnreferenced(anyString())).thenReturn(true);
+
+        assertThrows(OrderNotFoundException.class, () -> attachmentService.uploadAttachmentToOrder("missing", "PDF",
+                "report.pdf", new ByteArrayInputStream(pdf(4096, 0))));
+
+        assertThat(transactionManager.rolledBack.get()).isEqualTo(1);
+        assertThat(listFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched content before opening a transaction")
+    void shouldRejectMismatchedContentBeforeTransaction() {
+        byte[] content = "plain text pretending to be a pdf".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(InvalidFileTypeException.class, () -> attachmentService.uploadAttachmentToOrder("order-1",
+                "PDF", "report.pdf", new ByteArrayInputStream(content)));
+
+        assertThat(transactionManager.started.get()).isZero();
+        verify(assignmentAttachmentRepository, never()).save(any(AssignmentAttachment.class));
+        assertThat(listFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should store a batch in parallel and persist every accepted file in one transaction")
+    void shouldUploadBatchInOneTransaction() {
+        when(attachmentTypeRepository.findAllActiveTypes()).thenReturn(List.of(PDF_TYPE));
+        AtomicInteger ids = new AtomicInteger();
+        when(assignmentAttachmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AssignmentAttachment> attachments = invocation.getArgument(0);
+            attachments.forEach(attachment -> attachment.setId("att-" + ids.incrementAndGet()));
+            return attachments;
+        });
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+
+        List<BatchUploadPart> parts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            parts.add(part("page-" + i + ".pdf", null, pdf(64 * 1024, i)));
+        }
+        parts.add(part("fake.pdf", "PDF", "not a pdf at all".getBytes(StandardCharsets.US_ASCII)));
+        parts.add(part("tool.exe", null, pdf(1024, 9)));
+
+        BatchUploadResponse result = attachmentService.uploadAttachmentsToOrder("order-1", parts);
+
+        assertThat(result.getUploaded()).isEqualTo(5);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getFiles()).extracting(BatchUploadResponse.FileResult::getStatus).containsExactly(
+                BatchUploadResponse.Status.UPLOADED, BatchUploadResponse.Status.UPLOADED,
+                BatchUploadResponse.Status.UPLOADED, BatchUploadResponse.Status.UPLOADED,
+                BatchUploadResponse.Status.UPLOADED, BatchUploadResponse.Status.REJECTED,
+                BatchUploadResponse.Status.REJECTED);
+        assertThat(result.getFiles().get(0).getAttachmentTypeLabel()).isEqualTo("PDF");
+        assertThat(transactionManager.started.get()).isEqualTo(1);
+        verify(assignmentAttachmentRepository, times(1)).saveAll(anyList());
+        verify(orderAttachmentRepository).linkAll("order-1", List.of("att-1", "att-2", "att-3", "att-4", "att-5"));
+        verify(orderService, times(1)).addAttachmentToOrder(eq("order-1"), any(AssignmentAttachment.class));
+        verify(eventPublisher, times(5)).publishEvent(any(AttachmentStoredEvent.class));
+        assertThat(listFiles()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should remove every stored file of a batch when the transaction fails")
+    void shouldReleaseBatchWhenTransactionFails() {
+        when(attachmentTypeRepository.findAllActiveTypes()).thenReturn(List.of(PDF_TYPE));
+        when(assignmentAttachmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderService.addAttachmentToOrder(eq("order-1"), any(AssignmentAttachment.class)))
+                .thenThrow(new OrderNotFoundException("Order not found with ID: order-1"));
+        when(blobRepository.acquire(anyString(), anyLong())).thenReturn(1);
+        when(blobRepository.release(anyString())).thenReturn(0);
+        when(blobRepository.deleteIfUnreferenced(anyString())).thenReturn(true);
+
+        List<BatchUploadPart> parts = List.of(part("a.pdf", "PDF", pdf(4096, 1)), part("b.pdf", "PDF", pdf(4096, 2)));
+
+        assertThrows(OrderNotFoundException.class, () -> attachmentService.uploadAttachmentsToOrder("order-1", parts));
+
+        assertThat(transactionManager.rolledBack.get()).isEqualTo(1);
+        assertThat(listFiles()).isZero();
+    }
+
+    private static BatchUploadPart part(String fileName, String typeLabel, byte[] content) {
+        return new BatchUploadPart(fileName, typeLabel, () -> new ByteArrayInputStream(content));
+    }
+
+    private static byte[] pdf(int size, int seed) {
+        byte[] content = new byte[size];
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 8);
+        content[8] = (byte) seed;
+        return content;
+    }
+
+    private long listFiles() {
+        try (Stream<Path> files = Files.walk(uploadDirectory)) {
+            return files.filter(Files::isRegularFile).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Samples how many transactions the uploading thread holds every time the storage pulls more bytes
+    private final class ObservedStream extends InputStream {
+
+        private final InputStream delegate;
+        private final AtomicInteger maxOpenDuringIo;
+
+        private ObservedStream(byte[] content, AtomicInteger maxOpenDuringIo) {
+            this.delegate = new ByteArrayInputStream(content);
+            this.maxOpenDuringIo = maxOpenDuringIo;
+        }
+
+        @Override
+        public int read() throws IOException {
+            observe();
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            observe();
+            Thread.yield();
+            return delegate.read(b, off, len);
+        }
+
+        private void observe() {
+            maxOpenDuringIo.accumulateAndGet(transactionManager.openOnThread.get().get(), Math::max);
+        }
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger open = new AtomicInteger();
+        private final ThreadLocal<AtomicInteger> openOnThread = ThreadLocal.withInitial(AtomicInteger::new);
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger rolledBack = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            open.incrementAndGet();
+            openOnThread.get().incrementAndGet();
+            started.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open.decrementAndGet();
+            openOnThread.get().decrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open.decrementAndGet();
+            openOnThread.get().decrementAndGet();
+            rolledBack.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pase.test.com.order.management.service.order.attachment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.exception.order.InvalidFileTypeException;
+
+@DisplayName("Attachment Type Policy Tests")
+class AttachmentTypePolicyTest {
+
+    private static final byte[] PDF = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10};
+
+    @Test
+    @DisplayName("Should match extensions exactly instead of by substring")
+    void shouldMatchExtensionsExactly() {
+        AttachmentTypePolicy policy = AttachmentTypePolicy.compile(".pdf");
+
+        assertThat(policy.allows(".pdf")).isTrue();
+        assertThat(policy.allows(".pd")).isFalse();
+        assertThat(policy.allows(".df")).isFalse();
+        assertThat(policy.allows("")).isFalse();
+        assertThat(policy.allows(null)).isFalse();
+        assertThrows(InvalidFileTypeException.class, () -> policy.verifyExtension(".pd"));
+    }
+
+    @Test
+    @DisplayName("Should normalize case, whitespace and missing dots in the stored list")
+    void shouldNormalizeStoredExtensions() {
+        AttachmentTypePolicy policy = AttachmentTypePolicy.compile(" .PNG, jpg ,,.Jpeg ");
+
+        assertThat(policy.allows(".png")).isTrue();
+        assertThat(policy.allows(".jpg")).isTrue();
+        assertThat(policy.allows(".jpeg")).isTrue();
+        assertThat(policy.allows(".gif")).isFalse();
+        assertThat(AttachmentTypePolicy.compile(null).allows(".png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should detect file types from their leading bytes")
+    void shouldDetectSignatures() {
+        assertThat(FileSignature.detect(PDF, PDF.length)).isEqualTo(FileSignature.PDF);
+        assertThat(FileSignature.detect(PNG, PNG.length)).isEqualTo(FileSignature.PNG);
+        assertThat(FileSignature.detect(JPEG, JPEG.length)).isEqualTo(FileSignature.JPEG);
+        assertThat(FileSignature.detect(PNG, 4)).isNull();
+        assertThat(FileSignature.detect(new byte[8], 0)).isNull();
+        assertThat(FileSignature.detect("hello".getBytes(StandardCharsets.US_ASCII), 5)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject content that does not match the file extension")
+    void shouldRejectMismatchedContent() {
+        AttachmentTypePolicy policy = AttachmentTypePolicy.compile(".png,.jpg,.jpeg,.txt");
+
+        assertDoesNotThrow(() -> policy.verifyContent(".png", PNG, PNG.length));
+        assertDoesNotThrow(() -> policy.verifyContent(".jpeg", JPEG, JPEG.length));
+        assertDoesNotThrow(() -> policy.verifyContent(".txt", PDF, PDF.length));
+        assertThrows(InvalidFileTypeException.class, () -> policy.verifyContent(".png", JPEG, JPEG.length));
+        assertThrows(InvalidFileTypeException.class, () -> policy.verifyContent(".jpg", PDF, PDF.length));
+        assertThrows(InvalidFileTypeException.class, () -> policy.verifyContent(".png", PNG, 3));
+    }
+}
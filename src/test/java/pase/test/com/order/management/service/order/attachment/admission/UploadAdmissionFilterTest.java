@@ -0,0 +1,92 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import pase.test.com.order.management.exception.UploadRejectedException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Upload Admission Filter Tests")
+class UploadAdmissionFilterTest {
+
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private UploadAdmissionServiceImpl uploadAdmissionService;
+    private UploadAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        uploadAdmissionService = new UploadAdmissionServiceImpl(new SimpleMeterRegistry(), 1, 1_000, 0, 50);
+        filter = new UploadAdmissionFilter(uploadAdmissionService, handlerExceptionResolver, DataSize.ofBytes(500));
+    }
+
+    @Test
+    @DisplayName("Should hold a permit sized by the request body while the multipart request is handled")
+    void shouldAdmitMultipartUploadsBeforeDispatch() throws Exception {
+        AtomicReference<UploadAdmissionStatus> during = new AtomicReference<>();
+        MockHttpServletRequest request = upload(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=x");
+        request.setContent(new byte[300]);
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> during.set(uploadAdmissionService.getStatus()));
+
+        assertThat(during.get().activeWrites()).isEqualTo(1);
+        assertThat(during.get().inFlightBytes()).isEqualTo(300);
+        assertThat(uploadAdmissionService.getStatus().activeWrites()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer through the exception handlers without reading the body when rejected")
+    void shouldRejectBeforeDispatch() throws Exception {
+        UploadPermit holder = uploadAdmissionService.acquire(10);
+        MockHttpServletRequest request = upload(MediaType.MULTIPART_FORM_DATA_VALUE);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNull();
+        verify(handlerExceptionResolver).resolveException(eq(request), any(HttpServletResponse.class), isNull(),
+                any(UploadRejectedException.class));
+        holder.close();
+    }
+
+    @Test
+    @DisplayName("Should leave raw stream uploads to the controller")
+    void shouldSkipNonMultipartRequests() throws Exception {
+        UploadPermit holder = uploadAdmissionService.acquire(10);
+        MockHttpServletRequest request = upload(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        verifyNoInteractions(handlerExceptionResolver);
+        holder.close();
+    }
+
+    private MockHttpServletRequest upload(String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/attachments/upload/order/o1");
+        request.setContentType(contentType);
+        return request;
+    }
+}
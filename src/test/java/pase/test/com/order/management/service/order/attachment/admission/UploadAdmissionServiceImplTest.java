@@ -0,0 +1,143 @@
+package pase.test.com.order.management.service.order.attachment.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.order.management.exception.UploadRejectedException;
+
+@DisplayName("Upload Admission Service Tests")
+class UploadAdmissionServiceImplTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should queue uploads beyond the concurrent write limit and admit them on release")
+    void shouldCapConcurrentWrites() throws Exception {
+        UploadAdmissionServiceImpl service = service(2, 1_000, 4, 5_000);
+        UploadPermit first = service.acquire(100);
+        UploadPermit second = service.acquire(100);
+
+        CompletableFuture<UploadPermit> third = CompletableFuture.supplyAsync(() -> service.acquire(100));
+        awaitQueueDepth(service, 1);
+        assertThat(meterRegistry.get("attachment.upload.admission.queue.depth").gauge().value()).isEqualTo(1.0);
+        assertThat(third).isNotDone();
+
+        first.close();
+        UploadPermit admitted = third.get(5, TimeUnit.SECONDS);
+        assertThat(service.getStatus().activeWrites()).isEqualTo(2);
+
+        first.close();
+        second.close();
+        admitted.close();
+        assertThat(service.getStatus().activeWrites()).isZero();
+        assertThat(service.getStatus().inFlightBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject with a retry hint when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        UploadAdmissionServiceImpl service = service(1, 1_000, 1, 5_000);
+        UploadPermit holder = service.acquire(10);
+        CompletableFuture<UploadPermit> queued = CompletableFuture.supplyAsync(() -> service.acquire(10));
+        awaitQueueDepth(service, 1);
+
+        UploadRejectedException rejected = assertThrows(UploadRejectedException.class, () -> service.acquire(10));
+
+        assertThat(rejected.getRetryAfterSeconds()).isBetween(1L, 60L);
+        assertThat(meterRegistry.get("attachment.upload.admission.rejected").tag("reason", "queue-full").counter()
+                .count()).isEqualTo(1.0);
+        holder.close();
+        queued.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    @DisplayName("Should keep FIFO order when the byte budget is exhausted")
+    void shouldNotLetSmallUploadsOvertakeLargeOnes() throws Exception {
+        UploadAdmissionServiceImpl service = service(10, 1_000, 4, 5_000);
+        UploadPermit holder = service.acquire(600);
+
+        CompletableFuture<UploadPermit> large = CompletableFuture.supplyAsync(() -> service.acquire(800));
+        awaitQueueDepth(service, 1);
+        CompletableFuture<UploadPermit> small = CompletableFuture.supplyAsync(() -> service.acquire(50));
+        awaitQueueDepth(service, 2);
+        assertThat(small).isNotDone();
+
+        holder.close();
+        large.get(5, TimeUnit.SECONDS).close();
+        small.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    @DisplayName("Should time out waiting uploads and admit queued ones when limits are raised")
+    void shouldTimeOutAndApplyRuntimeLimits() throws Exception {
+        UploadAdmissionServiceImpl service = service(1, 1_000, 4, 50);
+        UploadPermit holder = service.acquire(10);
+
+        assertThrows(UploadRejectedException.class, () -> service.acquire(10));
+        assertThat(service.getStatus().queueDepth()).isZero();
+
+        service.updateLimits(null, null, null, 5_000L);
+        CompletableFuture<UploadPermit> queued = CompletableFuture.supplyAsync(() -> service.acquire(10));
+        awaitQueueDepth(service, 1);
+
+        UploadAdmissionStatus status = service.updateLimits(2, null, null, null);
+
+        queued.get(5, TimeUnit.SECONDS).close();
+        assertThat(status.maxConcurrentWrites()).isEqualTo(2);
+        assertThat(status.maxWaitMs()).isEqualTo(5_000L);
+        holder.close();
+    }
+
+    @Test
+    @DisplayName("Should report an interrupted wait separately and keep the interrupt flag")
+    void shouldReportInterruptedWaits() throws Exception {
+        UploadAdmissionServiceImpl service = service(1, 1_000, 4, 5_000);
+        UploadPermit holder = service.acquire(10);
+        CompletableFuture<UploadRejectedException> rejected = new CompletableFuture<>();
+        CompletableFuture<Boolean> flagKept = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                service.acquire(10).close();
+            } catch (UploadRejectedException e) {
+                flagKept.complete(Thread.currentThread().isInterrupted());
+                rejected.complete(e);
+            }
+        });
+        waiter.start();
+        awaitQueueDepth(service, 1);
+
+        waiter.interrupt();
+
+        assertThat(rejected.get(5, TimeUnit.SECONDS).getMessage()).startsWith("Interrupted");
+        assertThat(flagKept.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.getStatus().queueDepth()).isZero();
+        assertThat(meterRegistry.get("attachment.upload.admission.rejected").tag("reason", "interrupted").counter()
+                .count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("attachment.upload.admission.rejected").tag("reason", "timeout").counter()
+                .count()).isZero();
+        holder.close();
+    }
+
+    private UploadAdmissionServiceImpl service(int maxWrites, long maxBytes, int maxQueue, long maxWaitMs) {
+        return new UploadAdmissionServiceImpl(meterRegistry, maxWrites, maxBytes, maxQueue, maxWaitMs);
+    }
+
+    private void awaitQueueDepth(UploadAdmissionServiceImpl service, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getStatus().queueDepth() != depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(service.getStatus().queueDepth()).isEqualTo(depth);
+    }
+}
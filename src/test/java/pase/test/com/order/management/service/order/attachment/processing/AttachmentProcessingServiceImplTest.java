@@ -0,0 +1,188 @@
+package pase.test.com.order.management.service.order.attachment.processing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import pase.test.com.order.management.exception.AttachmentNotFoundException;
+import pase.test.com.order.management.exception.AttachmentProcessingPendingException;
+import pase.test.com.order.management.repository.order.AttachmentMetadataRepository;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
+import pase.test.com.order.management.service.order.attachment.AttachmentService;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Attachment Processing Service Tests")
+class AttachmentProcessingServiceImplTest {
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    @Mock
+    private AttachmentMetadataRepository metadataRepository;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentProcessingServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        Path thumbnails = Files.createDirectories(directory.resolve("thumbnails"));
+        lenient().when(attachmentStorage.scratchDirectory("thumbnails")).thenReturn(thumbnails);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate a bounded thumbnail and record image dimensions in the background")
+    void shouldGenerateThumbnail() throws IOException {
+        service = service(2, 10);
+        Path image = png(800, 400);
+
+        assertThat(service.submit("att-1", "IMAGE", image)).isTrue();
+
+        ArgumentCaptor<AttachmentMetadata> metadata = ArgumentCaptor.forClass(AttachmentMetadata.class);
+        verify(metadataRepository, timeout(5000)).save(metadata.capture());
+        assertThat(metadata.getValue().width()).isEqualTo(800);
+        assertThat(metadata.getValue().height()).isEqualTo(400);
+        assertThat(metadata.getValue().thumbnailAvailable()).isTrue();
+
+        BufferedImage thumbnail = ImageIO.read(directory.resolve("thumbnails/att-1.jpg").toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(256);
+        assertThat(thumbnail.getHeight()).isEqualTo(128);
+    }
+
+    @Test
+    @DisplayName("Should count PDF pages including markers that straddle a read window")
+    void shouldExtractPdfMetadata() throws IOException {
+        StringBuilder pdf = new StringBuilder("%PDF-1.7\n");
+        pdf.append("1 0 obj << /Type /Pages /Count 3 >> endobj\n");
+        pdf.append("2 0 obj << /Type /Page >> endobj\n");
+        pdf.append(" ".repeat(64 * 1024 - pdf.length() - 5));
+        pdf.append("3 0 obj << /Type/Page /Parent 1 0 R >> endobj\n");
+        pdf.append("4 0 obj << /Type /Page >> endobj\n%%EOF\n");
+        Path file = Files.writeString(directory.resolve("document.pdf"), pdf, StandardCharsets.ISO_8859_1);
+
+        PdfMetadataExtractor.PdfInfo info = PdfMetadataExtractor.extract(file);
+
+        assertThat(info.version()).isEqualTo("1.7");
+        assertThat(info.pageCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should shed work when the queue is full and queue it again when the thumbnail is requested")
+    void shouldShedLoadAndRequeueOnDemand() throws Exception {
+        service = service(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(metadataRepository).save(any());
+        Path image = png(64, 64);
+
+        assertThat(service.submit("att-1", "IMAGE", image)).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.submit("att-2", "IMAGE", image)).isTrue();
+        assertThat(service.submit("att-3", "IMAGE", image)).isFalse();
+        assertThat(meterRegistry.counter("attachment.processing.rejected").count()).isEqualTo(1.0);
+        release.countDown();
+        verify(metadataRepository, timeout(5000).times(2)).save(any());
+
+        when(attachmentService.getAttachmentContent("att-3")).thenReturn(
+                new AttachmentContent("att-3", "photo.png", image, MediaType.IMAGE_PNG, Files.size(image), "\"e\""));
+        assertThatThrownBy(() -> service.getThumbnail("att-3"))
+                .isInstanceOf(AttachmentProcessingPendingException.class);
+        verify(metadataRepository, timeout(5000).times(3)).save(any());
+
+        AttachmentContent thumbnail = service.getThumbnail("att-3");
+
+        assertThat(thumbnail.contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(Files.exists(thumbnail.path())).isTrue();
+        try (Stream<Path> files = Files.list(thumbnail.path().getParent())) {
+            assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a missing thumbnail for an image that could not be decoded")
+    void shouldReportUndecodableImage() throws IOException {
+        service = service(1, 1);
+        Path image = directory.resolve("broken.png");
+        Files.writeString(image, "not an image");
+        when(attachmentService.getAttachmentContent("att-1")).thenReturn(
+                new AttachmentContent("att-1", "broken.png", image, MediaType.IMAGE_PNG, Files.size(image), "\"e\""));
+        when(metadataRepository.findByAttachmentId("att-1")).thenReturn(Optional.of(new AttachmentMetadata("att-1",
+                12, null, null, null, null, false, 1, LocalDateTime.now())));
+
+        assertThatThrownBy(() -> service.getThumbnail("att-1")).isInstanceOf(AttachmentNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should record an attachment whose processing failed so its thumbnail is not requested again")
+    void shouldRecordFailedProcessing() {
+        service = service(1, 1);
+
+        assertThat(service.submit("att-1", "IMAGE", directory.resolve("missing.jpg"))).isTrue();
+
+        ArgumentCaptor<AttachmentMetadata> metadata = ArgumentCaptor.forClass(AttachmentMetadata.class);
+        verify(metadataRepository, timeout(5000)).save(metadata.capture());
+        assertThat(metadata.getValue().attachmentId()).isEqualTo("att-1");
+        assertThat(metadata.getValue().thumbnailAvailable()).isFalse();
+        assertThat(meterRegistry.counter("attachment.processing.failed").count()).isEqualTo(1.0);
+    }
+
+    private AttachmentProcessingServiceImpl service(int workers, int queueCapacity) {
+        return new AttachmentProcessingServiceImpl(attachmentService, attachmentStorage, metadataRepository,
+                meterRegistry, workers, queueCapacity, 256);
+    }
+
+    private Path png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0xff0000);
+        }
+        Path file = directory.resolve("image-" + width + "x" + height + ".png");
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,208 @@
+package pase.test.com.order.management.service.order.attachment.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import pase.test.com.database.exception.order.InvalidFileTypeException;
+import pase.test.com.order.management.repository.order.AttachmentBlobRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("File System Attachment Storage Tests")
+class FileSystemAttachmentStorageTest {
+
+    private static final ContentHeadValidator PDF_HEAD = (head, length) -> {
+        if (length < 4 || head[0] != '%' || head[1] != 'P' || head[2] != 'D' || head[3] != 'F') {
+            throw new InvalidFileTypeException("Not a PDF");
+        }
+    };
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @TempDir
+    private Path uploadDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FileSystemAttachmentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new FileSystemAttachmentStorage(uploadDirectory.toString(), 1024 * 1024, blobRepository,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should store streamed content under its sharded SHA-256 digest")
+    void shouldStoreStreamedContent() throws Exception {
+        byte[] content = pdf(200_000);
+        String digest = sha256(content);
+        when(blobRepository.acquire(digest, content.length)).thenReturn(1);
+
+        StoredFile stored = storage.store(new ByteArrayInputStream(content), "../../etc/report.pdf", PDF_HEAD);
+
+        assertThat(stored.originalFilename()).isEqualTo("report.pdf");
+        assertThat(stored.sizeBytes()).isEqualTo(content.length);
+        assertThat(stored.digest()).isEqualTo(digest);
+        assertThat(stored.deduplicated()).isFalse();
+        assertThat(stored.path()).isEqualTo(uploadDirectory
+                .resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest));
+        assertThat(Files.readAllBytes(stored.path())).isEqualTo(content);
+        assertThat(countFiles()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a single blob for repeated uploads of the same content")
+    void shouldDeduplicateIdenticalContent() throws Exception {
+        byte[] content = pdf(50_000);
+        when(blobRepository.acquire(sha256(content), content.length)).thenReturn(1, 2);
+
+        StoredFile first = storage.store(new ByteArrayInputStream(content), "delivery.pdf", PDF_HEAD);
+        FileTime storedAt = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+        Files.setLastModifiedTime(first.path(), storedAt);
+        StoredFile second = storage.store(new ByteArrayInputStream(content), "delivery-again.pdf", PDF_HEAD);
+
+        assertThat(second.path()).isEqualTo(first.path());
+        // Reuse must not touch the file, whose mtime is part of the attachment ETag
+        assertThat(Files.getLastModifiedTime(second.path())).isEqualTo(storedAt);
+        assertThat(second.originalFilename()).isEqualTo("delivery-again.pdf");
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(countFiles()).isEqualTo(1);
+        assertThat(meterRegistry.counter("attachment.storage.deduplicated").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("attachment.storage.deduplicated.bytes").count())
+                .isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("Should delete the blob only when its last reference is released")
+    void shouldDeleteBlobWhenLastReferenceIsReleased() throws Exception {
+        byte[] content = pdf(10_000);
+        String digest = sha256(content);
+        when(blobRepository.acquire(digest, content.length)).thenReturn(1, 2);
+        StoredFile stored = storage.store(new ByteArrayInputStream(content), "report.pdf", PDF_HEAD);
+        storage.store(new ByteArrayInputStream(content), "report.pdf", PDF_HEAD);
+
+        when(blobRepository.release(digest)).thenReturn(1, 0);
+        when(blobRepository.deleteIfUnreferenced(digest)).thenReturn(true);
+
+        storage.release(stored.path());
+        assertThat(Files.exists(stored.path())).isTrue();
+
+        storage.release(stored.path());
+        assertThat(Files.exists(stored.path())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep an old blob that an upload acquired after the reclaim cutoff")
+    void shouldKeepRecentlyAcquiredBlobOnReclaim() throws Exception {
+        byte[] content = pdf(10_000);
+        String digest = sha256(content);
+        when(blobRepository.acquire(digest, content.length)).thenReturn(1);
+        StoredFile stored = storage.store(new ByteArrayInputStream(content), "report.pdf", PDF_HEAD);
+        Files.setLastModifiedTime(stored.path(), FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+
+        when(blobRepository.acquiredSince(digest, cutoff)).thenReturn(true, false);
+
+        assertThat(storage.reclaim(stored.path(), cutoff)).isZero();
+        assertThat(Files.exists(stored.path())).isTrue();
+
+        assertThat(storage.reclaim(stored.path(), cutoff)).isEqualTo(content.length);
+        assertThat(Files.exists(stored.path())).isFalse();
+        verify(blobRepository).delete(digest);
+    }
+
+    @Test
+    @DisplayName("Should reject content with an invalid head before creating a file")
+    void shouldRejectInvalidHeadWithoutWriting() {
+        byte[] content = "not a pdf at all".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(content), "report.pdf", PDF_HEAD))
+                .isInstanceOf(InvalidFileTypeException.class);
+        assertThat(countFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remove the partial file when the stream exceeds the size limit")
+    void shouldRejectOversizedContent() {
+        byte[] content = pdf(2 * 1024 * 1024);
+
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(content), "report.pdf", PDF_HEAD))
+                .isInstanceOf(MaxUploadSizeExceededException.class);
+        assertThat(countFiles()).isZero();
+        verify(blobRepository, never()).acquire(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should remove the partial file when the client disconnects mid-stream")
+    void shouldDeletePartialFileOnReadFailure() {
+        InputStream failing = new InputStream() {
+            private final InputStream delegate = new ByteArrayInputStream(pdf(100_000));
+
+            @Override
+            public int read() throws IOException {
+                return read(new byte[1], 0, 1);
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (delegate.available() < 50_000) {
+                    throw new IOException("Connection reset");
+                }
+                return delegate.read(b, off, len);
+            }
+        };
+
+        assertThatThrownBy(() -> storage.store(failing, "report.pdf", PDF_HEAD))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection reset");
+        assertThat(countFiles()).isZero();
+    }
+
+    static byte[] pdf(int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) 'x');
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 8);
+        return content;
+    }
+
+    private String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private long countFiles() {
+        try (Stream<Path> files = Files.walk(uploadDirectory)) {
+            return files.filter(Files::isRegularFile).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package pase.test.com.order.management.service.order.attachment.upload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.dto.UploadSessionCreateRequest;
+import pase.test.com.order.management.dto.UploadSessionResponse;
+import pase.test.com.order.management.exception.InvalidUploadException;
+import pase.test.com.order.management.exception.UploadIncompleteException;
+import pase.test.com.order.management.exception.UploadSessionNotFoundException;
+import pase.test.com.order.management.service.order.OrderService;
+import pase.test.com.order.management.service.order.attachment.AttachmentService;
+import pase.test.com.order.management.service.order.attachment.storage.AttachmentStorage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Chunked Upload Service Implementation Tests")
+class ChunkedUploadServiceImplTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int TOTAL_SIZE = 2500;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
+    @TempDir
+    private Path sessionDirectory;
+
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("moderator", null));
+        content = new byte[TOTAL_SIZE];
+        for (int i = 0; i < TOTAL_SIZE; i++) {
+            content[i] = (byte) i;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should assemble chunks sent out of order and finalize into an attachment")
+    void shouldAssembleChunksOutOfOrder() throws IOException {
+        ChunkedUploadServiceImpl service = service(60);
+        UploadSessionResponse session = service.createSession(request());
+        assertThat(session.getTotalChunks()).isEqualTo(3);
+        assertThat(Files.size(sessionDirectory.resolve(session.getUploadId() + ".upload"))).isEqualTo(TOTAL_SIZE);
+
+        service.writeChunk(session.getUploadId(), 2, 500, chunk(2));
+        UploadSessionResponse partial = service.writeChunk(session.getUploadId(), 0, 1000, chunk(0));
+
+        assertThat(partial.isComplete()).isFalse();
+        assertThat(partial.getReceivedBytes()).isEqualTo(1500);
+        assertThat(partial.getReceivedRanges()).containsExactly(
+                new UploadSessionResponse.ByteRange(0, 999),
+                new UploadSessionResponse.ByteRange(2000, 2499));
+        assertThrows(UploadIncompleteException.class, () -> service.completeSession(session.getUploadId()));
+
+        UploadSessionResponse full = service.writeChunk(session.getUploadId(), 1, 1000, chunk(1));
+        assertThat(full.isComplete()).isTrue();
+        assertThat(full.getReceivedRanges()).containsExactly(new UploadSessionResponse.ByteRange(0, 2499));
+
+        AtomicReference<byte[]> assembled = new AtomicReference<>();
+        when(attachmentService.uploadAttachmentToOrder(eq("order-1"), eq("PDF"), eq("manifest.pdf"), any(Path.class)))
+                .thenAnswer(invocation -> {
+                    assembled.set(Files.readAllBytes(invocation.getArgument(3)));
+                    return OrderResponse.builder().id("order-1").build();
+                });
+
+        OrderResponse order = service.completeSession(session.getUploadId());
+
+        assertThat(order.getId()).isEqualTo("order-1");
+        assertThat(assembled.get()).isEqualTo(content);
+        assertThrows(UploadSessionNotFoundException.class, () -> service.getSession(session.getUploadId()));
+    }
+
+    @Test
+    @DisplayName("Should reject chunks with the wrong length or index")
+    void shouldRejectInvalidChunks() throws IOException {
+        ChunkedUploadServiceImpl service = service(60);
+        String uploadId = service.createSession(request()).getUploadId();
+
+        assertThrows(InvalidUploadException.class, () -> service.writeChunk(uploadId, 0, 999, chunk(0)));
+        assertThrows(InvalidUploadException.class, () -> service.writeChunk(uploadId, 3, 0,
+                new ByteArrayInputStream(new byte[0])));
+        // Without a Content-Length the body itself must still be the exact chunk size
+        assertThrows(InvalidUploadException.class, () -> service.writeChunk(uploadId, 1, -1,
+                new ByteArrayInputStream(content, 1000, 400)));
+        assertThat(service.getSession(uploadId).getReceivedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject uploads larger than the configured maximum")
+    void shouldRejectOversizedSession() {
+        ChunkedUploadServiceImpl service = new ChunkedUploadServiceImpl(attachmentService, orderService,
+                attachmentStorage, new SimpleMeterRegistry(), CHUNK_SIZE, 2000, 60);
+
+        assertThrows(InvalidUploadException.class, () -> service.createSession(request()));
+    }
+
+    @Test
+    @DisplayName("Should hide sessions from other users")
+    void shouldHideSessionFromOtherUsers() throws IOException {
+        ChunkedUploadServiceImpl service = service(60);
+        String uploadId = service.createSession(request()).getUploadId();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("someone-else", null));
+
+        assertThrows(UploadSessionNotFoundException.class, () -> service.getSession(uploadId));
+        assertThrows(UploadSessionNotFoundException.class, () -> service.writeChunk(uploadId, 0, 1000, chunk(0)));
+    }
+
+    @Test
+    @DisplayName("Should discard idle sessions and their files")
+    void shouldExpireIdleSessions() throws IOException {
+        ChunkedUploadServiceImpl service = service(0);
+        String uploadId = service.createSession(request()).getUploadId();
+
+        service.expireSessions();
+
+        assertThrows(UploadSessionNotFoundException.class, () -> service.getSession(uploadId));
+        assertThat(Files.exists(sessionDirectory.resolve(uploadId + ".upload"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should clear a chunk whose re-send fails")
+    void shouldClearChunkWhenResendFails() throws IOException {
+        ChunkedUploadServiceImpl service = service(60);
+        String uploadId = service.createSession(request()).getUploadId();
+        service.writeChunk(uploadId, 0, 1000, chunk(0));
+
+        assertThrows(InvalidUploadException.class, () -> service.writeChunk(uploadId, 0, -1,
+                new ByteArrayInputStream(content, 0, 400)));
+
+        assertThat(service.getSession(uploadId).getReceivedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not finalize, cancel or expire a session while a chunk is being written")
+    void shouldWaitForInFlightWrites() throws Exception {
+        ChunkedUploadServiceImpl service = service(0);
+        String uploadId = service.createSession(request()).getUploadId();
+        service.writeChunk(uploadId, 0, 1000, chunk(0));
+        service.writeChunk(uploadId, 2, 500, chunk(2));
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowChunk = new FilterInputStream(chunk(1)) {
+            @Override
+            public int read(byte[] buffer) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return super.read(buffer);
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UploadSessionResponse> write = executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("moderator", null));
+                return service.writeChunk(uploadId, 1, 1000, slowChunk);
+            });
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThrows(UploadIncompleteException.class, () -> service.completeSession(uploadId));
+            assertThrows(UploadIncompleteException.class, () -> service.cancelSession(uploadId));
+            service.expireSessions();
+            assertThat(Files.exists(sessionDirectory.resolve(uploadId + ".upload"))).isTrue();
+
+            release.countDown();
+            assertThat(write.get(5, TimeUnit.SECONDS).isComplete()).isTrue();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ChunkedUploadServiceImpl service(long ttlMinutes) throws IOException {
+        when(attachmentStorage.scratchDirectory("sessions")).thenReturn(sessionDirectory);
+        return new ChunkedUploadServiceImpl(attachmentService, orderService, attachmentStorage,
+                new SimpleMeterRegistry(), CHUNK_SIZE, 10_000, ttlMinutes);
+    }
+
+    private UploadSessionCreateRequest request() {
+        return UploadSessionCreateRequest.builder()
+                .orderId("order-1")
+                .attachmentTypeLabel("PDF")
+                .fileName("manifest.pdf")
+                .totalSizeBytes((long) TOTAL_SIZE)
+                .build();
+    }
+
+    private ByteArrayInputStream chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, TOTAL_SIZE)));
+    }
+}
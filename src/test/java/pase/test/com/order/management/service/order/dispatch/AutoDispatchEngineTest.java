@@ -0,0 +1,184 @@
+package pase.test.com.order.management.service.order.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pase.test.com.database.dto.order.OrderResponse;
+import pase.test.com.order.management.repository.order.OrderQueryRepository;
+import pase.test.com.order.management.service.driver.location.DriverPosition;
+import pase.test.com.order.management.service.driver.location.DriverSpatialIndex;
+import pase.test.com.order.management.service.driver.workload.DriverWorkloadService;
+import pase.test.com.order.management.service.order.OrderService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Auto Dispatch Engine Tests")
+class AutoDispatchEngineTest {
+
+    private static final LocalDateTime CREATED_ON = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private DriverWorkloadService driverWorkloadService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DriverSpatialIndex driverSpatialIndex;
+    private AutoDispatchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        driverSpatialIndex = new DriverSpatialIndex(0.01);
+        engine = engine(2);
+        lenient().when(orderService.assignDriverIfUnassigned(anyString(), anyString()))
+                .thenReturn(Optional.of(OrderResponse.builder().build()));
+        lenient().when(driverWorkloadService.hasCapacity(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should give each driver to one order, cheapest pairs first")
+    void shouldMatchCheapestPairsWithDistinctDrivers() {
+        driver("near", 52.2300, 21.0100);
+        driver("far", 52.2600, 21.0100);
+        pending(order("o1", "52.2310,21.0100"), order("o2", "52.2310, 21.0100"));
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.assigned()).isEqualTo(2);
+        // Both orders share a pickup point; o1 is older and wins the tie, o2 takes the next driver
+        verify(orderService).assignDriverIfUnassigned("o1", "near");
+        verify(orderService).assignDriverIfUnassigned("o2", "far");
+        assertThat(meterRegistry.get("order.dispatch.match.rate").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should match orders in separate regions in parallel")
+    void shouldMatchAcrossRegions() {
+        driver("warsaw", 52.2300, 21.0100);
+        driver("krakow", 50.0600, 19.9400);
+        pending(order("o1", "52.2310,21.0110"), order("o2", "50.0610,19.9410"));
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.matched()).isEqualTo(2);
+        verify(orderService).assignDriverIfUnassigned("o1", "warsaw");
+        verify(orderService).assignDriverIfUnassigned("o2", "krakow");
+    }
+
+    @Test
+    @DisplayName("Should leave orders without a pickup point or a driver in range for the next cycle")
+    void shouldSkipUnroutableAndUnmatchedOrders() {
+        driver("d1", 52.2300, 21.0100);
+        pending(order("o1", "Warehouse 7, Gdansk"), order("o2", "54.3520,18.6466"));
+        when(orderQueryRepository.countPendingDispatch()).thenReturn(2L);
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.routable()).isEqualTo(1);
+        assertThat(result.matched()).isZero();
+        assertThat(result.backlog()).isEqualTo(2);
+        verify(orderService, never()).assignDriverIfUnassigned(anyString(), anyString());
+        assertThat(meterRegistry.get("order.dispatch.unroutable").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("order.dispatch.orders", "result", "unmatched").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a lost guarded update as a conflict")
+    void shouldCountConflicts() {
+        driver("d1", 52.2300, 21.0100);
+        pending(order("o1", "52.2310,21.0100"));
+        when(orderService.assignDriverIfUnassigned("o1", "d1")).thenReturn(Optional.empty());
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.matched()).isEqualTo(1);
+        assertThat(result.assigned()).isZero();
+        assertThat(meterRegistry.counter("order.dispatch.orders", "result", "conflict").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.dispatch.match.rate").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not assign a driver that reached capacity after the index was read")
+    void shouldSkipDriversWithoutCapacity() {
+        driver("d1", 52.2300, 21.0100);
+        pending(order("o1", "52.2310,21.0100"));
+        when(driverWorkloadService.hasCapacity("d1")).thenReturn(false);
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.conflicts()).isEqualTo(1);
+        verify(orderService, never()).assignDriverIfUnassigned(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should page past unroutable orders until a page comes back short")
+    void shouldPageThroughPendingOrders() {
+        engine.shutdown();
+        engine = engine(1);
+        driver("d1", 52.2300, 21.0100);
+        PendingOrder unroutable = order("o1", "Depot");
+        when(orderQueryRepository.findPendingDispatch(1)).thenReturn(List.of(unroutable));
+        when(orderQueryRepository.findPendingDispatchAfter(CREATED_ON, "o1", 1))
+                .thenReturn(List.of(order("o2", "52.2310,21.0100")));
+        when(orderQueryRepository.findPendingDispatchAfter(CREATED_ON, "o2", 1)).thenReturn(List.of());
+
+        DispatchCycleResult result = engine.runCycle();
+
+        assertThat(result.scanned()).isEqualTo(2);
+        verify(orderService).assignDriverIfUnassigned("o2", "d1");
+    }
+
+    @Test
+    @DisplayName("Should parse latitude,longitude origins only")
+    void shouldParsePickupPoints() {
+        assertThat(PickupPoint.parse(" 52.23 , 21.01 ")).contains(new PickupPoint(52.23, 21.01));
+        assertThat(PickupPoint.parse("91,10")).isEmpty();
+        assertThat(PickupPoint.parse("1,2,3")).isEmpty();
+        assertThat(PickupPoint.parse("Main St, Springfield")).isEmpty();
+        assertThat(PickupPoint.parse(null)).isEmpty();
+    }
+
+    private AutoDispatchEngine engine(int pageSize) {
+        return new AutoDispatchEngine(orderService, orderQueryRepository, driverSpatialIndex,
+                driverWorkloadService, meterRegistry,
+                false, 5000, 250, 1000, 10000, pageSize, 5, 10, DispatchCost.DISTANCE, 30, 0.5, 2, 300);
+    }
+
+    private void driver(String driverId, double latitude, double longitude) {
+        driverSpatialIndex.setEnabled(driverId, true);
+        driverSpatialIndex.updatePosition(new DriverPosition(driverId, latitude, longitude,
+                System.currentTimeMillis()));
+    }
+
+    private void pending(PendingOrder... orders) {
+        when(orderQueryRepository.findPendingDispatch(2)).thenReturn(List.of(orders));
+    }
+
+    private PendingOrder order(String id, String origin) {
+        return new PendingOrder(id, origin, CREATED_ON);
+    }
+}
@@ -0,0 +1,60 @@
+package pase.test.com.order.management.service.order.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pase.test.com.database.dto.order.OrderResponse;
+
+@DisplayName("Order Event Replay Buffer Tests")
+class OrderEventReplayBufferTest {
+
+    @Test
+    @DisplayName("Should replay only events after the last received sequence")
+    void shouldReplayEventsAfterLastSequence() {
+        OrderEventReplayBuffer buffer = new OrderEventReplayBuffer(8);
+        for (int i = 1; i <= 5; i++) {
+            buffer.append(event("order-" + i));
+        }
+
+        List<SequencedOrderEvent> replay = buffer.since(3, event -> true);
+
+        assertThat(replay).extracting(SequencedOrderEvent::sequence).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent events when capacity is exceeded")
+    void shouldKeepOnlyMostRecentEvents() {
+        OrderEventReplayBuffer buffer = new OrderEventReplayBuffer(3);
+        for (int i = 1; i <= 10; i++) {
+            buffer.append(event("order-" + i));
+        }
+
+        List<SequencedOrderEvent> replay = buffer.since(0, event -> true);
+
+        assertThat(replay).extracting(SequencedOrderEvent::sequence).containsExactly(8L, 9L, 10L);
+        assertThat(buffer.lastSequence()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should apply the subscriber filter and ignore sequences from the future")
+    void shouldApplyFilterAndIgnoreFutureSequences() {
+        OrderEventReplayBuffer buffer = new OrderEventReplayBuffer(8);
+        buffer.append(event("order-1"));
+        buffer.append(event("order-2"));
+        buffer.append(event("order-1"));
+
+        assertThat(buffer.since(0, event -> "order-1".equals(event.orderId())))
+                .extracting(SequencedOrderEvent::sequence)
+                .containsExactly(1L, 3L);
+        assertThat(buffer.since(99, event -> true)).isEmpty();
+    }
+
+    private OrderEvent event(String orderId) {
+        return OrderEvent.of(OrderEventType.STATUS_CHANGED, OrderResponse.builder()
+                .id(orderId)
+                .orderStatus(OrderResponse.OrderStatusInfo.builder().statusLabel("ASSIGNED").build())
+                .build());
+    }
+}
@@ -0,0 +1,186 @@
+package pase.test.com.order.management.service.order.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pase.test.com.order.management.exception.SubscriberLimitExceededException;
+
+@DisplayName("Order Event Stream Service Tests")
+class OrderEventStreamServiceImplTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecordingEmitter emitter;
+    private OrderEventStreamServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emitter = new RecordingEmitter();
+        service = new OrderEventStreamServiceImpl(meterRegistry, 16, 60000, 2, 10) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitter.release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should cut off a stalled subscriber without blocking the publisher")
+    void shouldDisconnectSlowSubscriberWithoutBlocking() throws InterruptedException {
+        emitter.release = new CountDownLatch(1);
+        service.subscribeToOrder("o1", null);
+        service.onOrderEvent(event("o1"));
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 5; i++) {
+                service.onOrderEvent(event("o1"));
+            }
+        });
+
+        assertThat(service.getSubscriberCount()).isZero();
+        assertThat(meterRegistry.counter("order.events.slow.clients").count()).isEqualTo(1);
+        assertThat(emitter.completedBy).isNull();
+
+        emitter.release.countDown();
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.completedBy.getName()).startsWith("order-sse-");
+        assertThat(emitter.sentIds).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should deliver replayed events before live ones, each once")
+    void shouldReplayBeforeLiveEvents() throws InterruptedException {
+        service.onOrderEvent(event("o1"));
+        service.onOrderEvent(event("o2"));
+        service.onOrderEvent(event("o1"));
+        service.onOrderEvent(event("o1"));
+        // Published while the replay is being written
+        emitter.onFirstSend = () -> service.onOrderEvent(event("o1"));
+
+        service.subscribeToOrder("o1", "1");
+
+        assertThat(emitter.awaitSent(3)).isTrue();
+        assertThat(emitter.sentIds).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should stream live events when no Last-Event-ID is sent")
+    void shouldSkipReplayWithoutLastEventId() throws InterruptedException {
+        service.onOrderEvent(event("o1"));
+
+        service.subscribeToOrder("o1", null);
+        service.onOrderEvent(event("o1"));
+
+        assertThat(emitter.awaitSent(1)).isTrue();
+        assertThat(emitter.sentIds).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber the container completed, even before its sender has started")
+    void shouldStopSenderWhenContainerCompletesStream() throws InterruptedException {
+        service.subscribeToOrder("o1", null);
+
+        emitter.completionCallback.run();
+        service.onOrderEvent(event("o1"));
+
+        assertThat(service.getSubscriberCount()).isZero();
+        Thread.sleep(50);
+        assertThat(emitter.sentIds).isEmpty();
+        assertThat(emitter.completedBy).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject subscribers beyond the limit with a retry hint")
+    void shouldRejectSubscribersOverLimit() {
+        for (int i = 0; i < 10; i++) {
+            service.subscribeToOrders(null, null, null);
+        }
+
+        assertThatThrownBy(() -> service.subscribeToOrder("o1", null))
+                .isInstanceOf(SubscriberLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+        assertThat(service.getSubscriberCount()).isEqualTo(10);
+    }
+
+    private OrderEvent event(String orderId) {
+        return new OrderEvent(OrderEventType.STATUS_CHANGED, orderId, null, "ASSIGNED", null, LocalDateTime.now());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Long> sentIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private volatile Runnable onFirstSend;
+        private volatile Thread completedBy;
+        private volatile Runnable completionCallback;
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallback = callback;
+            super.onCompletion(callback);
+        }
+
+        // Synchronized like the servlet-backed emitter, so a blocked write also blocks complete()
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            Runnable hook = onFirstSend;
+            onFirstSend = null;
+            if (hook != null) {
+                hook.run();
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            builder.build().forEach(part -> {
+                Matcher matcher = EVENT_ID.matcher(part.getData().toString());
+                if (matcher.find()) {
+                    sentIds.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+
+        @Override
+        public synchronized void complete() {
+            completedBy = Thread.currentThread();
+            completed.countDown();
+        }
+
+        private boolean awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sentIds.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sentIds.size() >= count;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pase.test.com.order.management.service.order.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import pase.test.com.order.management.config.MapperConfig;
+import pase.test.com.order.management.repository.order.OrderOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Outbox Dispatcher Tests")
+class OrderOutboxDispatcherTest {
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path outboxFile;
+    private SimpleMeterRegistry meterRegistry;
+    // Held by the test so the weakly referenced lag gauge survives until it is asserted
+    private OrderOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxFile = tempDir.resolve("outbox/events.jsonl");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should deliver locked batch to file sink and delete delivered rows")
+    void shouldDeliverBatchToFileSinkAndDeleteRows() throws Exception {
+        List<OrderOutboxEvent> batch = List.of(
+                event(1L, "ORDER_CREATED"),
+                event(2L, "STATUS_CHANGED")
+        );
+        when(orderOutboxRepository.lockNextBatch(anyInt())).thenReturn(batch);
+        when(orderOutboxRepository.findOldestCreatedOn()).thenReturn(Optional.empty());
+
+        dispatcher(new FileOrderOutboxSink(new MapperConfig().objectMapper(), outboxFile.toString())).dispatch();
+
+        List<String> lines = Files.readAllLines(outboxFile);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"eventType\":\"ORDER_CREATED\"");
+        assertThat(lines.get(1)).contains("\"eventType\":\"STATUS_CHANGED\"");
+        verify(orderOutboxRepository).deleteAll(batch);
+        assertThat(meterRegistry.counter("order.outbox.dispatched").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep rows for retry when a sink fails")
+    void shouldKeepRowsWhenSinkFails() throws Exception {
+        List<OrderOutboxEvent> batch = List.of(event(1L, "ORDER_CREATED"));
+        OrderOutboxSink failingSink = mock(OrderOutboxSink.class);
+        when(failingSink.getName()).thenReturn("failing");
+        doThrow(new IllegalStateException("downstream unavailable")).when(failingSink).deliver(batch);
+        when(orderOutboxRepository.lockNextBatch(anyInt())).thenReturn(batch);
+        when(orderOutboxRepository.findOldestCreatedOn())
+                .thenReturn(Optional.of(LocalDateTime.now().minusSeconds(30)));
+
+        dispatcher(failingSink).dispatch();
+
+        verify(orderOutboxRepository, never()).deleteAll(batch);
+        assertThat(meterRegistry.counter("order.outbox.failed.batches").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("order.outbox.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("Should leave rows in place when no sink is configured")
+    void shouldSkipDispatchWithoutSinks() {
+        when(orderOutboxRepository.findOldestCreatedOn()).thenReturn(Optional.empty());
+
+        dispatcher(null).dispatch();
+
+        verify(orderOutboxRepository, never()).lockNextBatch(anyInt());
+        verify(orderOutboxRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should publish each outbox event to in-process listeners")
+    void shouldPublishEventsToListeners() {
+        List<OrderOutboxEvent> batch = List.of(event(1L, "ORDER_CREATED"), event(2L, "STATUS_CHANGED"));
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+        new ApplicationEventOrderOutboxSink(eventPublisher).deliver(batch);
+
+        verify(eventPublisher).publishEvent(batch.get(0));
+        verify(eventPublisher).publishEvent(batch.get(1));
+    }
+
+    private OrderOutboxDispatcher dispatcher(OrderOutboxSink sink) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (sink != null) {
+            beanFactory.addBean("sink", sink);
+        }
+        dispatcher = new OrderOutboxDispatcher(orderOutboxRepository,
+                beanFactory.getBeanProvider(OrderOutboxSink.class), transactionManager, meterRegistry, true, 10, 5);
+        return dispatcher;
+    }
+
+    private OrderOutboxEvent event(long id, String type) {
+        return new OrderOutboxEvent(id, type, "order-" + id, "{\"orderId\":\"order-" + id + "\"}",
+                LocalDateTime.of(2024, 1, 1, 10, 0));
+    }
+}
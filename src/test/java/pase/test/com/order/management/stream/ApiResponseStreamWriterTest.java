@@ -0,0 +1,156 @@
+package pase.test.com.order.management.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import pase.test.com.database.dto.ApiResponse;
+import pase.test.com.database.dto.driver.DriverResponse;
+import pase.test.com.order.management.config.MapperConfig;
+
+@DisplayName("API Response Stream Writer Tests")
+class ApiResponseStreamWriterTest {
+
+    private static final int ROWS = 1000;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseStreamWriter streamWriter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new MapperConfig().objectMapper();
+        streamWriter = new ApiResponseStreamWriter(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should stream list responses with the same JSON shape as the buffered response")
+    void shouldStreamListWithSameShape() throws IOException {
+        List<DriverResponse> drivers = rows().toList();
+
+        JsonNode buffered = objectMapper.readTree(
+                objectMapper.writeValueAsBytes(ApiResponse.success("Active drivers retrieved successfully", drivers)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamWriter.writeList(out, "Active drivers retrieved successfully", drivers.stream());
+        JsonNode streamed = objectMapper.readTree(out.toByteArray());
+
+        assertThat(fieldNames(streamed)).isEqualTo(fieldNames(buffered));
+        JsonNode data = findArray(buffered, ROWS);
+        assertThat(data).isNotNull();
+        assertThat(findArray(streamed, ROWS)).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("Should stream page responses with the same JSON shape as the buffered response")
+    void shouldStreamPageWithSameShape() throws IOException {
+        List<DriverResponse> drivers = rows().limit(20).toList();
+        Page<DriverResponse> page = new PageImpl<>(drivers, PageRequest.of(2, 20), 500);
+
+        JsonNode buffered = objectMapper.readTree(
+                objectMapper.writeValueAsBytes(ApiResponse.success("Orders retrieved successfully", page)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamWriter.writePage(out, "Orders retrieved successfully", page, drivers.stream());
+        JsonNode streamed = objectMapper.readTree(out.toByteArray());
+
+        assertThat(fieldNames(streamed)).isEqualTo(fieldNames(buffered));
+        JsonNode bufferedPage = findObjectWith(buffered, "content");
+        JsonNode streamedPage = findObjectWith(streamed, "content");
+        assertThat(bufferedPage).isNotNull();
+        assertThat(fieldNames(streamedPage)).isEqualTo(fieldNames(bufferedPage));
+        assertThat(streamedPage).isEqualTo(bufferedPage);
+    }
+
+    @Test
+    @DisplayName("Should allocate less heap than materializing the full response")
+    void shouldAllocateLessThanMaterializedResponse() throws IOException {
+        // Warm up both paths so class loading and serializer caches are not measured
+        writeMaterialized();
+        writeStreamed();
+
+        long materialized = allocatedBytes(this::writeMaterialized);
+        long streamed = allocatedBytes(this::writeStreamed);
+
+        assertThat(streamed).isLessThan(materialized);
+    }
+
+    private void writeMaterialized() throws IOException {
+        List<DriverResponse> drivers = rows().toList();
+        byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success("Active drivers retrieved successfully",
+                drivers));
+        OutputStream.nullOutputStream().write(body);
+    }
+
+    private void writeStreamed() throws IOException {
+        streamWriter.writeList(OutputStream.nullOutputStream(), "Active drivers retrieved successfully", rows());
+    }
+
+    private long allocatedBytes(IoAction action) throws IOException {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        action.run();
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private Stream<DriverResponse> rows() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> DriverResponse.builder()
+                        .id("driver-" + i)
+                        .driverName("Driver " + i)
+                        .licenseNumber("LIC-" + i)
+                        .phoneNumber("555" + i)
+                        .email("driver" + i + "@test.com")
+                        .enabled(true)
+                        .createdOn(now)
+                        .lastUpdated(now)
+                        .modifiedBy("system")
+                        .build());
+    }
+
+    private List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private JsonNode findArray(JsonNode envelope, int size) {
+        for (JsonNode value : envelope) {
+            if (value.isArray() && value.size() == size) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private JsonNode findObjectWith(JsonNode envelope, String field) {
+        for (JsonNode value : envelope) {
+            if (value.isObject() && value.has(field)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,128 @@
+package pase.test.com.order.management.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pase.test.com.order.management.service.order.attachment.AttachmentContent;
+
+@DisplayName("Attachment Content Writer Tests")
+class AttachmentContentWriterTest {
+
+    private static final String BODY = "%PDF-1.7 0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final String ETAG = "\"att-1-2d-1\"";
+
+    @TempDir
+    private Path tempDir;
+
+    private final AttachmentContentWriter writer = new AttachmentContentWriter();
+    private AttachmentContent content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("report.pdf"), BODY, StandardCharsets.US_ASCII);
+        content = new AttachmentContent("att-1", "report.pdf", file, MediaType.APPLICATION_PDF, BODY.length(), ETAG);
+    }
+
+    @Test
+    @DisplayName("Should serve the full file with validators and range support advertised")
+    void shouldServeFullContent() throws IOException {
+        MockHttpServletResponse response = write(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getContentLengthLong()).isEqualTo(BODY.length());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("inline").contains("report.pdf");
+    }
+
+    @Test
+    @DisplayName("Should serve a single byte range as partial content")
+    void shouldServeSingleRange() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=9-18");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo(BODY.substring(9, 19));
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 9-18/" + BODY.length());
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should ignore the range when If-Range no longer matches")
+    void shouldIgnoreRangeWhenIfRangeIsStale() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=9-18");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for a range past the end of the file")
+    void shouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=500-600");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + BODY.length());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without a body when the ETag matches")
+    void shouldAnswerNotModified() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand the file region to the container when sendfile is available")
+    void shouldDelegateToSendfile() throws IOException {
+        MockHttpServletRequest request = request();
+        request.setAttribute(AttachmentContentWriter.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-5");
+
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(AttachmentContentWriter.SENDFILE_FILENAME_ATTR))
+                .isEqualTo(content.path().toAbsolutePath().toString());
+        assertThat(request.getAttribute(AttachmentContentWriter.SENDFILE_START_ATTR)).isEqualTo(BODY.length() - 5L);
+        assertThat(request.getAttribute(AttachmentContentWriter.SENDFILE_END_ATTR)).isEqualTo((long) BODY.length());
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/attachments/att-1/content");
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(content, request, response);
+        return response;
+    }
+}